@@ -0,0 +1,64 @@
+package net.thucydides.core.annotations.locators;
+
+import net.serenitybdd.core.annotations.findby.FindBy;
+import net.serenitybdd.core.annotations.locators.SmartAnnotations;
+import net.thucydides.core.webdriver.MobilePlatform;
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of resolving the locator of an annotated page object field, as done on every
+ * SmartAjaxElementLocator element lookup: reading the annotations and building a new By each time,
+ * against looking up the locator built the first time for the field and platform.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LocatorResolutionBenchmark {
+
+    static class SamplePage {
+        @FindBy(css = "#search-form input[name='q']")
+        WebElement searchField;
+
+        @FindBy(xpath = "//table[@id='results']//tr[td[contains(.,'Serenity')]]")
+        WebElement resultRow;
+
+        @FindBy(accessibilityId = "search-button")
+        WebElement searchButton;
+
+        WebElement byIdOrName;
+    }
+
+    @Param({"searchField", "resultRow", "searchButton", "byIdOrName"})
+    String fieldName;
+
+    Field field;
+
+    @Setup
+    public void findField() throws NoSuchFieldException {
+        field = SamplePage.class.getDeclaredField(fieldName);
+    }
+
+    @Benchmark
+    public By buildLocatorOnEachLookup() {
+        return new SmartAnnotations(field, MobilePlatform.NONE).buildBy();
+    }
+
+    @Benchmark
+    public By cachedLocator() {
+        return SmartAnnotations.locatorFor(field, MobilePlatform.NONE);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public By cachedLocatorFromSeveralThreads() {
+        return SmartAnnotations.locatorFor(field, MobilePlatform.NONE);
+    }
+}
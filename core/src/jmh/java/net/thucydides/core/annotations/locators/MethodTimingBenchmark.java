@@ -0,0 +1,49 @@
+package net.thucydides.core.annotations.locators;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of deciding whether an element lookup should be immediate, as done on every
+ * SmartAjaxElementLocator.findElement() call: scanning the current stack trace for a "Currently" method
+ * (as MethodTiming used to do) against checking the explicit quick-method scope.
+ * The stack depth parameter simulates the call depth of a typical test runner and step library.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MethodTimingBenchmark {
+
+    @Param({"20", "100"})
+    int stackDepth;
+
+    @Benchmark
+    public boolean scanStackTrace() {
+        return atDepth(stackDepth, true);
+    }
+
+    @Benchmark
+    public boolean checkQuickMethodScope() {
+        return atDepth(stackDepth, false);
+    }
+
+    private boolean atDepth(int depth, boolean scanStackTrace) {
+        if (depth > 0) {
+            return atDepth(depth - 1, scanStackTrace);
+        }
+        return scanStackTrace ? stackTraceContainsAQuickMethod() : MethodTiming.forThisThread().isInQuickMethod();
+    }
+
+    private static boolean stackTraceContainsAQuickMethod() {
+        for (StackTraceElement elt : Thread.currentThread().getStackTrace()) {
+            if (elt.getMethodName().contains("Currently")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package net.thucydides.core.reports;
+
+import com.google.common.collect.ImmutableList;
+import net.thucydides.core.model.Story;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestStep;
+import net.thucydides.core.model.TestTag;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds reproducible test outcomes of a realistic shape for the benchmarks:
+ * a few tags per outcome, and nested steps with a mix of results.
+ */
+public class SyntheticTestOutcomes {
+
+    private static final TestResult[] RESULTS = {TestResult.SUCCESS, TestResult.SUCCESS, TestResult.SUCCESS,
+                                                 TestResult.FAILURE, TestResult.PENDING, TestResult.ERROR};
+
+    public static TestOutcome outcomeNumber(int number, int stepCount) {
+        Story story = Story.withId("story-" + number % 50, "Story " + number % 50);
+        TestOutcome outcome = TestOutcome.forTestInStory("test number " + number, story);
+        outcome.addTags(ImmutableList.of(TestTag.withName("feature " + number % 20).andType("feature"),
+                                         TestTag.withName("Release " + number % 3).andType("release"),
+                                         TestTag.withName("component " + number % 7).andType("component")));
+        for (int stepNumber = 0; stepNumber < stepCount; stepNumber++) {
+            TestStep step = new TestStep("Step " + stepNumber + " of test " + number);
+            step.addChildStep(childStep("Given some precondition " + stepNumber, TestResult.SUCCESS));
+            step.addChildStep(childStep("When something happens " + stepNumber, RESULTS[(number + stepNumber) % RESULTS.length]));
+            step.setDuration(10 + stepNumber);
+            outcome.recordStep(step);
+        }
+        outcome.setDuration(100 + number % 1000);
+        return outcome;
+    }
+
+    public static List<TestOutcome> outcomes(int count, int stepCount) {
+        List<TestOutcome> outcomes = new ArrayList<>(count);
+        for (int number = 0; number < count; number++) {
+            outcomes.add(outcomeNumber(number, stepCount));
+        }
+        return outcomes;
+    }
+
+    private static TestStep childStep(String description, TestResult result) {
+        TestStep step = TestStep.forStepCalled(description).withResult(result);
+        step.setDuration(5);
+        return step;
+    }
+}
@@ -0,0 +1,78 @@
+package net.thucydides.core.reports.binary;
+
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.SyntheticTestOutcomes;
+import net.thucydides.core.reports.json.gson.GsonJSONConverter;
+import org.apache.commons.io.output.ByteArrayOutputStream;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares how many test outcomes can be written and read per second as JSON, and in the binary format with and
+ * without compression. The outcomes are written to and read from memory, so the file system does not come into it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BinaryOutcomeFormatBenchmark {
+
+    @Param({"5", "50"})
+    int stepCount;
+
+    GsonJSONConverter jsonConverter;
+    TestOutcome testOutcome;
+    byte[] jsonOutcome;
+    byte[] binaryOutcome;
+    byte[] compressedBinaryOutcome;
+
+    @Setup
+    public void createTestOutcome() throws Exception {
+        jsonConverter = Injectors.getInjector().getInstance(GsonJSONConverter.class);
+        testOutcome = SyntheticTestOutcomes.outcomeNumber(1, stepCount);
+        jsonOutcome = writeJson();
+        binaryOutcome = writeBinary();
+        compressedBinaryOutcome = writeCompressedBinary();
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        jsonConverter.toJson(testOutcome, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeBinary() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        BinaryOutcomeFormat.write(testOutcome, jsonConverter, outputStream, false);
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeCompressedBinary() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        BinaryOutcomeFormat.write(testOutcome, jsonConverter, outputStream, true);
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public TestOutcome readJson() throws Exception {
+        return jsonConverter.fromJson(new ByteArrayInputStream(jsonOutcome));
+    }
+
+    @Benchmark
+    public TestOutcome readBinary() throws Exception {
+        return BinaryOutcomeFormat.read(jsonConverter, new ByteArrayInputStream(binaryOutcome));
+    }
+
+    @Benchmark
+    public TestOutcome readCompressedBinary() throws Exception {
+        return BinaryOutcomeFormat.read(jsonConverter, new ByteArrayInputStream(compressedBinaryOutcome));
+    }
+}
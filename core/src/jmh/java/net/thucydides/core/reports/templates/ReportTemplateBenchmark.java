@@ -0,0 +1,108 @@
+package net.thucydides.core.reports.templates;
+
+import com.google.common.collect.ImmutableList;
+import freemarker.template.Configuration;
+import freemarker.template.DefaultObjectWrapper;
+import net.serenitybdd.core.buildinfo.BuildInfoProvider;
+import net.thucydides.core.issues.IssueTracking;
+import net.thucydides.core.issues.SystemPropertiesIssueTracking;
+import net.thucydides.core.model.NumericalFormatter;
+import net.thucydides.core.model.TestTag;
+import net.thucydides.core.reports.ReportOptions;
+import net.thucydides.core.reports.SyntheticTestOutcomes;
+import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.reports.html.Formatter;
+import net.thucydides.core.reports.html.ReportNameProvider;
+import net.thucydides.core.reports.html.ReportProperties;
+import net.thucydides.core.util.EnvironmentVariables;
+import net.thucydides.core.util.Inflector;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.apache.commons.io.output.NullWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of looking up and rendering the aggregate report home page over a large set of test outcomes
+ * with the original FreeMarker setup (a default configuration, and a new template wrapper for every page) and with
+ * the tuned, caching template manager.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReportTemplateBenchmark {
+
+    private static final String HOME_PAGE_TEMPLATE = "freemarker/home.ftl";
+
+    @Param({"1000", "10000"})
+    int outcomeCount;
+
+    Map<String, Object> context;
+    Configuration defaultConfiguration;
+    FreeMarkerTemplateManager templateManager;
+
+    @Setup
+    public void prepareTemplates() throws Exception {
+        context = homePageContextFor(TestOutcomes.of(SyntheticTestOutcomes.outcomes(outcomeCount, 5)));
+
+        defaultConfiguration = new Configuration();
+        defaultConfiguration.setNumberFormat("0.######");
+        defaultConfiguration.setClassForTemplateLoading(getClass(), "/");
+        defaultConfiguration.setObjectWrapper(new DefaultObjectWrapper());
+
+        templateManager = new FreeMarkerTemplateManager();
+        templateManager.preloadTemplates(HOME_PAGE_TEMPLATE);
+    }
+
+    @Benchmark
+    public void renderWithDefaultConfiguration() throws Exception {
+        new FreemarkerReportTemplate(defaultConfiguration, HOME_PAGE_TEMPLATE).merge(context, new NullWriter());
+    }
+
+    @Benchmark
+    public void renderWithTemplateManager() throws Exception {
+        ((StreamingReportTemplate) templateManager.getTemplateFrom(HOME_PAGE_TEMPLATE)).merge(context, new NullWriter());
+    }
+
+    @Benchmark
+    public ReportTemplate lookUpTemplateWithDefaultConfiguration() throws Exception {
+        return new FreemarkerReportTemplate(defaultConfiguration, HOME_PAGE_TEMPLATE);
+    }
+
+    @Benchmark
+    public ReportTemplate lookUpTemplateWithTemplateManager() throws Exception {
+        return templateManager.getTemplateFrom(HOME_PAGE_TEMPLATE);
+    }
+
+    private Map<String, Object> homePageContextFor(TestOutcomes testOutcomes) {
+        EnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        IssueTracking issueTracking = new SystemPropertiesIssueTracking(environmentVariables);
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("testOutcomes", testOutcomes);
+        context.put("allTestOutcomes", testOutcomes.getRootOutcomes());
+        context.put("tagTypes", testOutcomes.getTagTypes());
+        context.put("currentTag", TestTag.EMPTY_TAG);
+        context.put("reportName", new ReportNameProvider());
+        context.put("absoluteReportName", new ReportNameProvider());
+        context.put("reportOptions", new ReportOptions(environmentVariables));
+        context.put("crossTagsOnDemand", false);
+        context.put("timestamp", "01-01-2015 12:00");
+        context.put("requirementTypes", ImmutableList.of("capability", "feature"));
+        context.put("formatter", new Formatter(issueTracking, environmentVariables));
+        context.put("formatted", new NumericalFormatter());
+        context.put("inflection", Inflector.getInstance());
+        context.put("relativeLink", "");
+        context.put("serenityVersionNumber", "1.0");
+        context.put("buildNumber", "");
+        context.put("build", new BuildInfoProvider(environmentVariables).getBuildProperties());
+        context.put("report", ReportProperties.forAggregateResultsReport());
+        context.put("csvReport", "results.csv");
+        return context;
+    }
+}
@@ -0,0 +1,66 @@
+package net.thucydides.core.reports.xml;
+
+import com.thoughtworks.xstream.XStream;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.SyntheticTestOutcomes;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-outcome cost of serializing and deserializing XML test outcomes with a freshly configured
+ * XStream (as each report used to do) and with the shared, pre-configured instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class XMLTestOutcomeReporterBenchmark {
+
+    @Param({"5", "50"})
+    int stepCount;
+
+    TestOutcome testOutcome;
+    String serializedOutcome;
+
+    @Setup
+    public void createTestOutcome() {
+        testOutcome = SyntheticTestOutcomes.outcomeNumber(1, stepCount);
+        serializedOutcome = XMLTestOutcomeReporter.sharedXStream().toXML(testOutcome);
+    }
+
+    @Benchmark
+    public String serializeWithNewXStream() {
+        StringWriter writer = new StringWriter();
+        newXStream().toXML(testOutcome, writer);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public String serializeWithSharedXStream() {
+        StringWriter writer = new StringWriter();
+        XMLTestOutcomeReporter.sharedXStream().toXML(testOutcome, writer);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public Object deserializeWithNewXStream() {
+        return newXStream().fromXML(new StringReader(serializedOutcome));
+    }
+
+    @Benchmark
+    public Object deserializeWithSharedXStream() {
+        return XMLTestOutcomeReporter.sharedXStream().fromXML(new StringReader(serializedOutcome));
+    }
+
+    private XStream newXStream() {
+        XStream xstream = new XStream();
+        xstream.alias("acceptance-test-run", TestOutcome.class);
+        xstream.registerConverter(new TestOutcomeConverter());
+        return xstream;
+    }
+}
@@ -1,5 +1,6 @@
 package net.serenitybdd.core.annotations.locators;
 
+import com.google.common.base.Objects;
 import io.appium.java_client.MobileBy;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import io.appium.java_client.pagefactory.AndroidFindBys;
@@ -23,6 +24,8 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static io.appium.java_client.remote.MobilePlatform.ANDROID;
 import static io.appium.java_client.remote.MobilePlatform.IOS;
@@ -36,6 +39,18 @@ public class SmartAnnotations extends Annotations {
 
     private final static Class<?>[] DEFAULT_ANNOTATION_METHOD_ARGUMENTS = new Class<?>[]{};
 
+    /**
+     * The locators of each page object class are stored with the class itself,
+     * so that they are unloaded with it rather than keeping its class loader alive.
+     */
+    private final static ClassValue<ConcurrentMap<LocatorKey, org.openqa.selenium.By>> LOCATORS
+            = new ClassValue<ConcurrentMap<LocatorKey, org.openqa.selenium.By>>() {
+        @Override
+        protected ConcurrentMap<LocatorKey, org.openqa.selenium.By> computeValue(Class<?> pageObjectClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     private static enum Strategies {
         BYUIAUTOMATOR("uiAutomator") {
             @Override
@@ -169,6 +184,45 @@ public class SmartAnnotations extends Annotations {
         this.platform = platform;
     }
 
+    /**
+     * The locator for a field on a given platform. The annotations of a field are only read once for each platform,
+     * and the resulting locator is shared by every page object and thread (locators are immutable).
+     */
+    public static org.openqa.selenium.By locatorFor(Field field, MobilePlatform platform) {
+        ConcurrentMap<LocatorKey, org.openqa.selenium.By> locators = LOCATORS.get(field.getDeclaringClass());
+        LocatorKey key = new LocatorKey(field, platform);
+        org.openqa.selenium.By by = locators.get(key);
+        if (by == null) {
+            by = new SmartAnnotations(field, platform).buildBy();
+            locators.putIfAbsent(key, by);
+        }
+        return by;
+    }
+
+    private static final class LocatorKey {
+        private final Field field;
+        private final MobilePlatform platform;
+
+        private LocatorKey(Field field, MobilePlatform platform) {
+            this.field = field;
+            this.platform = platform;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof LocatorKey)) {
+                return false;
+            }
+            LocatorKey that = (LocatorKey) other;
+            return field.equals(that.field) && (platform == that.platform);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(field, platform);
+        }
+    }
+
     private void assertValidAnnotations() {
         FindBys findBys = field.getAnnotation(FindBys.class);
         FindBy myFindBy = field.getAnnotation(FindBy.class);
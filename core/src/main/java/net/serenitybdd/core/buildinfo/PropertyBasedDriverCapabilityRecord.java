@@ -7,10 +7,12 @@ import net.thucydides.core.webdriver.Configuration;
 import org.openqa.selenium.Capabilities;
 
 import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.DirectoryIteratorException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -29,6 +31,10 @@ public class PropertyBasedDriverCapabilityRecord implements DriverCapabilityReco
         this.configuration = configuration;
     }
 
+    /**
+     * Browsers can be launched from several threads at once, so the properties are written to a temporary file
+     * and renamed into place: readers never see a partly written file.
+     */
     public void registerCapabilities(String driver, Capabilities capabilities) {
 
         Properties properties = new Properties();
@@ -40,14 +46,29 @@ public class PropertyBasedDriverCapabilityRecord implements DriverCapabilityReco
         }
         try {
             File browserProperties = new File(configuration.getOutputDirectory(), "browser-" + driver.toLowerCase() + ".properties");
-            try (Writer writer = new FileWriter(browserProperties)) {
-                properties.store(writer, "");
+            Path temporaryProperties = Files.createTempFile(configuration.getOutputDirectory().toPath(),
+                                                            browserProperties.getName(), ".tmp");
+            try {
+                try (Writer writer = new FileWriter(temporaryProperties.toFile())) {
+                    properties.store(writer, "");
+                }
+                moveIntoPlace(temporaryProperties, browserProperties.toPath());
+            } finally {
+                Files.deleteIfExists(temporaryProperties);
             }
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    private void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     @Override
     public List<String> getDrivers() {
         List<String> drivers = Lists.newArrayList();
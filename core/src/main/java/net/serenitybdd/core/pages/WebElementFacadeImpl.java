@@ -321,22 +321,31 @@ public class WebElementFacadeImpl implements WebElementFacade, net.thucydides.co
      * Is this web element present and visible on the screen
      * This method will not throw an exception if the element is not on the screen at all.
      * The method will fail immediately if the element is not visible on the screen.
-     * There is a little black magic going on here - the web element class will detect if it is being called
-     * by a method called "isCurrently*" and, if so, fail immediately without waiting as it would normally do.
+     * Elements are looked up without waiting for the duration of this call (see {@link MethodTiming}).
      */
     @Override
     public boolean isCurrentlyVisible() {
-        return isVisible();
+        MethodTiming methodTiming = MethodTiming.forThisThread();
+        methodTiming.enterQuickMethod();
+        try {
+            return isVisible();
+        } finally {
+            methodTiming.exitQuickMethod();
+        }
     }
 
     @Override
     public boolean isCurrentlyEnabled() {
+        MethodTiming methodTiming = MethodTiming.forThisThread();
+        methodTiming.enterQuickMethod();
         try {
             return getElement().isEnabled();
         } catch (NoSuchElementException e) {
             return false;
         } catch (StaleElementReferenceException se) {
             return false;
+        } finally {
+            methodTiming.exitQuickMethod();
         }
     }
 
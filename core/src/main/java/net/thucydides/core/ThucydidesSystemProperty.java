@@ -56,6 +56,16 @@ public enum ThucydidesSystemProperty {
 
     WEBDRIVER_REMOTE_OS,
 
+    /**
+     * If true, remote, Sauce Labs, BrowserStack and Appium sessions are requested in the background as soon as
+     * a test class starts, and again as soon as the browser is reset between tests, so that waiting for a session
+     * overlaps with the test fixture setup. Tests only wait for the session when they first use the browser.
+     * Sauce Labs sessions are only prefetched when saucelabs.test.name is set, as they are otherwise named after
+     * the test that opens them.
+     * False by default.
+     */
+    WEBDRIVER_REMOTE_PREFETCH,
+
     /**
      * Path to the Chrome driver, if it is not on the system path.
      */
@@ -134,6 +144,14 @@ public enum ThucydidesSystemProperty {
      */
     THUCYDIDES_TAKE_SCREENSHOTS,
 
+    /**
+     * If set to true, optional screenshots (such as the ones taken for each action) are only taken
+     * when the URL or the HTML source of the current page has changed since the last screenshot.
+     * Otherwise the previous screenshot is reused. Changes that do not show up in the page source,
+     * such as text typed into a field, will not trigger a new screenshot. False by default.
+     */
+    THUCYDIDES_REUSE_UNCHANGED_SCREENSHOTS,
+
     /**
      * Should Thucydides display detailed information in the test result tables.
      * If this is set to true, test result tables will display a breakdown of the steps by result.
@@ -183,6 +201,25 @@ public enum ThucydidesSystemProperty {
      */
     THUCYDIDES_USE_UNIQUE_BROWSER,
 
+    /**
+     * How many browsers of each type to keep open and ready for use in each JVM.
+     * When this is set, browsers are cleaned (cookies, web storage, extra windows) and reused between tests
+     * instead of being closed and relaunched. Remote sessions are never pooled, as they are opened with the
+     * capabilities (and test name) of a particular test. 0 by default, which turns the browser pool off.
+     */
+    WEBDRIVER_POOL_SIZE,
+
+    /**
+     * How many tests a pooled browser is used for before it is closed and replaced by a fresh one. Defaults to 20.
+     */
+    WEBDRIVER_POOL_MAX_USES,
+
+    /**
+     * The maximum number of browsers that can be launched at the same time in a JVM.
+     * 0 by default, which places no limit on parallel browser launches.
+     */
+    WEBDRIVER_CREATION_MAX_CONCURRENT,
+
     /**
      * The estimated number of steps in a pending scenario.
      * This is used for stories where no scenarios have been defined.
@@ -247,6 +284,18 @@ public enum ThucydidesSystemProperty {
      */
     THUCYDIDES_RESIZED_IMAGE_WIDTH,
 
+    /**
+     * How many threads should be used to resize and store screenshots in the background.
+     * Defaults to the number of available processors.
+     */
+    THUCYDIDES_SCREENSHOT_PROCESSOR_THREADS,
+
+    /**
+     * How many screenshots can be waiting to be processed before the threads taking them have to
+     * process them themselves. Defaults to 16 per screenshot processor thread.
+     */
+    THUCYDIDES_SCREENSHOT_QUEUE_SIZE,
+
     /**
      * Public URL where the Thucydides reports will be displayed.
      * This is mainly for use by plugins.
@@ -583,6 +632,13 @@ public enum ThucydidesSystemProperty {
      */
     THUCYDIDES_CSV_EXTRA_COLUMNS,
 
+    /**
+     * If set to true, the aggregate reporter writes a single results.csv file with every test outcome, plus a
+     * results-index.csv file listing the rows of each tag and result, instead of a CSV file per report page.
+     * False by default.
+     */
+    THUCYDIDES_CSV_SINGLE_FILE,
+
     /**
      * Write the console headings using ascii-art ("ascii", default value) or in normal text ("normal")
      */
@@ -650,6 +706,77 @@ public enum ThucydidesSystemProperty {
      */
     JSON_CHARSET,
 
+    /**
+     * Compress the binary test outcomes (the 'binary' output format).
+     * "true" or "false", turned off by default.
+     */
+    BINARY_OUTCOME_COMPRESSION,
+
+    /**
+     * How many threads should be used to generate the reports of individual test outcomes.
+     * Defaults to the number of available processors.
+     */
+    THUCYDIDES_REPORT_THREADS,
+
+    /**
+     * How many threads the aggregate reports use to load the test outcome files.
+     * Defaults to the number of available processors.
+     */
+    THUCYDIDES_REPORT_LOADER_THREADS,
+
+    /**
+     * How many threads the aggregate reports use to render their pages.
+     * Defaults to the number of available processors.
+     */
+    THUCYDIDES_REPORT_RENDERER_THREADS,
+
+    /**
+     * If set to true, the aggregate reports keep a manifest of the test outcome files they were built from,
+     * and subsequent runs only regenerate the summary pages and the pages of tags whose outcomes have changed.
+     * False by default.
+     */
+    THUCYDIDES_REPORT_INCREMENTAL,
+
+    /**
+     * How the aggregate reports show tests that share two tags.
+     * 'pages' (the default) generates a page for every pair of co-occurring tags.
+     * 'on-demand' writes a single index of which tests carry which tags, and a page that combines tags in the browser.
+     * Any other value is logged and treated as 'pages'.
+     */
+    THUCYDIDES_REPORT_CROSS_TAGS,
+
+    /**
+     * The maximum number of tags a generated report page can be filtered by. Defaults to 2, which is also the
+     * largest supported value: higher values are treated as 2.
+     * Set this to 1 to only generate one page per tag, without pages for co-occurring tags.
+     */
+    THUCYDIDES_REPORT_CROSS_TAG_DEPTH,
+
+    /**
+     * A comma-separated list of tag types for which pages of co-occurring tags are generated.
+     * By default, pages are generated for tags of every type.
+     */
+    THUCYDIDES_REPORT_CROSS_TAG_TYPES,
+
+    /**
+     * If set to true, the aggregate reporter only counts and logs the HTML and CSV files it would generate,
+     * without writing any of them. False by default.
+     */
+    THUCYDIDES_REPORT_DRY_RUN,
+
+    /**
+     * If set to true, the HTML reports are written as gzip-compressed files (e.g. index.html.gz), to be published
+     * by a web server that serves the compressed files in place of the HTML pages. False by default.
+     */
+    THUCYDIDES_REPORT_GZIP,
+
+    /**
+     * If set to true, the aggregate reports keep a compact version of each test outcome in memory, and read the
+     * test steps and example tables from the test outcome files again when they are needed.
+     * This lets the aggregate reports handle very large numbers of tests in a smaller heap. False by default.
+     */
+    THUCYDIDES_REPORT_COMPACT_OUTCOMES,
+
     /**
      * If set to true, the RetryFilteringRunNotifier will be used to attempt to rerun failing tests.
      */
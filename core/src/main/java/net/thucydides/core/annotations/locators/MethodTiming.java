@@ -1,27 +1,56 @@
 package net.thucydides.core.annotations.locators;
 
 /**
- * Created by john on 17/03/15.
+ * Keeps track of whether the current thread is inside a "quick" method, such as
+ * {@code WebElementFacade.isCurrentlyVisible()}, where elements should be looked up immediately
+ * rather than waiting for them to appear.
+ * Quick methods mark themselves explicitly, so that checking this on every element lookup is cheap:
+ * <pre>
+ *     MethodTiming timing = MethodTiming.forThisThread();
+ *     timing.enterQuickMethod();
+ *     try {
+ *         ...
+ *     } finally {
+ *         timing.exitQuickMethod();
+ *     }
+ * </pre>
  */
 public class MethodTiming {
 
+    private static final ThreadLocal<MethodTiming> METHOD_TIMING = new ThreadLocal<MethodTiming>() {
+        @Override
+        protected MethodTiming initialValue() {
+            return new MethodTiming(Thread.currentThread());
+        }
+    };
+
     private final Thread thread;
 
+    private int quickMethodDepth = 0;
+
     public MethodTiming(Thread thread) {
         this.thread = thread;
     }
 
     public static MethodTiming forThisThread() {
-        return new MethodTiming(Thread.currentThread());
+        return METHOD_TIMING.get();
     }
 
     public boolean isInQuickMethod() {
-        for (StackTraceElement elt : Thread.currentThread().getStackTrace()) {
-            if (elt.getMethodName().contains("Currently")) {
-                return true;
-            }
+        return quickMethodDepth > 0;
+    }
+
+    /**
+     * Quick methods can be nested, so every call must be matched by a call to exitQuickMethod().
+     */
+    public void enterQuickMethod() {
+        quickMethodDepth++;
+    }
+
+    public void exitQuickMethod() {
+        if (quickMethodDepth > 0) {
+            quickMethodDepth--;
         }
-        return false;
     }
 
 }
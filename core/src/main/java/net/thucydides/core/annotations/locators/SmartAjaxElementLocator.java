@@ -99,8 +99,7 @@ public class SmartAjaxElementLocator extends SmartElementLocator implements With
     }
 
     public WebElement findElementImmediately() {
-        SmartAnnotations annotations = new SmartAnnotations(field, platform);
-        By by = annotations.buildBy();
+        By by = SmartAnnotations.locatorFor(field, platform);
         if (searchContext instanceof ConfigurableTimeouts) {
             ((ConfigurableTimeouts) searchContext).setImplicitTimeout(ZERO_SECONDS);
         }
@@ -288,8 +287,6 @@ public class SmartAjaxElementLocator extends SmartElementLocator implements With
 
     @Override
     public String toString() {
-        SmartAnnotations annotations = new SmartAnnotations(field, platform);
-        By by = annotations.buildBy();
-        return by.toString();
+        return SmartAnnotations.locatorFor(field, platform).toString();
     }
 }
@@ -22,7 +22,7 @@ public class SmartElementLocator implements ElementLocator {
         net.serenitybdd.core.annotations.locators.SmartAnnotations annotations =
                 new net.serenitybdd.core.annotations.locators.SmartAnnotations(field, mobilePlatform);
         shouldCache = annotations.isLookupCached();
-        by = annotations.buildBy();
+        by = net.serenitybdd.core.annotations.locators.SmartAnnotations.locatorFor(field, mobilePlatform);
     }
 
     /**
@@ -0,0 +1,269 @@
+package net.thucydides.core.model;
+
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import net.thucydides.core.model.stacktrace.FailureCause;
+
+import java.lang.ref.SoftReference;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A lighter version of a test outcome, used by the aggregate reports when there are very large numbers of tests.
+ * It keeps the result, the step counts and the results of the data rows of a test outcome, but not its test steps,
+ * data table or failure stack trace. These are read again from the test outcome file the first time they are needed,
+ * and are only kept for as long as there is memory to spare.
+ * Strings and tags are shared between all of the compact test outcomes that use them.
+ *
+ * Compact test outcomes are read-only: they are made from test outcomes that have already been recorded.
+ */
+public class CompactTestOutcome extends TestOutcome {
+
+    private static final Interner<String> STRINGS = Interners.newWeakInterner();
+    private static final Interner<TestTag> TAGS = Interners.newWeakInterner();
+
+    private static final TestResult[] TEST_RESULTS = TestResult.values();
+    private static final int NO_RESULT = -1;
+
+    private final Supplier<TestOutcome> fullOutcomeSource;
+    private SoftReference<TestOutcome> fullOutcome = new SoftReference<>(null);
+
+    private final byte resultOrdinal;
+    private final long duration;
+    private final int stepCount;
+    private final int nestedStepCount;
+    private final int leafStepCount;
+    private final String errorMessage;
+
+    /**
+     * The number of leaf steps with each result, by result ordinal.
+     */
+    private final int[] leafStepsWithResult;
+
+    /**
+     * The result of each row of a data-driven test, by result ordinal (or -1 for a row with no result), or null if the test is not data-driven.
+     */
+    private final byte[] dataRowResults;
+
+    private CompactTestOutcome(TestOutcome outcome, Supplier<TestOutcome> fullOutcomeSource) {
+        super(outcome, STRINGS);
+        this.fullOutcomeSource = fullOutcomeSource;
+        this.resultOrdinal = (byte) outcome.getResult().ordinal();
+        this.duration = outcome.getDuration();
+        this.stepCount = outcome.getStepCount();
+        this.nestedStepCount = outcome.getNestedStepCount();
+        this.errorMessage = STRINGS.intern(outcome.getErrorMessage());
+
+        List<TestStep> leafSteps = outcome.getLeafTestSteps();
+        this.leafStepCount = leafSteps.size();
+        this.leafStepsWithResult = new int[TEST_RESULTS.length];
+        for (TestStep step : leafSteps) {
+            TestResult stepResult = step.getResult();
+            if (stepResult != null) {
+                leafStepsWithResult[stepResult.ordinal()]++;
+            }
+        }
+        this.dataRowResults = (outcome.isDataDriven()) ? resultsOfEachRowIn(outcome.getDataTable()) : null;
+        setTags(internedTags(outcome.getTags()));
+    }
+
+    private CompactTestOutcome(CompactTestOutcome outcome, Set<TestTag> tags) {
+        super(outcome, STRINGS);
+        this.fullOutcomeSource = outcome.fullOutcomeSource;
+        this.resultOrdinal = outcome.resultOrdinal;
+        this.duration = outcome.duration;
+        this.stepCount = outcome.stepCount;
+        this.nestedStepCount = outcome.nestedStepCount;
+        this.leafStepCount = outcome.leafStepCount;
+        this.errorMessage = outcome.errorMessage;
+        this.leafStepsWithResult = outcome.leafStepsWithResult;
+        this.dataRowResults = outcome.dataRowResults;
+        if (tags != null) {
+            setTags(internedTags(tags));
+        }
+    }
+
+    /**
+     * A compact version of a recorded test outcome.
+     * @param outcome A test outcome that will not change any more, usually just read from a test outcome file.
+     * @param fullOutcomeSource Reads the full test outcome again when its test steps or data table are needed.
+     */
+    public static CompactTestOutcome from(TestOutcome outcome, Supplier<TestOutcome> fullOutcomeSource) {
+        return new CompactTestOutcome(outcome, fullOutcomeSource);
+    }
+
+    private static byte[] resultsOfEachRowIn(DataTable dataTable) {
+        List<DataTableRow> rows = dataTable.getRows();
+        byte[] rowResults = new byte[rows.size()];
+        for (int row = 0; row < rowResults.length; row++) {
+            TestResult rowResult = rows.get(row).getResult();
+            rowResults[row] = (byte) ((rowResult == null) ? NO_RESULT : rowResult.ordinal());
+        }
+        return rowResults;
+    }
+
+    private static Set<TestTag> internedTags(Set<TestTag> tags) {
+        ImmutableSet.Builder<TestTag> internedTags = ImmutableSet.builder();
+        for (TestTag tag : tags) {
+            internedTags.add(TAGS.intern(tag));
+        }
+        return internedTags.build();
+    }
+
+    /**
+     * The full test outcome, read again from the test outcome file if it is not still in memory.
+     * It carries the tags of this test outcome, which may have been added to since the file was written.
+     */
+    protected synchronized TestOutcome getFullOutcome() {
+        TestOutcome outcome = fullOutcome.get();
+        if (outcome == null) {
+            outcome = fullOutcomeSource.get();
+            outcome.setTags(getTags());
+            fullOutcome = new SoftReference<>(outcome);
+        }
+        return outcome;
+    }
+
+    @Override
+    public TestOutcome copy() {
+        return new CompactTestOutcome(this, getTags());
+    }
+
+    @Override
+    public TestOutcome withTags(Set<TestTag> tags) {
+        return new CompactTestOutcome(this, tags);
+    }
+
+    @Override
+    public TestOutcome withQualifier(String qualifier) {
+        return (qualifier != null) ? from(getFullOutcome().withQualifier(qualifier), fullOutcomeSource) : this;
+    }
+
+    @Override
+    public TestOutcome withIssues(List<String> issues) {
+        return from(getFullOutcome().withIssues(issues), fullOutcomeSource);
+    }
+
+    @Override
+    public TestOutcome withMethodName(String methodName) {
+        return (methodName != null) ? from(getFullOutcome().withMethodName(methodName), fullOutcomeSource) : this;
+    }
+
+    @Override
+    public List<TestStep> getTestSteps() {
+        return getFullOutcome().getTestSteps();
+    }
+
+    @Override
+    public FailureCause getTestFailureCause() {
+        return getFullOutcome().getTestFailureCause();
+    }
+
+    @Override
+    public DataTable getDataTable() {
+        return isDataDriven() ? getFullOutcome().getDataTable() : null;
+    }
+
+    @Override
+    public boolean isDataDriven() {
+        return dataRowResults != null;
+    }
+
+    @Override
+    public TestResult getResult() {
+        return TEST_RESULTS[resultOrdinal];
+    }
+
+    @Override
+    public Long getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    @Override
+    public Integer getStepCount() {
+        return stepCount;
+    }
+
+    @Override
+    public Integer getNestedStepCount() {
+        return nestedStepCount;
+    }
+
+    @Override
+    public Integer countTestSteps() {
+        return leafStepCount;
+    }
+
+    @Override
+    public Integer getSuccessCount() {
+        return leafStepsWithResult[TestResult.SUCCESS.ordinal()];
+    }
+
+    @Override
+    public Integer getFailureCount() {
+        return leafStepsWithResult[TestResult.FAILURE.ordinal()];
+    }
+
+    @Override
+    public Integer getErrorCount() {
+        return leafStepsWithResult[TestResult.ERROR.ordinal()];
+    }
+
+    @Override
+    public Integer getIgnoredCount() {
+        return leafStepsWithResult[TestResult.IGNORED.ordinal()];
+    }
+
+    @Override
+    public Integer getSkippedCount() {
+        return leafStepsWithResult[TestResult.SKIPPED.ordinal()];
+    }
+
+    @Override
+    public Integer getPendingCount() {
+        return leafStepsWithResult[TestResult.PENDING.ordinal()];
+    }
+
+    @Override
+    public int getTestCount() {
+        return isDataDriven() ? dataRowResults.length : 1;
+    }
+
+    @Override
+    public int countResults(TestResult expectedResult, TestType expectedType) {
+        if (getAnnotatedResult() != null) {
+            return (getAnnotatedResult() == expectedResult) && typeCompatibleWith(expectedType) ? getTestCount() : 0;
+        }
+        if (isDataDriven()) {
+            return countDataRowsWithResult(expectedResult);
+        } else {
+            return (getResult() == expectedResult) && typeCompatibleWith(expectedType) ? 1 : 0;
+        }
+    }
+
+    @Override
+    public int countNestedStepsWithResult(TestResult expectedResult, TestType testType) {
+        if (isDataDriven()) {
+            return getNestedStepCount() * countDataRowsWithResult(expectedResult) / dataRowResults.length;
+        } else {
+            return (getResult() == expectedResult) && typeCompatibleWith(testType) ? getNestedStepCount() : 0;
+        }
+    }
+
+    private int countDataRowsWithResult(TestResult expectedResult) {
+        int matchingRows = 0;
+        for (byte rowResult : dataRowResults) {
+            if (rowResult == expectedResult.ordinal()) {
+                matchingRows++;
+            }
+        }
+        return matchingRows;
+    }
+}
@@ -34,9 +34,15 @@ public class DataTable {
     }
 
     protected DataTable(List<String> headers, List<DataTableRow> rows, String title, String description, List<DataSetDescriptor> dataSetDescriptors) {
+        this(headers, rows, !rows.isEmpty(), 0, title, description, dataSetDescriptors);
+    }
+
+    private DataTable(List<String> headers, List<DataTableRow> rows, boolean predefinedRows, int currentRow,
+                      String title, String description, List<DataSetDescriptor> dataSetDescriptors) {
         this.headers = headers;
         this.rows = new CopyOnWriteArrayList(rows);
-        this.predefinedRows = !rows.isEmpty();
+        this.predefinedRows = predefinedRows;
+        this.currentRow.set(currentRow);
         this.dataSetDescriptors = dataSetDescriptors;
         if ((title != null) || (description != null)) {
             setLatestNameAndDescription(title, description);
@@ -146,6 +152,10 @@ public class DataTable {
         return dataSetDescriptors.get(dataSetDescriptors.size() - 1);
     }
 
+    public int getCurrentRowNumber() {
+        return currentRowNumber();
+    }
+
     public boolean hasPredefinedRows() {
         return predefinedRows;
     }
@@ -172,6 +182,8 @@ public class DataTable {
         final String description;
         final String title;
         final List<DataSetDescriptor> descriptors;
+        final Boolean predefinedRows;
+        final int currentRow;
 
         public DataTableBuilder(List<String> headers) {
             this(headers, NO_ROWS, null, null, ImmutableList.of(DataSetDescriptor.DEFAULT_DESCRIPTOR));
@@ -179,42 +191,60 @@ public class DataTable {
 
         public DataTableBuilder(List<String> headers, List<DataTableRow> rows, String title,
                                 String description, List<DataSetDescriptor> descriptors) {
+            this(headers, rows, title, description, descriptors, null, 0);
+        }
+
+        private DataTableBuilder(List<String> headers, List<DataTableRow> rows, String title,
+                                 String description, List<DataSetDescriptor> descriptors,
+                                 Boolean predefinedRows, int currentRow) {
             this.headers = headers;
             this.rows = rows;
             this.description = description;
             this.title = title;
             this.descriptors = descriptors;
+            this.predefinedRows = predefinedRows;
+            this.currentRow = currentRow;
         }
 
         public DataTableBuilder andCopyRowDataFrom(DataTableRow row) {
             List<DataTableRow> rows = new ArrayList<DataTableRow>();
             rows.add(new DataTableRow(row.getValues()));
-            return new DataTableBuilder(headers, rows, title, description, descriptors);
+            return new DataTableBuilder(headers, rows, title, description, descriptors, predefinedRows, currentRow);
         }
 
         public DataTableBuilder andTitle(String title) {
-            return new DataTableBuilder(headers, rows, title, description, descriptors);
+            return new DataTableBuilder(headers, rows, title, description, descriptors, predefinedRows, currentRow);
         }
 
         public DataTableBuilder andDescription(String description) {
-            return new DataTableBuilder(headers, rows, title, description, descriptors);
+            return new DataTableBuilder(headers, rows, title, description, descriptors, predefinedRows, currentRow);
         }
 
         public DataTable build() {
-            return new DataTable(headers, rows, title, description, descriptors);
+            if (predefinedRows == null) {
+                return new DataTable(headers, rows, title, description, descriptors);
+            }
+            return new DataTable(headers, rows, predefinedRows, currentRow, title, description, descriptors);
         }
 
         public DataTableBuilder andRows(List<List<Object>> rows) {
-            return new DataTableBuilder(headers, convert(rows, toDataTableRows()), title, description, descriptors);
+            return new DataTableBuilder(headers, convert(rows, toDataTableRows()), title, description, descriptors, predefinedRows, currentRow);
         }
 
         public DataTableBuilder andRowData(List<DataTableRow> rows) {
-            return new DataTableBuilder(headers, rows, title, description, descriptors);
+            return new DataTableBuilder(headers, rows, title, description, descriptors, predefinedRows, currentRow);
         }
 
 
         public DataTableBuilder andDescriptors(List<DataSetDescriptor> descriptors) {
-            return new DataTableBuilder(headers, rows, title, description, descriptors);
+            return new DataTableBuilder(headers, rows, title, description, descriptors, predefinedRows, currentRow);
+        }
+
+        /**
+         * Restores the state of a table that was saved earlier, rather than working it out from the rows.
+         */
+        public DataTableBuilder andState(boolean predefinedRows, int currentRow) {
+            return new DataTableBuilder(headers, rows, title, description, descriptors, predefinedRows, currentRow);
         }
 
         public DataTableBuilder andMappedRows(List<? extends Map<String, ? extends Object>> mappedRows) {
@@ -222,7 +252,7 @@ public class DataTable {
             for (Map<String, ? extends Object> mappedRow : mappedRows) {
                 rowData.add(rowDataFrom(mappedRow));
             }
-            return new DataTableBuilder(headers, convert(rowData, toDataTableRows()), title, description, descriptors);
+            return new DataTableBuilder(headers, convert(rowData, toDataTableRows()), title, description, descriptors, predefinedRows, currentRow);
         }
 
         private Converter<List<Object>, DataTableRow> toDataTableRows() {
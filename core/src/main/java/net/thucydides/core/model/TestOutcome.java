@@ -6,6 +6,7 @@ import com.google.common.base.Optional;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import net.thucydides.core.ThucydidesSystemProperty;
@@ -366,6 +367,58 @@ public class TestOutcome {
         this.manual = manualTest;
     }
 
+    /**
+     * A copy of a test outcome without its test steps, data table or failure cause,
+     * for lighter versions of a test outcome such as the CompactTestOutcome.
+     * The strings of the copy are shared with other test outcomes through the interner.
+     */
+    protected TestOutcome(final TestOutcome outcome, final Interner<String> strings) {
+        this.name = intern(strings, outcome.name);
+        this.testCase = outcome.testCase;
+        this.testCaseName = intern(strings, outcome.testCaseName);
+        this.userStory = outcome.userStory;
+        this.title = intern(strings, outcome.title);
+        this.description = intern(strings, outcome.description);
+        this.backgroundTitle = intern(strings, outcome.backgroundTitle);
+        this.backgroundDescription = intern(strings, outcome.backgroundDescription);
+        this.coreIssues = internAll(strings, outcome.coreIssues);
+        this.additionalIssues = internAll(strings, outcome.additionalIssues);
+        this.coreVersions = internAll(strings, outcome.coreVersions);
+        this.additionalVersions = internAll(strings, outcome.additionalVersions);
+        this.tags = outcome.tags;
+        this.startTime = outcome.startTime;
+        this.duration = outcome.duration;
+        this.testRunTimestamp = outcome.testRunTimestamp;
+        this.project = intern(strings, outcome.project);
+        this.testFailureClassname = intern(strings, outcome.testFailureClassname);
+        this.testFailureMessage = intern(strings, outcome.testFailureMessage);
+        this.annotatedResult = outcome.annotatedResult;
+        this.sessionId = outcome.sessionId;
+        this.driver = intern(strings, outcome.driver);
+        this.statistics = outcome.statistics;
+        this.qualifier = outcome.qualifier;
+        this.manual = outcome.manual;
+        this.issueTracking = outcome.issueTracking;
+        this.environmentVariables = outcome.environmentVariables;
+        this.linkGenerator = outcome.linkGenerator;
+        this.tagProviderService = outcome.tagProviderService;
+    }
+
+    private static String intern(Interner<String> strings, String value) {
+        return (value == null) ? null : strings.intern(value);
+    }
+
+    private static List<String> internAll(Interner<String> strings, List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        List<String> internedValues = Lists.newArrayList();
+        for (String value : values) {
+            internedValues.add(intern(strings, value));
+        }
+        return internedValues;
+    }
+
     private List<String> removeDuplicates(List<String> issues) {
         List<String> issuesWithNoDuplicates = Lists.newArrayList();
         if (issues != null) {
@@ -829,6 +882,9 @@ public class TestOutcome {
                 return TestResult.ERROR;
             }
         }
+        if (testSteps.isEmpty() && result != null) {
+            return result;
+        }
         TestResultList testResults = TestResultList.of(getCurrentTestResults());
         return testResults.getOverallResult();
     }
@@ -1219,9 +1275,11 @@ public class TestOutcome {
 
     public Set<TestTag> getTags() {
         if (tags == null) {
-            tags = getTagsUsingTagProviders(getTagProviderService().getTagProviders());
+            tags = ImmutableSet.copyOf(getTagsUsingTagProviders(getTagProviderService().getTagProviders()));
+        } else if (!(tags instanceof ImmutableSet)) {
+            tags = ImmutableSet.copyOf(tags);
         }
-        return ImmutableSet.copyOf(tags);
+        return tags;
     }
 
 
@@ -1239,7 +1297,7 @@ public class TestOutcome {
     }
 
     public void setTags(Set<TestTag> tags) {
-        this.tags = Sets.newHashSet(tags);
+        this.tags = ImmutableSet.copyOf(tags);
     }
 
 
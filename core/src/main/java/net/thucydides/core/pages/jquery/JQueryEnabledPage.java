@@ -9,14 +9,33 @@ import net.thucydides.core.webdriver.javascript.JavascriptExecutorFacade;
 import org.openqa.selenium.WebDriver;
 
 import java.net.URL;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static net.thucydides.core.webdriver.javascript.JavascriptSupport.javascriptIsSupportedIn;
 
 public class JQueryEnabledPage {
 
+    private static final String INJECTED_SCRIPTS = "serenityInjectedScripts";
+    private static final String JQUERY_FUNCTION = "jQuery";
+    private static final String JQUERY_LIBRARY = "jquery/jquery.min.js";
+    private static final String LIST_INJECTED_SCRIPTS
+            = "var scripts = [];"
+            + "if (typeof jQuery === 'function') { scripts.push('" + JQUERY_FUNCTION + "'); }"
+            + "for (var script in (window." + INJECTED_SCRIPTS + " || {})) { scripts.push(script); }"
+            + "return scripts;";
+
+    private static final ConcurrentMap<String, String> INJECTABLE_SCRIPTS = new ConcurrentHashMap<>();
+
     private final WebDriver driver;
     private final EnvironmentVariables environmentVariables;
 
+    private JavascriptExecutorFacade javascriptExecutorFacade;
+    private Set<String> scriptsInCurrentDocument;
+
     protected JQueryEnabledPage(WebDriver driver) {
         this(driver, Injectors.getInjector().getProvider(EnvironmentVariables.class).get() );
     }
@@ -38,34 +57,78 @@ public class JQueryEnabledPage {
 		return jqueryIntegrationEnabled;
 	}
 
+    /**
+     * True if the current page has jQuery, whether the page loaded it itself or it was injected.
+     */
     public boolean isJQueryAvailable() {
         boolean jqueryIntegrationEnabled = isJQueryIntegrationEnabled();
         if (jqueryIntegrationEnabled && javascriptIsSupportedIn(driver)) {
-            JavascriptExecutorFacade js = new JavascriptExecutorFacade(driver);
-            Boolean result = (Boolean) js.executeScript("return (typeof jQuery === 'function')");
-            return ((result != null) && (result));
+            Set<String> scripts = scriptsInCurrentDocument();
+            return scripts.contains(JQUERY_FUNCTION) || scripts.contains(JQUERY_LIBRARY);
         }
         return false;
     }
 
 
     public void injectJQuery() {
-        executeScriptFrom("jquery/jquery.min.js");
+        executeScriptFrom(JQUERY_LIBRARY);
         executeScriptFrom("jquery/jquery.focus.test-fix.js");
     }
 
+    /**
+     * Runs a script from the classpath in the current page, unless it has already been run since the page was loaded.
+     */
     protected void executeScriptFrom(String scriptSource) {
-        if (javascriptIsSupportedIn(driver)) {
-            String script = getFileAsString(scriptSource);
-            JavascriptExecutorFacade js = new JavascriptExecutorFacade(driver);
-            js.executeScript(script);
+        if (javascriptIsSupportedIn(driver) && !scriptsInCurrentDocument().contains(scriptSource)) {
+            javascript().executeScript(injectableScriptFrom(scriptSource));
+            scriptsInCurrentDocument().add(scriptSource);
+        }
+    }
+
+    /**
+     * The scripts that have already been injected into the current page, plus JQUERY_FUNCTION if jQuery is defined.
+     * The injected scripts are marked in a window property, so a new page (or a reloaded one) starts with none.
+     * This is looked up once, in a single round trip to the browser, for each JQueryEnabledPage.
+     */
+    private Set<String> scriptsInCurrentDocument() {
+        if (scriptsInCurrentDocument == null) {
+            scriptsInCurrentDocument = new HashSet<>();
+            Object scripts = javascript().executeScript(LIST_INJECTED_SCRIPTS);
+            if (scripts instanceof Collection) {
+                for (Object script : (Collection<?>) scripts) {
+                    scriptsInCurrentDocument.add(String.valueOf(script));
+                }
+            }
+        }
+        return scriptsInCurrentDocument;
+    }
+
+    private JavascriptExecutorFacade javascript() {
+        if (javascriptExecutorFacade == null) {
+            javascriptExecutorFacade = new JavascriptExecutorFacade(driver);
+        }
+        return javascriptExecutorFacade;
+    }
+
+    /**
+     * The script, followed by a statement that marks it as injected into the current page.
+     * Scripts are only read from the classpath once.
+     */
+    private static String injectableScriptFrom(final String resourcePath) {
+        String injectableScript = INJECTABLE_SCRIPTS.get(resourcePath);
+        if (injectableScript == null) {
+            injectableScript = getFileAsString(resourcePath)
+                    + "\n;(window." + INJECTED_SCRIPTS + " = window." + INJECTED_SCRIPTS + " || {})['"
+                    + resourcePath + "'] = true;";
+            INJECTABLE_SCRIPTS.putIfAbsent(resourcePath, injectableScript);
         }
+        return injectableScript;
     }
 
-    private String getFileAsString(final String resourcePath) {
+    private static String getFileAsString(final String resourcePath) {
         String content = "";
         try {
-            URL fileUrl = getClass().getClassLoader().getResource(resourcePath);
+            URL fileUrl = JQueryEnabledPage.class.getClassLoader().getResource(resourcePath);
             content = Resources.toString(fileUrl, Charsets.UTF_8);
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -1,10 +1,19 @@
 package net.thucydides.core.reflection;
 
-import java.lang.reflect.Method;
+import com.google.common.base.Optional;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class StackTraceAnalyser {
 
+    /**
+     * Methods resolved from stack frames, keyed by class name, method name and instrumentation.
+     * Screenshot and blur decisions walk the same frames for every step, so each frame is only resolved once.
+     */
+    private static final ConcurrentMap<String, Optional<Method>> RESOLVED_METHODS = new ConcurrentHashMap<>();
+
     private final StackTraceElement stackTraceElement;
 
     private StackTraceAnalyser(StackTraceElement stackTraceElement) {
@@ -16,6 +25,21 @@ public class StackTraceAnalyser {
     }
 
     public Method getMethod() {
+        String frameKey = frameKeyOf(stackTraceElement);
+        Optional<Method> resolvedMethod = RESOLVED_METHODS.get(frameKey);
+        if (resolvedMethod == null) {
+            resolvedMethod = Optional.fromNullable(findMethod());
+            RESOLVED_METHODS.putIfAbsent(frameKey, resolvedMethod);
+        }
+        return resolvedMethod.orNull();
+    }
+
+    private static String frameKeyOf(StackTraceElement stackTraceElement) {
+        return stackTraceElement.getClassName() + "#" + stackTraceElement.getMethodName()
+                + (isInstrumentedMethod(stackTraceElement) ? "<generated>" : "");
+    }
+
+    private Method findMethod() {
         try {
             if (allowedClassName(stackTraceElement.getClassName())) {
                 Class callingClass = Class.forName(stackTraceElement.getClassName());
@@ -1,6 +1,7 @@
 package net.thucydides.core.reports;
 
 import com.google.common.util.concurrent.*;
+import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.util.EnvironmentVariables;
@@ -15,7 +16,6 @@ import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Generates different Thucydides reports in a given output directory.
@@ -35,6 +35,8 @@ public class ReportService {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(ReportService.class);
 
+    private static ListeningExecutorService reportExecutor;
+
     @Inject
     public ReportService(final Configuration configuration) {
         this(configuration.getOutputDirectory(), getDefaultReporters());
@@ -88,71 +90,99 @@ public class ReportService {
 
     public void generateReportsFor(final List<TestOutcome> testOutcomeResults) {
         final TestOutcomes allTestOutcomes = TestOutcomes.of(testOutcomeResults);
+        List<ListenableFuture<List<File>>> reportsInProgress = new ArrayList<>();
         for (final AcceptanceTestReporter reporter : getSubscribedReporters()) {
-            generateReportsFor(reporter, allTestOutcomes);
+            reportsInProgress.add(generateReportsFor(reporter, allTestOutcomes));
         }
-
+        waitForReportGenerationToFinish(reportsInProgress);
     }
 
-    private void generateReportsFor(final AcceptanceTestReporter reporter, final TestOutcomes testOutcomes) {
+    /**
+     * Queue the reports for this reporter on the shared report executor.
+     * Reporters that declare themselves thread-safe get a task per test outcome; any other reporter gets a single
+     * task that writes its reports one after the other, so that it is never called from two threads at once.
+     * The returned future completes when every report for this reporter has been written.
+     */
+    private ListenableFuture<List<File>> generateReportsFor(final AcceptanceTestReporter reporter, final TestOutcomes testOutcomes) {
         LOGGER.info("Generating reports using: " + reporter);
-        long t0 = System.currentTimeMillis();
+        final long t0 = System.currentTimeMillis();
+        reporter.setOutputDirectory(outputDirectory);
+
+        final List<? extends TestOutcome> outcomes = testOutcomes.getOutcomes();
+        final int reportCount = outcomes.size();
+        ListenableFuture<List<File>> allReports = (reporter instanceof ThreadSafeReporter)
+                ? generateReportsInParallel(reporter, outcomes, testOutcomes)
+                : generateReportsSequentially(reporter, outcomes, testOutcomes);
+        Futures.addCallback(allReports, new FutureCallback<List<File>>() {
+            @Override
+            public void onSuccess(List<File> generatedReports) {
+                LOGGER.info("{} reports generated by {} in {} ms", reportCount, reporter, System.currentTimeMillis() - t0);
+            }
 
-        ListeningExecutorService executorService = MoreExecutors.listeningDecorator(Executors.newCachedThreadPool());
+            @Override
+            public void onFailure(Throwable t) {
+                LOGGER.error("Report generation using " + reporter + " failed after "
+                             + (System.currentTimeMillis() - t0) + " ms", t);
+            }
+        });
+        return allReports;
+    }
 
-        List<? extends TestOutcome> outcomes = testOutcomes.getOutcomes();
-        final AtomicInteger remainingReportCount = new AtomicInteger(outcomes.size());
+    private ListenableFuture<List<File>> generateReportsInParallel(final AcceptanceTestReporter reporter,
+                                                                   final List<? extends TestOutcome> outcomes,
+                                                                   final TestOutcomes testOutcomes) {
+        List<ListenableFuture<File>> reports = new ArrayList<>(outcomes.size());
         for (final TestOutcome outcome : outcomes) {
-            final ListenableFuture<TestOutcome> future = executorService.submit(new Callable<TestOutcome>() {
-                @Override
-                public TestOutcome call() throws Exception {
-                    return outcome;
-                }
-            });
-            future.addListener(new Runnable() {
+            reports.add(getReportExecutor().submit(new Callable<File>() {
                 @Override
-                public void run() {
-                    generateQueuedReport(future, testOutcomes, reporter);
+                public File call() throws Exception {
+                    return generateReportFor(outcome, testOutcomes, reporter);
                 }
-            }, MoreExecutors.sameThreadExecutor());
-
-            Futures.addCallback(future, new FutureCallback<TestOutcome>() {
-                @Override
-                public void onSuccess(TestOutcome result) {
-                    remainingReportCount.decrementAndGet();
-                    LOGGER.info("Report generated for " + result.getCompleteName());
-                }
-
-                @Override
-                public void onFailure(Throwable t) {
-                    LOGGER.info("Report generated failed " + t.getMessage());
-                }
-            });
+            }));
         }
-        waitForReportGenerationToFinish(remainingReportCount);
-        LOGGER.info("Reports generated in: " + (System.currentTimeMillis() - t0));
+        return Futures.allAsList(reports);
+    }
 
+    private ListenableFuture<List<File>> generateReportsSequentially(final AcceptanceTestReporter reporter,
+                                                                     final List<? extends TestOutcome> outcomes,
+                                                                     final TestOutcomes testOutcomes) {
+        return getReportExecutor().submit(new Callable<List<File>>() {
+            @Override
+            public List<File> call() throws Exception {
+                List<File> reports = new ArrayList<>(outcomes.size());
+                for (TestOutcome outcome : outcomes) {
+                    reports.add(generateReportFor(outcome, testOutcomes, reporter));
+                }
+                return reports;
+            }
+        });
     }
 
-    private void generateQueuedReport(ListenableFuture<TestOutcome> future, TestOutcomes testOutcomes, AcceptanceTestReporter reporter) {
+    private void waitForReportGenerationToFinish(List<ListenableFuture<List<File>>> reportsInProgress) {
         try {
-            final TestOutcome outcome = future.get();
-            LOGGER.info("Processing test outcome " + outcome.getCompleteName());
-            generateReportFor(outcome, testOutcomes, reporter);
+            Futures.allAsList(reportsInProgress).get();
         } catch (InterruptedException e) {
-            throw new RuntimeException("Report generation failure", e);
+            Thread.currentThread().interrupt();
+            throw new ReportGenerationFailedError("Interrupted while waiting for reports to be generated", e);
         } catch (ExecutionException e) {
-            throw new RuntimeException("Report generation failure", e);
+            throw new ReportGenerationFailedError("Report generation failure", e.getCause());
         }
     }
 
-    private void waitForReportGenerationToFinish(AtomicInteger reportCount) {
-        while (reportCount.get() > 0) {
-            try {
-                Thread.sleep(50);
-            } catch (InterruptedException e) {
-            }
+    /**
+     * Reports are written on a single pool shared by every reporter and every report service, sized to the
+     * number of available processors unless serenity.report.threads says otherwise.
+     */
+    private static synchronized ListeningExecutorService getReportExecutor() {
+        if (reportExecutor == null) {
+            EnvironmentVariables environmentVariables = Injectors.getInjector().getProvider(EnvironmentVariables.class).get();
+            int threads = ThucydidesSystemProperty.THUCYDIDES_REPORT_THREADS.integerFrom(environmentVariables,
+                                                                                       Runtime.getRuntime().availableProcessors());
+            reportExecutor = MoreExecutors.listeningDecorator(
+                    Executors.newFixedThreadPool(Math.max(1, threads),
+                            new ThreadFactoryBuilder().setNameFormat("report-generator-%d").setDaemon(true).build()));
         }
+        return reportExecutor;
     }
 
     /**
@@ -183,13 +213,12 @@ public class ReportService {
         return reporters;
     }
 
-    private void generateReportFor(final TestOutcome testOutcome,
+    private File generateReportFor(final TestOutcome testOutcome,
                                    final TestOutcomes allTestOutcomes,
                                    final AcceptanceTestReporter reporter) {
         try {
             LOGGER.info(reporter + ": Generating report for test outcome: " + testOutcome.getCompleteName());
-            reporter.setOutputDirectory(outputDirectory);
-            reporter.generateReportFor(testOutcome, allTestOutcomes);
+            return reporter.generateReportFor(testOutcome, allTestOutcomes);
         } catch (IOException e) {
             throw new ReportGenerationFailedError(
                     "Failed to generate reports using " + reporter, e);
@@ -0,0 +1,171 @@
+package net.thucydides.core.reports;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestTag;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An inverted index of a list of test outcomes by tag, tag name, tag type, issue and result.
+ * Outcomes are identified by their position in the indexed list, so a set of outcomes is just a bit set.
+ * Filtered views of the same outcomes share the index and narrow it down by intersecting bit sets,
+ * rather than scanning the tags of every outcome again.
+ * The index is never modified once it has been built.
+ */
+class TestOutcomeIndex {
+
+    private static final BitSet NO_OUTCOMES = new BitSet();
+
+    private final List<? extends TestOutcome> outcomes;
+    private final Map<TestTag, BitSet> outcomesByTag;
+    private final Map<String, BitSet> outcomesByTagName;
+    private final Map<String, BitSet> outcomesByTagType;
+    private final Map<String, Set<TestTag>> tagsByType;
+    private final Map<String, BitSet> outcomesByIssue;
+    private final Map<TestResult, BitSet> outcomesByResult;
+
+    private TestOutcomeIndex(List<? extends TestOutcome> outcomes) {
+        this.outcomes = outcomes;
+
+        Map<TestTag, BitSet> outcomesByTag = Maps.newLinkedHashMap();
+        Map<String, BitSet> outcomesByTagName = Maps.newHashMap();
+        Map<String, BitSet> outcomesByTagType = Maps.newHashMap();
+        Map<String, Set<TestTag>> tagsByType = Maps.newHashMap();
+        Map<String, BitSet> outcomesByIssue = Maps.newHashMap();
+        Map<TestResult, BitSet> outcomesByResult = Maps.newEnumMap(TestResult.class);
+
+        for (int position = 0; position < outcomes.size(); position++) {
+            TestOutcome outcome = outcomes.get(position);
+            for (TestTag tag : outcome.getTags()) {
+                positionsFor(tag, outcomesByTag).set(position);
+                positionsFor(tag.getName().toLowerCase(), outcomesByTagName).set(position);
+                positionsFor(tag.getType(), outcomesByTagType).set(position);
+                tagsOfType(tag.getType().toLowerCase(), tagsByType).add(tag);
+            }
+            for (String issue : outcome.getIssues()) {
+                positionsFor(issue, outcomesByIssue).set(position);
+            }
+            positionsFor(outcome.getResult(), outcomesByResult).set(position);
+        }
+
+        this.outcomesByTag = ImmutableMap.copyOf(outcomesByTag);
+        this.outcomesByTagName = ImmutableMap.copyOf(outcomesByTagName);
+        this.outcomesByTagType = ImmutableMap.copyOf(outcomesByTagType);
+        this.tagsByType = ImmutableMap.copyOf(tagsByType);
+        this.outcomesByIssue = ImmutableMap.copyOf(outcomesByIssue);
+        this.outcomesByResult = ImmutableMap.copyOf(outcomesByResult);
+    }
+
+    static TestOutcomeIndex of(List<? extends TestOutcome> outcomes) {
+        return new TestOutcomeIndex(outcomes);
+    }
+
+    private static <K> BitSet positionsFor(K key, Map<K, BitSet> index) {
+        BitSet positions = index.get(key);
+        if (positions == null) {
+            positions = new BitSet();
+            index.put(key, positions);
+        }
+        return positions;
+    }
+
+    private static Set<TestTag> tagsOfType(String tagType, Map<String, Set<TestTag>> index) {
+        Set<TestTag> tags = index.get(tagType);
+        if (tags == null) {
+            tags = Sets.newLinkedHashSet();
+            index.put(tagType, tags);
+        }
+        return tags;
+    }
+
+    /**
+     * @return every outcome in the index
+     */
+    BitSet allOutcomes() {
+        BitSet all = new BitSet(outcomes.size());
+        all.set(0, outcomes.size());
+        return all;
+    }
+
+    BitSet withTag(TestTag tag, BitSet selection) {
+        return intersection(outcomesByTag.get(tag), selection);
+    }
+
+    BitSet withTagName(String tagName, BitSet selection) {
+        return intersection(outcomesByTagName.get(tagName.toLowerCase()), selection);
+    }
+
+    BitSet withTagType(String tagType, BitSet selection) {
+        return intersection(outcomesByTagType.get(tagType), selection);
+    }
+
+    BitSet withIssue(String issue, BitSet selection) {
+        return intersection(outcomesByIssue.get(issue), selection);
+    }
+
+    BitSet withResult(BitSet selection, TestResult... results) {
+        BitSet matchingOutcomes = new BitSet();
+        for (TestResult result : results) {
+            matchingOutcomes.or(positionsOrNone(outcomesByResult.get(result)));
+        }
+        matchingOutcomes.and(selection);
+        return matchingOutcomes;
+    }
+
+    /**
+     * @return the tags of the selected outcomes
+     */
+    Set<TestTag> tagsIn(BitSet selection) {
+        Set<TestTag> tags = Sets.newLinkedHashSet();
+        for (Map.Entry<TestTag, BitSet> entry : outcomesByTag.entrySet()) {
+            if (entry.getValue().intersects(selection)) {
+                tags.add(entry.getKey());
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * @return the tags of a given type (ignoring case) held by at least one of the selected outcomes
+     */
+    Set<TestTag> tagsOfTypeIn(String tagType, BitSet selection) {
+        Set<TestTag> indexedTags = tagsByType.get(tagType.toLowerCase());
+        if (indexedTags == null) {
+            return ImmutableSet.of();
+        }
+        Set<TestTag> tags = Sets.newLinkedHashSet();
+        for (TestTag tag : indexedTags) {
+            if (outcomesByTag.get(tag).intersects(selection)) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    List<TestOutcome> outcomesIn(BitSet selection) {
+        ImmutableList.Builder<TestOutcome> selectedOutcomes = ImmutableList.builder();
+        for (int position = selection.nextSetBit(0); position >= 0; position = selection.nextSetBit(position + 1)) {
+            selectedOutcomes.add(outcomes.get(position));
+        }
+        return selectedOutcomes.build();
+    }
+
+    private BitSet intersection(BitSet positions, BitSet selection) {
+        BitSet matchingOutcomes = (BitSet) positionsOrNone(positions).clone();
+        matchingOutcomes.and(selection);
+        return matchingOutcomes;
+    }
+
+    private BitSet positionsOrNone(BitSet positions) {
+        return (positions != null) ? positions : NO_OUTCOMES;
+    }
+}
@@ -0,0 +1,11 @@
+package net.thucydides.core.reports;
+
+import net.thucydides.core.model.TestOutcome;
+
+/**
+ * Receives test outcomes one at a time as they are loaded from the output directory.
+ * This lets aggregate reporting start work before every outcome file has been read.
+ */
+public interface TestOutcomeLoadListener {
+    void outcomeLoaded(TestOutcome testOutcome);
+}
@@ -1,17 +1,28 @@
 package net.thucydides.core.reports;
 
+import com.google.common.base.Optional;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
+import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.model.CompactTestOutcome;
 import net.thucydides.core.model.TestOutcome;
-import net.thucydides.core.reports.json.JSONTestOutcomeReporter;
-import net.thucydides.core.reports.xml.XMLTestOutcomeReporter;
+import net.thucydides.core.reports.binary.OutcomeJournalSegment;
 import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Loads test outcomes from a given directory, and reports on their contents.
@@ -19,9 +30,26 @@ import java.util.*;
  */
 public class TestOutcomeLoader {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestOutcomeLoader.class);
+
+    /**
+     * How many outcomes each worker thread may have queued or loaded but not yet consumed.
+     */
+    private static final int OUTCOMES_IN_FLIGHT_PER_THREAD = 4;
+
     private final EnvironmentVariables environmentVariables;
     private final FormatConfiguration formatConfiguration;
 
+    /**
+     * Looked up the first time it is needed, as the reporters are found by scanning the classpath.
+     */
+    private final Supplier<AcceptanceTestLoader> outcomeReporter = Suppliers.memoize(new Supplier<AcceptanceTestLoader>() {
+        @Override
+        public AcceptanceTestLoader get() {
+            return findOutcomeReporter();
+        }
+    });
+
     public TestOutcomeLoader() {
         this(Injectors.getInjector().getProvider(EnvironmentVariables.class).get() );
     }
@@ -50,18 +78,80 @@ public class TestOutcomeLoader {
      */
     public List<TestOutcome> loadFrom(final File reportDirectory) throws IOException {
 
-        final AcceptanceTestLoader testOutcomeReporter = getOutcomeReporter();
-        List<File> reportFiles = getAllOutcomeFilesFrom(reportDirectory);
-
-        final List<TestOutcome> testOutcomes = Collections.synchronizedList(new ArrayList<TestOutcome>());
-        for(File reportFile : reportFiles) {
-            testOutcomes.addAll(testOutcomeReporter.loadReportFrom(reportFile).asSet());
+        List<TestOutcome> testOutcomes = Lists.newArrayList();
+        try (TestOutcomeStream outcomeStream = streamFrom(reportDirectory)) {
+            Iterators.addAll(testOutcomes, outcomeStream);
         }
         Collections.sort(testOutcomes, byTitle());
         return ImmutableList.copyOf(testOutcomes);
     }
 
-    private Comparator<? super TestOutcome> byTitle() {
+    /**
+     * Load the test outcomes from a given directory, handing each one to the listener as soon as it has been read.
+     * Outcomes are delivered on the calling thread, in the order in which they finish loading.
+     *
+     * @param reportDirectory An existing directory that contains the test outcomes in XML or JSON format.
+     * @param listener Notified of each test outcome as it is loaded.
+     * @throws java.io.IOException Thrown if the specified directory was invalid.
+     */
+    public void loadFrom(final File reportDirectory, final TestOutcomeLoadListener listener) throws IOException {
+        try (TestOutcomeStream testOutcomes = streamFrom(reportDirectory)) {
+            while (testOutcomes.hasNext()) {
+                listener.outcomeLoaded(testOutcomes.next());
+            }
+        }
+    }
+
+    /**
+     * Returns a stream of the test outcomes in a given directory.
+     * The files are parsed in parallel, using up to serenity.report.loader.threads worker threads, and the outcomes
+     * are returned in the order in which they finish loading. Files that cannot be read are logged and skipped.
+     * Journal segments are merged first, and each record of the merged journal is read from the file when it is loaded.
+     * The stream should be closed once it is no longer needed.
+     *
+     * @param reportDirectory An existing directory that contains the test outcomes in XML or JSON format.
+     * @return The test outcomes, in no particular order.
+     * @throws java.io.IOException Thrown if the specified directory was invalid.
+     */
+    public TestOutcomeStream streamFrom(final File reportDirectory) throws IOException {
+        List<OutcomeSource> outcomeSources = outcomeSourcesIn(reportDirectory);
+        return new ParallelOutcomeIterator(outcomeSources, loaderThreadCountFor(outcomeSources),
+                                           compactOutcomesAreActive());
+    }
+
+    private List<OutcomeSource> outcomeSourcesIn(File reportDirectory) throws IOException {
+        List<OutcomeSource> outcomeSources = Lists.newArrayList();
+        if (formatConfiguration.getPreferredFormat() == OutcomeFormat.JOURNAL) {
+            Optional<File> journal = OutcomeJournalSegment.compactSegmentsIn(reportDirectory);
+            if (journal.isPresent()) {
+                OutcomeJournalSegment segment = OutcomeJournalSegment.open(journal.get());
+                for (int i = 0; i < segment.size(); i++) {
+                    outcomeSources.add(new JournalRecord(segment, i));
+                }
+            }
+        } else {
+            AcceptanceTestLoader loader = getOutcomeReporter();
+            for (File reportFile : getAllOutcomeFilesFrom(reportDirectory)) {
+                outcomeSources.add(new OutcomeFile(loader, reportFile));
+            }
+        }
+        return outcomeSources;
+    }
+
+    private boolean compactOutcomesAreActive() {
+        return ThucydidesSystemProperty.THUCYDIDES_REPORT_COMPACT_OUTCOMES.booleanFrom(environmentVariables, false);
+    }
+
+    private int loaderThreadCountFor(List<OutcomeSource> outcomeSources) {
+        int threads = ThucydidesSystemProperty.THUCYDIDES_REPORT_LOADER_THREADS.integerFrom(environmentVariables,
+                                                                                   Runtime.getRuntime().availableProcessors());
+        return Math.max(1, Math.min(threads, outcomeSources.size()));
+    }
+
+    /**
+     * The order in which the aggregate reports list the test outcomes they load.
+     */
+    public static Comparator<TestOutcome> byTitle() {
         return new Comparator<TestOutcome>() {
             @Override
             public int compare(TestOutcome a, TestOutcome b) {
@@ -70,7 +160,10 @@ public class TestOutcomeLoader {
         };
     }
 
-    private List<File> getAllOutcomeFilesFrom(final File reportsDirectory) throws IOException{
+    /**
+     * The serialized test outcome files in a given directory, in the format this loader reads.
+     */
+    public List<File> getAllOutcomeFilesFrom(final File reportsDirectory) throws IOException{
         File[] matchingFiles = reportsDirectory.listFiles(new SerializedOutcomeFilenameFilter());
         if (matchingFiles == null) {
             throw new IOException("Could not find directory " + reportsDirectory);
@@ -102,13 +195,176 @@ public class TestOutcomeLoader {
         return TestOutcomes.of(loader.loadFrom(reportsDirectory));
     }
 
+    /**
+     * The loader for the preferred format, taken from the reporters registered as AcceptanceTestReporter services
+     * that can also load the test outcomes they write.
+     */
     public AcceptanceTestLoader getOutcomeReporter() {
-        switch (formatConfiguration.getPreferredFormat()) {
-            case XML: return new XMLTestOutcomeReporter();
-            case JSON: return new JSONTestOutcomeReporter();
-            default: throw new IllegalArgumentException("Unsupported report format: " + formatConfiguration.getPreferredFormat());
+        return outcomeReporter.get();
+    }
+
+    private AcceptanceTestLoader findOutcomeReporter() {
+        OutcomeFormat preferredFormat = formatConfiguration.getPreferredFormat();
+        for (AcceptanceTestReporter reporter : ServiceLoader.load(AcceptanceTestReporter.class)) {
+            if ((reporter instanceof AcceptanceTestLoader) && reporter.getFormat().equals(Optional.of(preferredFormat))) {
+                return (AcceptanceTestLoader) reporter;
+            }
         }
+        throw new IllegalArgumentException("Unsupported report format: " + preferredFormat);
     }
+
+    /**
+     * Where a test outcome is read from: an outcome file, or a record in a test outcome journal.
+     */
+    private abstract static class OutcomeSource {
+        abstract Optional<TestOutcome> load();
+    }
+
+    private static class OutcomeFile extends OutcomeSource {
+        private final AcceptanceTestLoader loader;
+        private final File reportFile;
+
+        OutcomeFile(AcceptanceTestLoader loader, File reportFile) {
+            this.loader = loader;
+            this.reportFile = reportFile;
+        }
+
+        @Override
+        Optional<TestOutcome> load() {
+            return loader.loadReportFrom(reportFile);
+        }
+
+        @Override
+        public String toString() {
+            return reportFile.toString();
+        }
+    }
+
+    private static class JournalRecord extends OutcomeSource {
+        private final OutcomeJournalSegment segment;
+        private final int index;
+
+        JournalRecord(OutcomeJournalSegment segment, int index) {
+            this.segment = segment;
+            this.index = index;
+        }
+
+        @Override
+        Optional<TestOutcome> load() {
+            return segment.loadOutcome(index);
+        }
+
+        @Override
+        public String toString() {
+            return "record " + index + " of " + segment.getFile();
+        }
+    }
+
+    /**
+     * Loads the test outcomes on a bounded worker pool, handing back results as they complete.
+     * At most a few outcomes per thread are in flight at any time, so a slow consumer does not cause every
+     * outcome in the directory to be held in memory at once.
+     */
+    private static class ParallelOutcomeIterator extends AbstractIterator<TestOutcome> implements TestOutcomeStream {
+
+        private final Iterator<OutcomeSource> remainingSources;
+        private final ExecutorService executorService;
+        private final CompletionService<Optional<TestOutcome>> completionService;
+        private final boolean compactOutcomes;
+        private int outcomesInFlight = 0;
+
+        ParallelOutcomeIterator(List<OutcomeSource> outcomeSources, int threads, boolean compactOutcomes) {
+            this.compactOutcomes = compactOutcomes;
+            this.remainingSources = outcomeSources.iterator();
+            this.executorService = Executors.newFixedThreadPool(threads,
+                    new ThreadFactoryBuilder().setNameFormat("outcome-loader-%d").setDaemon(true).build());
+            this.completionService = new ExecutorCompletionService<>(executorService);
+            for (int i = 0; i < threads * OUTCOMES_IN_FLIGHT_PER_THREAD && remainingSources.hasNext(); i++) {
+                submitNextSource();
+            }
+        }
+
+        @Override
+        protected TestOutcome computeNext() {
+            while (outcomesInFlight > 0) {
+                Optional<TestOutcome> loadedOutcome = takeNextLoadedOutcome();
+                if (remainingSources.hasNext()) {
+                    submitNextSource();
+                }
+                if (loadedOutcome.isPresent()) {
+                    return loadedOutcome.get();
+                }
+            }
+            executorService.shutdown();
+            return endOfData();
+        }
+
+        @Override
+        public void close() {
+            executorService.shutdownNow();
+        }
+
+        private void submitNextSource() {
+            final OutcomeSource source = remainingSources.next();
+            completionService.submit(new Callable<Optional<TestOutcome>>() {
+                @Override
+                public Optional<TestOutcome> call() {
+                    return loadOutcomeFrom(source);
+                }
+            });
+            outcomesInFlight++;
+        }
+
+        private Optional<TestOutcome> loadOutcomeFrom(OutcomeSource source) {
+            try {
+                Optional<TestOutcome> loadedOutcome = source.load();
+                if (compactOutcomes && loadedOutcome.isPresent()) {
+                    return Optional.<TestOutcome>of(CompactTestOutcome.from(loadedOutcome.get(),
+                                                                           reloadedFrom(source)));
+                }
+                return loadedOutcome;
+            } catch (Exception e) {
+                LOGGER.warn("Could not load test outcome from " + source, e);
+                return Optional.absent();
+            }
+        }
+
+        /**
+         * Compact test outcomes read their test steps and example tables again when needed,
+         * from the same outcome file or journal record.
+         */
+        private Supplier<TestOutcome> reloadedFrom(final OutcomeSource source) {
+            return new Supplier<TestOutcome>() {
+                @Override
+                public TestOutcome get() {
+                    Optional<TestOutcome> reloadedOutcome = source.load();
+                    if (!reloadedOutcome.isPresent()) {
+                        throw new ReportGenerationFailedError("Could not read test outcome again from " + source, null);
+                    }
+                    return reloadedOutcome.get();
+                }
+            };
+        }
+
+        private Optional<TestOutcome> takeNextLoadedOutcome() {
+            try {
+                Optional<TestOutcome> loadedOutcome = completionService.take().get();
+                outcomesInFlight--;
+                return loadedOutcome;
+            } catch (InterruptedException e) {
+                executorService.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new ReportGenerationFailedError("Interrupted while loading test outcomes", e);
+            } catch (ExecutionException e) {
+                executorService.shutdownNow();
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new ReportGenerationFailedError("Failed to load test outcomes", e.getCause());
+            }
+        }
+    }
+
     private class SerializedOutcomeFilenameFilter implements FilenameFilter {
         public boolean accept(final File file, final String filename) {
             return filename.toLowerCase(Locale.getDefault()).endsWith(formatConfiguration.getPreferredFormat().getExtension());
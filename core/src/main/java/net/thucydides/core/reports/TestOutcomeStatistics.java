@@ -0,0 +1,159 @@
+package net.thucydides.core.reports;
+
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestResultList;
+import net.thucydides.core.model.TestType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test and step counts for a set of test outcomes, worked out in a single pass over the outcomes.
+ * The report templates ask for the same counts many times for each page, so a set of test outcomes
+ * works them out once and keeps them.
+ * The counts are only accurate as long as the test outcomes are not changed, which is the case once
+ * they have been grouped into a set of test outcomes for reporting.
+ */
+public class TestOutcomeStatistics {
+
+    private static final TestType[] TEST_TYPES = TestType.values();
+    private static final TestResult[] TEST_RESULTS = TestResult.values();
+
+    /**
+     * Test runs with a given result, counting only the outcomes of a given type, by test type and result.
+     */
+    private final int[][] testsOfTypeWithResult = new int[TEST_TYPES.length][TEST_RESULTS.length];
+
+    /**
+     * Test runs with a given result and type, by test type and result (see TestOutcome.countResults()).
+     */
+    private final int[][] testsWithResult = new int[TEST_TYPES.length][TEST_RESULTS.length];
+
+    /**
+     * Nested steps of the tests with a given result and type, by test type and result.
+     */
+    private final int[][] stepsWithResult = new int[TEST_TYPES.length][TEST_RESULTS.length];
+
+    /**
+     * Test runs (including the rows of data-driven tests) of each type.
+     */
+    private final int[] testsOfType = new int[TEST_TYPES.length];
+
+    private int implementedTestCount;
+    private int stepCount;
+    private long duration;
+    private boolean dataDrivenTests;
+    private int dataRowCount;
+
+    TestOutcomeStatistics(List<? extends TestOutcome> outcomes) {
+        for (TestOutcome outcome : outcomes) {
+            TestResult outcomeResult = outcome.getResult();
+            int nestedStepCount = outcome.getNestedStepCount();
+            if (outcome.isDataDriven()) {
+                countDataDriven(outcome);
+            } else {
+                count(outcome, outcomeResult, nestedStepCount);
+            }
+            implementedTestCount += outcome.getImplementedTestCount();
+            stepCount += nestedStepCount;
+            duration += outcome.getDuration();
+        }
+    }
+
+    /**
+     * The overall result is all that is needed to know whether a set of tests is complete,
+     * so it can be worked out on its own, without counting the tests and steps.
+     */
+    static TestResult overallResultOf(List<? extends TestOutcome> outcomes) {
+        List<TestResult> results = new ArrayList<>(outcomes.size());
+        for (TestOutcome outcome : outcomes) {
+            results.add(outcome.getResult());
+        }
+        return TestResultList.of(results).getOverallResult();
+    }
+
+    /**
+     * A test that is not data-driven is a single test run with a single result,
+     * so it only counts towards that result.
+     */
+    private void count(TestOutcome outcome, TestResult outcomeResult, int nestedStepCount) {
+        for (TestType testType : TEST_TYPES) {
+            if (outcome.typeCompatibleWith(testType)) {
+                testsOfType[testType.ordinal()]++;
+                testsOfTypeWithResult[testType.ordinal()][outcomeResult.ordinal()]++;
+                testsWithResult[testType.ordinal()][outcomeResult.ordinal()]++;
+                stepsWithResult[testType.ordinal()][outcomeResult.ordinal()] += nestedStepCount;
+            }
+        }
+    }
+
+    /**
+     * The rows of a data-driven test can each have a different result.
+     */
+    private void countDataDriven(TestOutcome outcome) {
+        int testCount = outcome.getTestCount();
+        for (TestType testType : TEST_TYPES) {
+            boolean ofThisType = outcome.typeCompatibleWith(testType);
+            if (ofThisType) {
+                testsOfType[testType.ordinal()] += testCount;
+            }
+            for (TestResult testResult : TEST_RESULTS) {
+                if (ofThisType) {
+                    testsOfTypeWithResult[testType.ordinal()][testResult.ordinal()] += outcome.countResults(testResult);
+                }
+                testsWithResult[testType.ordinal()][testResult.ordinal()] += outcome.countResults(testResult, testType);
+                stepsWithResult[testType.ordinal()][testResult.ordinal()]
+                        += outcome.countNestedStepsWithResult(testResult, testType);
+            }
+        }
+        dataDrivenTests = true;
+        dataRowCount += outcome.getDataTable().getSize();
+    }
+
+    public int getTestCount() {
+        return testsOfType[TestType.ANY.ordinal()];
+    }
+
+    public int getTestCountOfType(TestType testType) {
+        return testsOfType[testType.ordinal()];
+    }
+
+    /**
+     * The number of test runs with a given result, among the tests of a given type.
+     */
+    public int countTestsOfTypeWithResult(TestType testType, TestResult testResult) {
+        return testsOfTypeWithResult[testType.ordinal()][testResult.ordinal()];
+    }
+
+    /**
+     * The number of test runs with a given result and type, as counted by TestOutcome.countResults().
+     */
+    public int countTestsWithResult(TestResult testResult, TestType testType) {
+        return testsWithResult[testType.ordinal()][testResult.ordinal()];
+    }
+
+    public int countStepsWithResult(TestResult testResult, TestType testType) {
+        return stepsWithResult[testType.ordinal()][testResult.ordinal()];
+    }
+
+    public int getImplementedTestCount() {
+        return implementedTestCount;
+    }
+
+    public int getStepCount() {
+        return stepCount;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public boolean hasDataDrivenTests() {
+        return dataDrivenTests;
+    }
+
+    public int getTotalDataRows() {
+        return dataRowCount;
+    }
+}
@@ -0,0 +1,15 @@
+package net.thucydides.core.reports;
+
+import net.thucydides.core.model.TestOutcome;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * The test outcomes of a directory, read as they are iterated over.
+ * Close the stream when you stop reading from it early, so that the outcome files still being loaded are abandoned.
+ */
+public interface TestOutcomeStream extends Iterator<TestOutcome>, Closeable {
+    @Override
+    void close();
+}
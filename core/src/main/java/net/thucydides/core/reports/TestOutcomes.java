@@ -17,14 +17,13 @@ import org.apache.commons.lang3.StringUtils;
 import org.hamcrest.Matcher;
 import org.joda.time.DateTime;
 
-import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
 import static ch.lambdaj.Lambda.*;
 import static net.thucydides.core.model.TestResult.*;
-import static net.thucydides.core.reports.matchers.TestOutcomeMatchers.*;
 import static org.hamcrest.Matchers.is;
 
 //import net.thucydides.core.statistics.HibernateTestStatisticsProvider;
@@ -46,6 +45,23 @@ public class TestOutcomes {
     private final EnvironmentVariables environmentVariables;
     private final RequirementsService requirementsService;
 
+    /**
+     * Tag and result index of the outcomes, shared with the views filtered from them.
+     * It is built the first time it is needed, from the outcomes of the set that does not inherit one.
+     */
+    private volatile TestOutcomeIndex index;
+
+    /**
+     * The positions of these outcomes in the index, or null if these outcomes are the whole index.
+     */
+    private final BitSet selection;
+
+    /**
+     * Test and step counts for these outcomes, worked out the first time they are needed.
+     */
+    private volatile TestOutcomeStatistics statistics;
+    private volatile TestResult result;
+
     /**
      * A label indicating where these tests come from (e.g. the tag, the result status, etc).
      */
@@ -62,12 +78,24 @@ public class TestOutcomes {
                            String label,
                            TestOutcomes rootOutcomes,
                            EnvironmentVariables environmentVariables) {
+        this(outcomes, estimatedAverageStepCount, label, rootOutcomes, environmentVariables, null, null);
+    }
+
+    private TestOutcomes(List<? extends TestOutcome> outcomes,
+                         double estimatedAverageStepCount,
+                         String label,
+                         TestOutcomes rootOutcomes,
+                         EnvironmentVariables environmentVariables,
+                         TestOutcomeIndex index,
+                         BitSet selection) {
         this.outcomes = ImmutableList.copyOf(outcomes);
         this.estimatedAverageStepCount = estimatedAverageStepCount;
         this.label = label;
         this.rootOutcomes = Optional.fromNullable(rootOutcomes);
         this.environmentVariables = environmentVariables;
         this.requirementsService = Injectors.getInjector().getInstance(RequirementsService.class);
+        this.index = index;
+        this.selection = selection;
     }
 
     protected TestOutcomes(List<? extends TestOutcome> outcomes,
@@ -82,7 +110,38 @@ public class TestOutcomes {
     }
 
     public TestOutcomes withLabel(String label) {
-        return new TestOutcomes(this.outcomes, this.estimatedAverageStepCount, label);
+        return new TestOutcomes(this.outcomes, this.estimatedAverageStepCount, label, null, environmentVariables,
+                                index, selection);
+    }
+
+    private TestOutcomeIndex index() {
+        if (index == null) {
+            index = TestOutcomeIndex.of(outcomes);
+        }
+        return index;
+    }
+
+    /**
+     * @return The test and step counts for these test outcomes.
+     */
+    public TestOutcomeStatistics getStatistics() {
+        if (statistics == null) {
+            statistics = new TestOutcomeStatistics(outcomes);
+        }
+        return statistics;
+    }
+
+    private BitSet selection() {
+        return (selection != null) ? selection : index().allOutcomes();
+    }
+
+    /**
+     * A view of the indexed outcomes at the given positions, sharing this set's index and root outcomes.
+     */
+    private TestOutcomes filteredBy(BitSet matchingOutcomes, String label) {
+        TestOutcomeIndex index = index();
+        return new TestOutcomes(index.outcomesIn(matchingOutcomes), estimatedAverageStepCount, label,
+                                getRootOutcomes(), environmentVariables, index, matchingOutcomes);
     }
 
     public TestOutcomes havingResult(String result) {
@@ -90,10 +149,7 @@ public class TestOutcomes {
     }
 
     public TestOutcomes havingResult(TestResult result) {
-
-        return TestOutcomes.of(filter(withResult(result), outcomes))
-                .withLabel(labelForTestsWithStatus(result.name()))
-                .withRootOutcomes(getRootOutcomes());
+        return filteredBy(index().withResult(selection(), result), labelForTestsWithStatus(result.name()));
     }
 
     public static TestOutcomes of(List<? extends TestOutcome> outcomes) {
@@ -118,17 +174,13 @@ public class TestOutcomes {
      */
     public List<String> getTagTypes() {
         Set<String> tagTypes = Sets.newHashSet();
-        for (TestOutcome outcome : outcomes) {
-            addTagTypesFrom(outcome, tagTypes);
-        }
+        addTagTypesFrom(index().tagsIn(selection()), tagTypes);
         return sort(ImmutableList.copyOf(tagTypes), on(String.class));
     }
 
     public List<String> getFirstClassTagTypes() {
         Set<String> tagTypes = Sets.newHashSet();
-        for (TestOutcome outcome : outcomes) {
-            addTagTypesFrom(outcome, tagTypes);
-        }
+        addTagTypesFrom(index().tagsIn(selection()), tagTypes);
         tagTypes.remove("version");
         tagTypes.removeAll(getRequirementTagTypes());
         return sort(ImmutableList.copyOf(tagTypes), on(String.class));
@@ -138,8 +190,9 @@ public class TestOutcomes {
        List<String> tagTypes = Lists.newArrayList();
 
        List<String> candidateTagTypes = requirementsService.getRequirementTypes();
+       List<String> tagTypesInOutcomes = getTagTypes();
        for(String tagType : candidateTagTypes) {
-           if (getTagTypes().contains(tagType)) {
+           if (tagTypesInOutcomes.contains(tagType)) {
                tagTypes.add(tagType);
            }
        }
@@ -151,14 +204,12 @@ public class TestOutcomes {
      */
     public List<String> getTagNames() {
         Set<String> tags = Sets.newHashSet();
-        for (TestOutcome outcome : outcomes) {
-            addTagNamesFrom(outcome, tags);
-        }
+        addTagNamesFrom(index().tagsIn(selection()), tags);
         return sort(ImmutableList.copyOf(tags), on(String.class));
     }
 
-    private void addTagNamesFrom(TestOutcome outcome, Set<String> tags) {
-        for (TestTag tag : outcome.getTags()) {
+    private void addTagNamesFrom(Set<TestTag> outcomeTags, Set<String> tags) {
+        for (TestTag tag : outcomeTags) {
             String normalizedForm = tag.getName().toLowerCase();
             if (!tags.contains(normalizedForm)) {
                 tags.add(normalizedForm);
@@ -166,8 +217,8 @@ public class TestOutcomes {
         }
     }
 
-    private void addTagTypesFrom(TestOutcome outcome, Set<String> tags) {
-        for (TestTag tag : outcome.getTags()) {
+    private void addTagTypesFrom(Set<TestTag> outcomeTags, Set<String> tags) {
+        for (TestTag tag : outcomeTags) {
             String normalizedForm = tag.getType().toLowerCase();
             if (!tags.contains(normalizedForm)) {
                 tags.add(normalizedForm);
@@ -179,21 +230,14 @@ public class TestOutcomes {
      * @return The list of all the different tags in these test outcomes
      */
     public List<TestTag> getTags() {
-        Set<TestTag> tags = Sets.newHashSet();
-        for (TestOutcome outcome : outcomes) {
-            tags.addAll(outcome.getTags());
-        }
-        return ImmutableList.copyOf(tags);
+        return ImmutableList.copyOf(index().tagsIn(selection()));
     }
 
     /**
      * @return The list of all the tags associated with a given tag type.
      */
     public List<TestTag> getTagsOfType(String tagType) {
-        Set<TestTag> tags = Sets.newHashSet();
-        for (TestOutcome outcome : outcomes) {
-            tags.addAll(tagsOfType(tagType).in(outcome));
-        }
+        Set<TestTag> tags = index().tagsOfTypeIn(tagType, selection());
         return sort(ImmutableList.copyOf(tags), on(String.class));
     }
 
@@ -265,7 +309,7 @@ public class TestOutcomes {
     }
 
     public boolean containsTag(TestTag testTag) {
-        return getTags().contains(testTag);
+        return !index().withTag(testTag, selection()).isEmpty();
     }
 
     public DateTime getStartTime() {
@@ -285,17 +329,24 @@ public class TestOutcomes {
     public TestOutcomes withRequirementsTags() {
         List<TestOutcome> testOutcomesWithRequirements = Lists.newArrayList();
         for (TestOutcome outcome : outcomes) {
-            Set<TestTag> outcomeTags = Sets.newHashSet(outcome.getTags());
-            List<Requirement> parentRequirements = requirementsService.getAncestorRequirementsFor(outcome);
-            for(Requirement requirement : parentRequirements) {
-                outcomeTags.add(requirement.asTag());
-            }
-            testOutcomesWithRequirements.add(outcome.withTags(outcomeTags));
+            testOutcomesWithRequirements.add(withRequirementsTags(outcome, requirementsService));
         }
 
         return new TestOutcomes(testOutcomesWithRequirements, estimatedAverageStepCount, label, rootOutcomes.orNull(), environmentVariables);
     }
 
+    /**
+     * A test outcome that is also tagged with each of the requirements it belongs to.
+     */
+    public static TestOutcome withRequirementsTags(TestOutcome outcome, RequirementsService requirementsService) {
+        Set<TestTag> outcomeTags = Sets.newHashSet(outcome.getTags());
+        List<Requirement> parentRequirements = requirementsService.getAncestorRequirementsFor(outcome);
+        for(Requirement requirement : parentRequirements) {
+            outcomeTags.add(requirement.asTag());
+        }
+        return outcome.withTags(outcomeTags);
+    }
+
     private class TagFinder {
         private final String tagType;
 
@@ -321,11 +372,12 @@ public class TestOutcomes {
      * @return A new set of test outcomes for this tag type
      */
     public TestOutcomes withTagType(String tagType) {
-        return TestOutcomes.of(filter(havingTagType(tagType), outcomes)).withLabel(tagType).withRootOutcomes(this.getRootOutcomes());
+        return filteredBy(index().withTagType(tagType, selection()), tagType);
     }
 
     private TestOutcomes withRootOutcomes(TestOutcomes rootOutcomes) {
-        return new TestOutcomes(this.outcomes, this.estimatedAverageStepCount, this.label, rootOutcomes, environmentVariables);
+        return new TestOutcomes(this.outcomes, this.estimatedAverageStepCount, this.label, rootOutcomes, environmentVariables,
+                                index, selection);
     }
 
     /**
@@ -335,31 +387,25 @@ public class TestOutcomes {
      * @return A new set of test outcomes for this tag name
      */
     public TestOutcomes withTag(String tagName) {
-        return TestOutcomes.of(filter(havingTagName(tagName), outcomes)).withLabel(tagName).withRootOutcomes(getRootOutcomes());
+        return filteredBy(index().withTagName(tagName, selection()), tagName);
     }
 
     public TestOutcomes withTag(TestTag tag) {
-        List<? extends TestOutcome> matchingTags = matchingOutcomes(outcomes, tag);
-        return TestOutcomes.of(matchingTags).withLabel(tag.getName()).withRootOutcomes(getRootOutcomes());
+        return filteredBy(matchingOutcomes(tag), tag.getName());
     }
 
     public TestOutcomes withTags(List<TestTag> tags) {
         List<TestOutcome> filteredOutcomes = Lists.newArrayList();
         for (TestTag tag : tags) {
-            filteredOutcomes.addAll(matchingOutcomes(outcomes, tag));
+            filteredOutcomes.addAll(index().outcomesIn(matchingOutcomes(tag)));
         }
         return TestOutcomes.of(filteredOutcomes);
     }
 
-    private List<? extends TestOutcome> matchingOutcomes(List<? extends TestOutcome> outcomes, TestTag tag) {
-        List<TestOutcome> matchingOutcomes = Lists.newArrayList();
-        for (TestOutcome outcome : outcomes) {
-            if (isAnIssue(tag) && (outcome.hasIssue(tag.getName()))) {
-                matchingOutcomes.add(outcome);
-            }
-            if (outcome.hasTag(tag)) {
-                matchingOutcomes.add(outcome);
-            }
+    private BitSet matchingOutcomes(TestTag tag) {
+        BitSet matchingOutcomes = index().withTag(tag, selection());
+        if (isAnIssue(tag)) {
+            matchingOutcomes.or(index().withIssue(tag.getName(), selection()));
         }
         return matchingOutcomes;
     }
@@ -395,15 +441,11 @@ public class TestOutcomes {
      * @return A new set of test outcomes containing only the failing tests
      */
     public TestOutcomes getFailingTests() {
-        return TestOutcomes.of(filter(withResult(TestResult.FAILURE), outcomes))
-                .withLabel(labelForTestsWithStatus("failing tests"))
-                .withRootOutcomes(getRootOutcomes());
+        return filteredBy(index().withResult(selection(), FAILURE), labelForTestsWithStatus("failing tests"));
     }
 
     public TestOutcomes getErrorTests() {
-        return TestOutcomes.of(filter(withResult(TestResult.ERROR), outcomes))
-                .withLabel(labelForTestsWithStatus("failing tests"))
-                .withRootOutcomes(getRootOutcomes());
+        return filteredBy(index().withResult(selection(), ERROR), labelForTestsWithStatus("failing tests"));
     }
 
     private String labelForTestsWithStatus(String status) {
@@ -420,9 +462,7 @@ public class TestOutcomes {
      * @return A new set of test outcomes containing only the successful tests
      */
     public TestOutcomes getPassingTests() {
-        return TestOutcomes.of(filter(withResult(TestResult.SUCCESS), outcomes))
-                .withLabel(labelForTestsWithStatus("passing tests"))
-                .withRootOutcomes(getRootOutcomes());
+        return filteredBy(index().withResult(selection(), SUCCESS), labelForTestsWithStatus("passing tests"));
     }
 
     /**
@@ -431,24 +471,7 @@ public class TestOutcomes {
      * @return A new set of test outcomes containing only the pending or ignored tests
      */
     public TestOutcomes getPendingTests() {
-
-        List<TestOutcome> pendingOrSkippedOutcomes = outcomesWithResults(outcomes, PENDING, SKIPPED);
-        return TestOutcomes.of(pendingOrSkippedOutcomes)
-                .withLabel(labelForTestsWithStatus("pending tests"))
-                .withRootOutcomes(getRootOutcomes());
-
-    }
-
-    private List<TestOutcome> outcomesWithResults(List<? extends TestOutcome> outcomes,
-                                                  TestResult... possibleResults) {
-        List<TestOutcome> validOutcomes = Lists.newArrayList();
-        List<TestResult> possibleResultsList = Arrays.asList(possibleResults);
-        for (TestOutcome outcome : outcomes) {
-            if (possibleResultsList.contains(outcome.getResult())) {
-                validOutcomes.add(outcome);
-            }
-        }
-        return validOutcomes;
+        return filteredBy(index().withResult(selection(), PENDING, SKIPPED), labelForTestsWithStatus("pending tests"));
     }
 
     /**
@@ -462,11 +485,7 @@ public class TestOutcomes {
      * @return The total duration of all of the tests in this set in milliseconds.
      */
     public Long getDuration() {
-        Long total = 0L;
-        for (TestOutcome outcome : outcomes) {
-            total += outcome.getDuration();
-        }
-        return total;
+        return getStatistics().getDuration();
     }
 
     /**
@@ -480,7 +499,7 @@ public class TestOutcomes {
      * @return The total number of test runs in this set (including rows in data-driven tests).
      */
     public int getTotal() {
-        return sum(outcomes, on(TestOutcome.class).getTestCount());
+        return getStatistics().getTestCount();
     }
 
     /**
@@ -498,34 +517,24 @@ public class TestOutcomes {
      * @return The overall result for the tests in this test outcome set.
      */
     public TestResult getResult() {
-        TestResultList testResults = TestResultList.of(getCurrentTestResults());
-        return testResults.getOverallResult();
-    }
-
-    private List<TestResult> getCurrentTestResults() {
-        return convert(outcomes, toTestResults());
-    }
-
-    private Converter<? extends TestOutcome, TestResult> toTestResults() {
-        return new Converter<TestOutcome, TestResult>() {
-            public TestResult convert(final TestOutcome step) {
-                return step.getResult();
-            }
-        };
+        if (result == null) {
+            result = TestOutcomeStatistics.overallResultOf(outcomes);
+        }
+        return result;
     }
 
     /**
      * @return The total number of nested steps in these test outcomes.
      */
     public int getStepCount() {
-        return sum(extract(outcomes, on(TestOutcome.class).getNestedStepCount())).intValue();
+        return getStatistics().getStepCount();
     }
 
     /**
      * @param testType 'manual' or 'automated' (this is a string because it is mainly called from the freemarker templates
      */
     public int successCount(String testType) {
-        return sum(outcomes, on(TestOutcome.class).countResults(SUCCESS, TestType.valueOf(testType.toUpperCase())));
+        return countTestsWithResult(SUCCESS, TestType.valueOf(testType.toUpperCase()));
     }
 
 
@@ -644,7 +653,7 @@ public class TestOutcomes {
     }
 
     private int countStepsWithResult(TestResult expectedResult, TestType testType) {
-        int stepCount = sum(outcomes, on(TestOutcome.class).countNestedStepsWithResult(expectedResult, testType));
+        int stepCount = getStatistics().countStepsWithResult(expectedResult, testType);
         if ((stepCount == 0) && aMatchingTestExists(expectedResult, testType)) {
             return (int) Math.round(getAverageTestSize());
         }
@@ -656,7 +665,7 @@ public class TestOutcomes {
     }
 
     protected int countTestsWithResult(TestResult expectedResult, TestType testType) {
-        return sum(outcomes, on(TestOutcome.class).countResults(expectedResult, testType));
+        return getStatistics().countTestsWithResult(expectedResult, testType);
     }
 
     private Integer getEstimatedTotalStepCount() {
@@ -697,20 +706,19 @@ public class TestOutcomes {
     }
 
     public int getTestCount() {
-        return sum(outcomes, on(TestOutcome.class).getTestCount());
+        return getStatistics().getTestCount();
     }
 
     private int totalImplementedTests() {
-        return sum(outcomes, on(TestOutcome.class).getImplementedTestCount());
+        return getStatistics().getImplementedTestCount();
     }
 
     public boolean hasDataDrivenTests() {
-        return !filter(having(on(TestOutcome.class).isDataDriven(), is(true)), outcomes).isEmpty();
+        return getStatistics().hasDataDrivenTests();
     }
 
     public int getTotalDataRows() {
-        List<? extends TestOutcome> datadrivenTestOutcomes = filter(having(on(TestOutcome.class).isDataDriven(), is(true)), outcomes);
-        return sum(datadrivenTestOutcomes, on(TestOutcome.class).getDataTable().getSize());
+        return getStatistics().getTotalDataRows();
     }
 
     public TestOutcomeMatcher findMatchingTags() {
@@ -0,0 +1,9 @@
+package net.thucydides.core.reports;
+
+/**
+ * Marks an AcceptanceTestReporter that can generate reports for several test outcomes at the same time.
+ * The report service writes the reports of such a reporter in parallel; other reporters get their test
+ * outcomes one at a time, in order.
+ */
+public interface ThreadSafeReporter {
+}
@@ -0,0 +1,60 @@
+package net.thucydides.core.reports.binary;
+
+import com.google.common.base.Preconditions;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.AcceptanceTestLoader;
+import net.thucydides.core.reports.AcceptanceTestReporter;
+import net.thucydides.core.reports.ThreadSafeReporter;
+import net.thucydides.core.reports.json.gson.GsonJSONConverter;
+import net.thucydides.core.util.EnvironmentVariables;
+
+import java.io.File;
+
+/**
+ * The configuration shared by the reporters that store test outcomes as binary records.
+ */
+public abstract class AbstractBinaryOutcomeReporter implements AcceptanceTestReporter, AcceptanceTestLoader, ThreadSafeReporter {
+
+    private File outputDirectory;
+
+    private transient String qualifier;
+
+    protected final GsonJSONConverter jsonConverter;
+
+    private final EnvironmentVariables environmentVariables;
+
+    protected AbstractBinaryOutcomeReporter(EnvironmentVariables environmentVariables) {
+        this.environmentVariables = environmentVariables;
+        this.jsonConverter = Injectors.getInjector().getInstance(GsonJSONConverter.class);
+    }
+
+    /**
+     * The test outcome as it should be stored, with the qualifier of this reporter.
+     */
+    protected TestOutcome storedVersionOf(TestOutcome testOutcome) {
+        Preconditions.checkNotNull(outputDirectory);
+        return testOutcome.withQualifier(qualifier);
+    }
+
+    protected boolean compressOutcomes() {
+        return ThucydidesSystemProperty.BINARY_OUTCOME_COMPRESSION.booleanFrom(environmentVariables, false);
+    }
+
+    public File getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(final File outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    @Override
+    public void setQualifier(final String qualifier) {
+        this.qualifier = qualifier;
+    }
+
+    public void setResourceDirectory(String resourceDirectoryPath) {
+    }
+}
@@ -0,0 +1,165 @@
+package net.thucydides.core.reports.binary;
+
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.json.gson.GsonJSONConverter;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.*;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The layout of a binary test outcome file.
+ * A binary test outcome holds the same document as a JSON test outcome, so the two formats can be converted into
+ * each other without losing anything, but each field name and other string is only stored once, and nothing has
+ * to be parsed from text when it is read.
+ *
+ * <pre>
+ *     header:  the magic number 'SBTO', the schema version (one byte), and flags (one byte, 1 = compressed records)
+ *     record:  the byte length of the record, then the test outcome document as a sequence of tagged tokens:
+ *                  NULL, TRUE, FALSE
+ *                  INTEGER                     a zig-zag encoded long
+ *                  DECIMAL                     an IEEE 754 double
+ *                  NUMBER                      any other number, as a string in decimal
+ *                  STRING, NAME                a string
+ *                  BEGIN_ARRAY, END_ARRAY
+ *                  BEGIN_OBJECT, END_OBJECT    the members of an object are each a NAME followed by a value
+ * </pre>
+ * Lengths and string references are unsigned variable-length integers. The strings of a record form a string table:
+ * a string is written out in full (0, then its UTF-8 byte length and bytes) the first time it appears in a record,
+ * and as its position in the table (1 for the first string) after that. A compressed record is deflated.
+ */
+final class BinaryOutcomeFormat {
+
+    static final int MAGIC_NUMBER = 0x5342544F;
+    static final int SCHEMA_VERSION = 1;
+
+    static final int COMPRESSED = 1;
+
+    static final int NULL = 0;
+    static final int TRUE = 1;
+    static final int FALSE = 2;
+    static final int INTEGER = 3;
+    static final int DECIMAL = 4;
+    static final int NUMBER = 5;
+    static final int STRING = 6;
+    static final int NAME = 7;
+    static final int BEGIN_ARRAY = 8;
+    static final int END_ARRAY = 9;
+    static final int BEGIN_OBJECT = 10;
+    static final int END_OBJECT = 11;
+
+    static final int NEW_STRING = 0;
+
+    private BinaryOutcomeFormat() {
+    }
+
+    /**
+     * Writes a test outcome file holding a single test outcome.
+     */
+    static void write(TestOutcome testOutcome, GsonJSONConverter jsonConverter, OutputStream outputStream,
+                      boolean compressed) throws IOException {
+        byte[] storedRecord = storedRecordFor(testOutcome, jsonConverter, compressed);
+        DataOutputStream out = new DataOutputStream(outputStream);
+        writeHeader(out, compressed);
+        writeUnsigned(out, storedRecord.length);
+        out.write(storedRecord);
+        out.flush();
+    }
+
+    /**
+     * Reads the test outcome in a test outcome file.
+     * @return the test outcome, or null if the record is not a valid test outcome.
+     */
+    static TestOutcome read(GsonJSONConverter jsonConverter, InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        boolean compressed = readHeader(in);
+        byte[] storedRecord = new byte[readUnsigned(in)];
+        in.readFully(storedRecord);
+        return outcomeFromStoredRecord(storedRecord, jsonConverter, compressed);
+    }
+
+    /**
+     * The record of a test outcome, as it is stored (deflated if compressed).
+     */
+    static byte[] storedRecordFor(TestOutcome testOutcome, GsonJSONConverter jsonConverter, boolean compressed)
+            throws IOException {
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        jsonConverter.toJson(testOutcome, new BinaryOutcomeWriter(new DataOutputStream(record)));
+        return compressed ? deflated(record.toByteArray()) : record.toByteArray();
+    }
+
+    static TestOutcome outcomeFromStoredRecord(byte[] storedRecord, GsonJSONConverter jsonConverter, boolean compressed)
+            throws IOException {
+        byte[] record = compressed ? inflated(storedRecord) : storedRecord;
+        return jsonConverter.fromJson(new BinaryOutcomeReader(new DataInputStream(new ByteArrayInputStream(record))));
+    }
+
+    static void writeHeader(DataOutputStream out, boolean compressed) throws IOException {
+        out.writeInt(MAGIC_NUMBER);
+        out.writeByte(SCHEMA_VERSION);
+        out.writeByte(compressed ? COMPRESSED : 0);
+    }
+
+    /**
+     * Reads and checks the header of a binary test outcome file.
+     * @return true if the records in the file are compressed.
+     */
+    static boolean readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC_NUMBER) {
+            throw new IOException("Not a binary test outcome");
+        }
+        int schemaVersion = in.readUnsignedByte();
+        if (schemaVersion > SCHEMA_VERSION) {
+            throw new IOException("Unsupported binary test outcome schema version: " + schemaVersion);
+        }
+        return (in.readUnsignedByte() & COMPRESSED) != 0;
+    }
+
+    private static byte[] deflated(byte[] record) throws IOException {
+        ByteArrayOutputStream deflatedRecord = new ByteArrayOutputStream(record.length / 2);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(deflatedRecord, deflater)) {
+            out.write(record);
+        } finally {
+            deflater.end();
+        }
+        return deflatedRecord.toByteArray();
+    }
+
+    private static byte[] inflated(byte[] storedRecord) throws IOException {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(storedRecord))) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+
+    static void writeUnsigned(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readUnsignedLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int nextByte = in.readUnsignedByte();
+            value |= (long) (nextByte & 0x7F) << shift;
+            if ((nextByte & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Invalid variable-length integer in binary test outcome");
+    }
+
+    static int readUnsigned(DataInput in) throws IOException {
+        long value = readUnsignedLong(in);
+        if (value > Integer.MAX_VALUE) {
+            throw new IOException("Invalid length in binary test outcome: " + value);
+        }
+        return (int) value;
+    }
+}
@@ -0,0 +1,263 @@
+package net.thucydides.core.reports.binary;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.thucydides.core.reports.binary.BinaryOutcomeFormat.*;
+
+/**
+ * Reads binary test outcome tokens (see BinaryOutcomeFormat) as a JSON document, so that the JSON type adapters
+ * of the test outcomes can read binary test outcomes as well.
+ * Maps cannot be read this way, as gson reads their keys through the internals of the JSON text reader,
+ * but nothing in a test outcome is stored as a map.
+ */
+class BinaryOutcomeReader extends JsonReader {
+
+    private static final int NO_TOKEN = -1;
+    private static final int END_OF_RECORD = -2;
+
+    private final DataInputStream in;
+    private final List<String> stringTable = new ArrayList<>();
+    private int nextToken = NO_TOKEN;
+
+    BinaryOutcomeReader(DataInputStream in) {
+        super(NO_TEXT_INPUT);
+        this.in = in;
+    }
+
+    @Override
+    public JsonToken peek() throws IOException {
+        switch (nextToken()) {
+            case NULL: return JsonToken.NULL;
+            case TRUE:
+            case FALSE: return JsonToken.BOOLEAN;
+            case INTEGER:
+            case DECIMAL:
+            case NUMBER: return JsonToken.NUMBER;
+            case STRING: return JsonToken.STRING;
+            case NAME: return JsonToken.NAME;
+            case BEGIN_ARRAY: return JsonToken.BEGIN_ARRAY;
+            case END_ARRAY: return JsonToken.END_ARRAY;
+            case BEGIN_OBJECT: return JsonToken.BEGIN_OBJECT;
+            case END_OBJECT: return JsonToken.END_OBJECT;
+            case END_OF_RECORD: return JsonToken.END_DOCUMENT;
+            default: throw new IOException("Unknown token in binary test outcome: " + nextToken);
+        }
+    }
+
+    private int nextToken() throws IOException {
+        if (nextToken == NO_TOKEN) {
+            int token = in.read();
+            nextToken = (token < 0) ? END_OF_RECORD : token;
+        }
+        return nextToken;
+    }
+
+    private void expect(int expectedToken, JsonToken expectedJsonToken) throws IOException {
+        if (nextToken() != expectedToken) {
+            throw new IllegalStateException("Expected " + expectedJsonToken + " but was " + peek());
+        }
+        nextToken = NO_TOKEN;
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        expect(BEGIN_ARRAY, JsonToken.BEGIN_ARRAY);
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        expect(END_ARRAY, JsonToken.END_ARRAY);
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        expect(BEGIN_OBJECT, JsonToken.BEGIN_OBJECT);
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        expect(END_OBJECT, JsonToken.END_OBJECT);
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        int token = nextToken();
+        return token != END_OBJECT && token != END_ARRAY && token != END_OF_RECORD;
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        expect(NAME, JsonToken.NAME);
+        return readString();
+    }
+
+    @Override
+    public String nextString() throws IOException {
+        int token = nextToken();
+        switch (token) {
+            case STRING:
+            case NUMBER:
+                nextToken = NO_TOKEN;
+                return readString();
+            case INTEGER:
+                return Long.toString(nextLong());
+            case DECIMAL:
+                return Double.toString(nextDouble());
+            default:
+                throw new IllegalStateException("Expected a string but was " + peek());
+        }
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+        int token = nextToken();
+        if (token != TRUE && token != FALSE) {
+            throw new IllegalStateException("Expected a boolean but was " + peek());
+        }
+        nextToken = NO_TOKEN;
+        return token == TRUE;
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+        expect(NULL, JsonToken.NULL);
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+        switch (nextToken()) {
+            case INTEGER:
+                return nextLong();
+            case DECIMAL:
+                nextToken = NO_TOKEN;
+                return in.readDouble();
+            case NUMBER:
+            case STRING:
+                return Double.parseDouble(nextString());
+            default:
+                throw new IllegalStateException("Expected a double but was " + peek());
+        }
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+        switch (nextToken()) {
+            case INTEGER:
+                nextToken = NO_TOKEN;
+                long zigZagValue = readUnsignedLong(in);
+                return (zigZagValue >>> 1) ^ -(zigZagValue & 1);
+            case DECIMAL:
+            case NUMBER:
+            case STRING:
+                return exactLong(nextString());
+            default:
+                throw new IllegalStateException("Expected a long but was " + peek());
+        }
+    }
+
+    private long exactLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException notALong) {
+            double doubleValue = Double.parseDouble(value);
+            long longValue = (long) doubleValue;
+            if (longValue != doubleValue) {
+                throw new NumberFormatException("Expected a long but was " + value);
+            }
+            return longValue;
+        }
+    }
+
+    @Override
+    public int nextInt() throws IOException {
+        long value = nextLong();
+        if (value != (int) value) {
+            throw new NumberFormatException("Expected an int but was " + value);
+        }
+        return (int) value;
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            int token = nextToken();
+            nextToken = NO_TOKEN;
+            switch (token) {
+                case BEGIN_ARRAY:
+                case BEGIN_OBJECT:
+                    depth++;
+                    break;
+                case END_ARRAY:
+                case END_OBJECT:
+                    depth--;
+                    break;
+                case INTEGER:
+                    readUnsignedLong(in);
+                    break;
+                case DECIMAL:
+                    in.readDouble();
+                    break;
+                case NUMBER:
+                case STRING:
+                case NAME:
+                    readString();
+                    break;
+                case END_OF_RECORD:
+                    throw new EOFException("End of binary test outcome while skipping a value");
+                default:
+                    break;
+            }
+        } while (depth > 0);
+    }
+
+    private String readString() throws IOException {
+        int reference = readUnsigned(in);
+        if (reference != NEW_STRING) {
+            return stringTable.get(reference - 1);
+        }
+        byte[] bytes = new byte[readUnsigned(in)];
+        in.readFully(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        stringTable.add(value);
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    @Override
+    public String getPath() {
+        return "binary test outcome";
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Everything is read from the binary stream, never as JSON text.
+     */
+    private static final Reader NO_TEXT_INPUT = new Reader() {
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            throw new UnsupportedOperationException("Binary test outcomes are not read as text");
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+}
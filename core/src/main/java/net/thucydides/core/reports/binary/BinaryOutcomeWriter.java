@@ -0,0 +1,164 @@
+package net.thucydides.core.reports.binary;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static net.thucydides.core.reports.binary.BinaryOutcomeFormat.*;
+
+/**
+ * Writes a JSON document as binary test outcome tokens (see BinaryOutcomeFormat), so that the JSON type adapters
+ * of the test outcomes can write binary test outcomes as well.
+ * Like the JSON writer, it leaves out the names of null members unless nulls are serialized.
+ */
+class BinaryOutcomeWriter extends JsonWriter {
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> stringTable = new HashMap<>();
+    private String deferredName;
+
+    BinaryOutcomeWriter(DataOutputStream out) {
+        super(NO_TEXT_OUTPUT);
+        this.out = out;
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+        return writeToken(BEGIN_ARRAY);
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+        return writeToken(END_ARRAY);
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+        return writeToken(BEGIN_OBJECT);
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException {
+        deferredName = null;
+        out.writeByte(END_OBJECT);
+        return this;
+    }
+
+    @Override
+    public JsonWriter name(String name) throws IOException {
+        if (name == null) {
+            throw new NullPointerException("name == null");
+        }
+        deferredName = name;
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        writeToken(STRING);
+        writeString(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException {
+        if (deferredName != null && !getSerializeNulls()) {
+            deferredName = null;
+            return this;
+        }
+        return writeToken(NULL);
+    }
+
+    @Override
+    public JsonWriter value(boolean value) throws IOException {
+        return writeToken(value ? TRUE : FALSE);
+    }
+
+    @Override
+    public JsonWriter value(double value) throws IOException {
+        writeToken(DECIMAL);
+        out.writeDouble(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(long value) throws IOException {
+        writeToken(INTEGER);
+        writeUnsigned(out, (value << 1) ^ (value >> 63));
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return value(value.longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            return value(value.doubleValue());
+        }
+        writeToken(NUMBER);
+        writeString(value.toString());
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private JsonWriter writeToken(int token) throws IOException {
+        if (deferredName != null) {
+            out.writeByte(NAME);
+            writeString(deferredName);
+            deferredName = null;
+        }
+        out.writeByte(token);
+        return this;
+    }
+
+    private void writeString(String value) throws IOException {
+        Integer reference = stringTable.get(value);
+        if (reference != null) {
+            writeUnsigned(out, reference);
+        } else {
+            stringTable.put(value, stringTable.size() + 1);
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeUnsigned(out, NEW_STRING);
+            writeUnsigned(out, bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Everything is written to the binary stream, never as JSON text.
+     */
+    private static final Writer NO_TEXT_OUTPUT = new Writer() {
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            throw new UnsupportedOperationException("Binary test outcomes are not written as text");
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+}
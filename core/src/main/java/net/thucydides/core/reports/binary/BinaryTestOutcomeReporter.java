@@ -0,0 +1,82 @@
+package net.thucydides.core.reports.binary;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.model.ReportType;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.OutcomeFormat;
+import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Stores test outcomes in the compact binary format, and loads them again for the aggregate reports.
+ * Use it by adding 'binary' to the output.formats property.
+ */
+public class BinaryTestOutcomeReporter extends AbstractBinaryOutcomeReporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryTestOutcomeReporter.class);
+
+    public BinaryTestOutcomeReporter() {
+        this(Injectors.getInjector().getProvider(EnvironmentVariables.class).get());
+    }
+
+    public BinaryTestOutcomeReporter(EnvironmentVariables environmentVariables) {
+        super(environmentVariables);
+    }
+
+    @Override
+    public String getName() {
+        return "binary";
+    }
+
+    @Override
+    public File generateReportFor(TestOutcome testOutcome,
+                                  TestOutcomes allTestOutcomes) throws IOException {
+        TestOutcome storedTestOutcome = storedVersionOf(testOutcome);
+        File report = new File(getOutputDirectory(), storedTestOutcome.getReportName(ReportType.BINARY));
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(report))) {
+            BinaryOutcomeFormat.write(storedTestOutcome, jsonConverter, outputStream, compressOutcomes());
+        }
+        return report;
+    }
+
+    public Optional<TestOutcome> loadReportFrom(final File reportFile) {
+        try (InputStream report = new BufferedInputStream(new FileInputStream(reportFile))) {
+            return Optional.fromNullable(BinaryOutcomeFormat.read(jsonConverter, report));
+        } catch (Throwable e) {
+            LOGGER.warn("this file was not a valid binary Serenity test report: " + reportFile.getName()
+                        + System.lineSeparator(), e);
+            return Optional.absent();
+        }
+    }
+
+    @Override
+    public List<TestOutcome> loadReportsFrom(File outputDirectory) {
+        File[] reportFiles = outputDirectory.listFiles(new BinaryOutcomeFilenameFilter());
+        List<TestOutcome> testOutcomes = Lists.newArrayList();
+        if (reportFiles != null) {
+            for (File reportFile : reportFiles) {
+                testOutcomes.addAll(loadReportFrom(reportFile).asSet());
+            }
+        }
+        return testOutcomes;
+    }
+
+    private static final class BinaryOutcomeFilenameFilter implements FilenameFilter {
+        public boolean accept(final File file, final String filename) {
+            return filename.toLowerCase(Locale.getDefault()).endsWith(OutcomeFormat.BINARY.getExtension());
+        }
+    }
+
+    @Override
+    public Optional<OutcomeFormat> getFormat() {
+        return Optional.of(OutcomeFormat.BINARY);
+    }
+}
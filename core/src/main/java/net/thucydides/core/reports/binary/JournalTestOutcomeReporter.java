@@ -0,0 +1,91 @@
+package net.thucydides.core.reports.binary;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.OutcomeFormat;
+import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Appends test outcomes to a journal in the output directory, instead of writing a file for each test.
+ * Each JVM appends to its own journal segment; the segments are merged when the aggregate reports are built.
+ * Use it by adding 'journal' to the output.formats property.
+ */
+public class JournalTestOutcomeReporter extends AbstractBinaryOutcomeReporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalTestOutcomeReporter.class);
+
+    public JournalTestOutcomeReporter() {
+        this(Injectors.getInjector().getProvider(EnvironmentVariables.class).get());
+    }
+
+    public JournalTestOutcomeReporter(EnvironmentVariables environmentVariables) {
+        super(environmentVariables);
+    }
+
+    @Override
+    public String getName() {
+        return "journal";
+    }
+
+    /**
+     * Appends the test outcome to the journal segment of this JVM.
+     * @return the journal segment
+     */
+    @Override
+    public File generateReportFor(TestOutcome testOutcome,
+                                  TestOutcomes allTestOutcomes) throws IOException {
+        TestOutcome storedTestOutcome = storedVersionOf(testOutcome);
+        boolean compressed = compressOutcomes();
+        byte[] storedRecord = BinaryOutcomeFormat.storedRecordFor(storedTestOutcome, jsonConverter, compressed);
+        OutcomeJournal journal = OutcomeJournal.in(getOutputDirectory());
+        journal.append(storedTestOutcome.getReportName(), storedRecord, compressed);
+        return journal.getSegmentFile();
+    }
+
+    /**
+     * A journal segment usually holds many test outcomes: this returns the first one.
+     */
+    public Optional<TestOutcome> loadReportFrom(final File reportFile) {
+        try {
+            OutcomeJournalSegment segment = OutcomeJournalSegment.open(reportFile);
+            return (segment.size() > 0) ? segment.loadOutcome(0) : Optional.<TestOutcome>absent();
+        } catch (IOException e) {
+            LOGGER.warn("Could not read the test outcome journal " + reportFile.getName(), e);
+            return Optional.absent();
+        }
+    }
+
+    /**
+     * Merges the journal segments in the directory, and loads every test outcome in the merged journal.
+     */
+    @Override
+    public List<TestOutcome> loadReportsFrom(File outputDirectory) {
+        List<TestOutcome> testOutcomes = Lists.newArrayList();
+        try {
+            Optional<File> journal = OutcomeJournalSegment.compactSegmentsIn(outputDirectory);
+            if (journal.isPresent()) {
+                OutcomeJournalSegment segment = OutcomeJournalSegment.open(journal.get());
+                for (int i = 0; i < segment.size(); i++) {
+                    testOutcomes.addAll(segment.loadOutcome(i).asSet());
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not read the test outcome journal in " + outputDirectory, e);
+        }
+        return testOutcomes;
+    }
+
+    @Override
+    public Optional<OutcomeFormat> getFormat() {
+        return Optional.of(OutcomeFormat.JOURNAL);
+    }
+}
@@ -0,0 +1,166 @@
+package net.thucydides.core.reports.binary;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * An append-only journal segment, holding the binary test outcome records written by one JVM.
+ * Each JVM (for example each Surefire fork) appends to its own segment, so no locking is needed between processes,
+ * and the segments are merged by OutcomeJournalSegment.compactSegmentsIn() before the aggregate reports are built.
+ *
+ * <pre>
+ *     segment header:  the magic number 'SBTJ' and the journal version (one byte)
+ *     frame:           the frame marker 'SBFM', the CRC32 checksum of the rest of the frame,
+ *                      flags (one byte, 1 = compressed record), the byte lengths of the key and of the record,
+ *                      the key (the report name of the test outcome, in UTF-8), and the binary test outcome record
+ * </pre>
+ * A frame is only written once it is complete, but a crash can still leave a torn frame at the end of a segment:
+ * readers stop at the first frame whose length or checksum does not match.
+ */
+final class OutcomeJournal implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutcomeJournal.class);
+
+    static final int MAGIC_NUMBER = 0x5342544A;
+    static final int JOURNAL_VERSION = 1;
+    static final int SEGMENT_HEADER_SIZE = 5;
+
+    static final int FRAME_MARKER = 0x5342464D;
+    static final int FRAME_HEADER_SIZE = 17;
+    static final int CHECKSUMMED_FRAME_HEADER_SIZE = 9;
+
+    static final String SEGMENT_PREFIX = "outcomes-";
+    static final String COMPACTED_JOURNAL = "outcomes.journal";
+
+    private static final ConcurrentMap<File, OutcomeJournal> OPEN_JOURNALS = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread("outcome-journal-shutdown") {
+            @Override
+            public void run() {
+                closeAllJournals();
+            }
+        });
+    }
+
+    private final File segmentFile;
+    private final FileChannel channel;
+
+    private OutcomeJournal(File segmentFile, FileChannel channel) {
+        this.segmentFile = segmentFile;
+        this.channel = channel;
+    }
+
+    /**
+     * The journal this JVM appends to in a given output directory. A new segment is started the first time.
+     */
+    static OutcomeJournal in(File outputDirectory) throws IOException {
+        File directory = outputDirectory.getAbsoluteFile();
+        OutcomeJournal journal = OPEN_JOURNALS.get(directory);
+        if (journal == null) {
+            synchronized (OPEN_JOURNALS) {
+                journal = OPEN_JOURNALS.get(directory);
+                if (journal == null) {
+                    journal = startSegmentIn(directory);
+                    OPEN_JOURNALS.put(directory, journal);
+                }
+            }
+        }
+        return journal;
+    }
+
+    private static OutcomeJournal startSegmentIn(File directory) throws IOException {
+        directory.mkdirs();
+        File segmentFile = new File(directory, SEGMENT_PREFIX + UUID.randomUUID() + ".journal");
+        FileChannel channel = FileChannel.open(segmentFile.toPath(), CREATE_NEW, WRITE);
+        writeSegmentHeader(channel);
+        return new OutcomeJournal(segmentFile, channel);
+    }
+
+    static void writeSegmentHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+        header.putInt(MAGIC_NUMBER).put((byte) JOURNAL_VERSION).flip();
+        writeFully(channel, header);
+    }
+
+    /**
+     * Closes the journal this JVM appends to in a given output directory, if there is one,
+     * so that its segment can be compacted. Later outcomes go to a new segment.
+     */
+    static void closeJournalIn(File outputDirectory) {
+        OutcomeJournal journal = OPEN_JOURNALS.remove(outputDirectory.getAbsoluteFile());
+        if (journal != null) {
+            closeQuietly(journal);
+        }
+    }
+
+    private static void closeAllJournals() {
+        for (File directory : OPEN_JOURNALS.keySet()) {
+            closeJournalIn(directory);
+        }
+    }
+
+    File getSegmentFile() {
+        return segmentFile;
+    }
+
+    /**
+     * Appends a binary test outcome record, stored under a given key.
+     */
+    synchronized void append(String key, byte[] storedRecord, boolean compressed) throws IOException {
+        writeFully(channel, frameFor(key.getBytes(StandardCharsets.UTF_8), storedRecord, compressed));
+    }
+
+    static ByteBuffer frameFor(byte[] key, byte[] storedRecord, boolean compressed) {
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + key.length + storedRecord.length);
+        frame.putInt(FRAME_MARKER)
+             .putInt(0)
+             .put((byte) (compressed ? BinaryOutcomeFormat.COMPRESSED : 0))
+             .putInt(key.length)
+             .putInt(storedRecord.length)
+             .put(key)
+             .put(storedRecord);
+        frame.putInt(4, checksumOf(frame.array(), 8, frame.capacity() - 8));
+        frame.flip();
+        return frame;
+    }
+
+    static int checksumOf(byte[] bytes, int offset, int length) {
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes, offset, length);
+        return (int) checksum.getValue();
+    }
+
+    static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private static void closeQuietly(OutcomeJournal journal) {
+        try {
+            journal.close();
+        } catch (IOException e) {
+            LOGGER.warn("Could not close the test outcome journal " + journal.getSegmentFile(), e);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package net.thucydides.core.reports.binary;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.OutcomeFormat;
+import net.thucydides.core.reports.json.gson.GsonJSONConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+import static java.nio.file.StandardOpenOption.*;
+import static net.thucydides.core.reports.binary.OutcomeJournal.*;
+
+/**
+ * A test outcome journal segment, opened for reading.
+ * The frames are indexed when the segment is opened; the test outcomes themselves are only read and decoded when
+ * loaded. The file is not kept open between reads, so that the segment can be replaced or deleted once compacted.
+ */
+public final class OutcomeJournalSegment {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutcomeJournalSegment.class);
+
+    private final File file;
+    private final List<Frame> frames;
+    private final GsonJSONConverter jsonConverter;
+
+    private OutcomeJournalSegment(File file, List<Frame> frames) {
+        this.file = file;
+        this.frames = frames;
+        this.jsonConverter = Injectors.getInjector().getInstance(GsonJSONConverter.class);
+    }
+
+    /**
+     * Opens a journal segment, reading the headers of its frames.
+     */
+    public static OutcomeJournalSegment open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+            return new OutcomeJournalSegment(file, framesIn(file, channel));
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * The number of complete test outcome records in the segment.
+     */
+    public int size() {
+        return frames.size();
+    }
+
+    /**
+     * The report name of the test outcome stored in a given record of the segment.
+     */
+    public String reportNameOf(int index) {
+        return frames.get(index).key;
+    }
+
+    /**
+     * The binary test outcome record stored in a given record of the segment, as written by BinaryOutcomeFormat.
+     */
+    public byte[] storedRecordAt(int index) throws IOException {
+        Frame frame = frames.get(index);
+        try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+            return readFully(channel, frame.recordStart, frame.recordLength).array();
+        }
+    }
+
+    /**
+     * Decodes the test outcome stored in a given record of the segment.
+     * This can be called from several threads at once.
+     */
+    public Optional<TestOutcome> loadOutcome(int index) {
+        try {
+            return Optional.fromNullable(BinaryOutcomeFormat.outcomeFromStoredRecord(storedRecordAt(index), jsonConverter,
+                                                                                     frames.get(index).compressed));
+        } catch (Throwable e) {
+            LOGGER.warn("Record " + index + " of the test outcome journal " + file.getName()
+                        + " was not a valid test outcome", e);
+            return Optional.absent();
+        }
+    }
+
+    private void copyFrameTo(int index, FileChannel source, FileChannel target) throws IOException {
+        Frame frame = frames.get(index);
+        long position = frame.start;
+        while (position < frame.end) {
+            position += source.transferTo(position, frame.end - position, target);
+        }
+    }
+
+    /**
+     * Merges the journal segments in a directory into a single segment, keeping only the latest record for each
+     * test outcome. The merged segment is written next to the others and renamed into place, and the segments it
+     * replaces are then deleted. This should only be run once the tests writing to the journal have finished.
+     *
+     * @return the merged segment, if the directory holds any journal segments
+     */
+    public static Optional<File> compactSegmentsIn(File directory) throws IOException {
+        OutcomeJournal.closeJournalIn(directory);
+        File[] segmentFiles = directory.listFiles(new JournalFilenameFilter());
+        if (segmentFiles == null) {
+            throw new IOException("Could not find directory " + directory);
+        }
+        File compactedJournal = new File(directory, COMPACTED_JOURNAL);
+        if (segmentFiles.length == 0) {
+            return Optional.absent();
+        }
+        if (segmentFiles.length == 1 && segmentFiles[0].getName().equals(COMPACTED_JOURNAL)) {
+            return Optional.of(compactedJournal);
+        }
+        Arrays.sort(segmentFiles, byLastModified());
+
+        List<OutcomeJournalSegment> segments = Lists.newArrayList();
+        Map<String, OutcomeJournalSegment> latestSegmentFor = Maps.newHashMap();
+        Map<String, Integer> latestRecordFor = Maps.newHashMap();
+        for (File segmentFile : segmentFiles) {
+            OutcomeJournalSegment segment = open(segmentFile);
+            segments.add(segment);
+            for (int i = 0; i < segment.size(); i++) {
+                latestSegmentFor.put(segment.reportNameOf(i), segment);
+                latestRecordFor.put(segment.reportNameOf(i), i);
+            }
+        }
+
+        File mergedSegment = new File(directory, COMPACTED_JOURNAL + ".tmp");
+        try (FileChannel channel = FileChannel.open(mergedSegment.toPath(), CREATE, TRUNCATE_EXISTING, WRITE)) {
+            writeSegmentHeader(channel);
+            for (OutcomeJournalSegment segment : segments) {
+                try (FileChannel source = FileChannel.open(segment.getFile().toPath(), READ)) {
+                    for (int i = 0; i < segment.size(); i++) {
+                        String reportName = segment.reportNameOf(i);
+                        if (latestSegmentFor.get(reportName) == segment && latestRecordFor.get(reportName) == i) {
+                            segment.copyFrameTo(i, source, channel);
+                        }
+                    }
+                }
+            }
+            channel.force(true);
+        }
+        replace(compactedJournal, mergedSegment);
+        for (File segmentFile : segmentFiles) {
+            if (!segmentFile.getName().equals(COMPACTED_JOURNAL) && !segmentFile.delete()) {
+                LOGGER.warn("Could not delete the compacted test outcome journal segment " + segmentFile);
+                segmentFile.deleteOnExit();
+            }
+        }
+        LOGGER.debug("Compacted {} test outcome journal segments into {} records", segmentFiles.length,
+                     latestSegmentFor.size());
+        return Optional.of(compactedJournal);
+    }
+
+    private static void replace(File target, File source) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(),
+                       StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static Comparator<File> byLastModified() {
+        return new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                return Long.compare(a.lastModified(), b.lastModified());
+            }
+        };
+    }
+
+    private static List<Frame> framesIn(File file, FileChannel channel) throws IOException {
+        List<Frame> frames = new ArrayList<>();
+        long size = channel.size();
+        if (size < SEGMENT_HEADER_SIZE
+            || readFully(channel, 0, SEGMENT_HEADER_SIZE).getInt() != MAGIC_NUMBER) {
+            LOGGER.warn("This file was not a Serenity test outcome journal: " + file.getName());
+            return frames;
+        }
+        int journalVersion = readFully(channel, 4, 1).get() & 0xFF;
+        if (journalVersion > JOURNAL_VERSION) {
+            LOGGER.warn("Unsupported test outcome journal version " + journalVersion + " in " + file.getName());
+            return frames;
+        }
+        long position = SEGMENT_HEADER_SIZE;
+        while (position < size) {
+            Optional<Frame> frame = frameAt(channel, position, size);
+            if (!frame.isPresent()) {
+                LOGGER.warn("Ignoring an incomplete or corrupted record at byte " + position
+                            + " of the test outcome journal " + file.getName());
+                break;
+            }
+            frames.add(frame.get());
+            position = frame.get().end;
+        }
+        return frames;
+    }
+
+    private static Optional<Frame> frameAt(FileChannel channel, long start, long size) throws IOException {
+        if (size - start < FRAME_HEADER_SIZE) {
+            return Optional.absent();
+        }
+        ByteBuffer header = readFully(channel, start, FRAME_HEADER_SIZE);
+        if (header.getInt(0) != FRAME_MARKER) {
+            return Optional.absent();
+        }
+        int checksum = header.getInt(4);
+        boolean compressed = (header.get(8) & BinaryOutcomeFormat.COMPRESSED) != 0;
+        int keyLength = header.getInt(9);
+        int recordLength = header.getInt(13);
+        long keyStart = start + FRAME_HEADER_SIZE;
+        if (keyLength < 0 || recordLength < 0 || (long) keyLength + recordLength > size - keyStart
+            || CHECKSUMMED_FRAME_HEADER_SIZE + (long) keyLength + recordLength > Integer.MAX_VALUE) {
+            return Optional.absent();
+        }
+        byte[] checksummedBytes = readFully(channel, start + 8,
+                                            CHECKSUMMED_FRAME_HEADER_SIZE + keyLength + recordLength).array();
+        if (checksumOf(checksummedBytes, 0, checksummedBytes.length) != checksum) {
+            return Optional.absent();
+        }
+        String key = new String(checksummedBytes, CHECKSUMMED_FRAME_HEADER_SIZE, keyLength, StandardCharsets.UTF_8);
+        return Optional.of(new Frame(key, start, keyStart + keyLength, recordLength, compressed));
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of the test outcome journal");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static final class Frame {
+        private final String key;
+        private final long start;
+        private final long recordStart;
+        private final int recordLength;
+        private final long end;
+        private final boolean compressed;
+
+        private Frame(String key, long start, long recordStart, int recordLength, boolean compressed) {
+            this.key = key;
+            this.start = start;
+            this.recordStart = recordStart;
+            this.recordLength = recordLength;
+            this.end = recordStart + recordLength;
+            this.compressed = compressed;
+        }
+    }
+
+    private static final class JournalFilenameFilter implements FilenameFilter {
+        public boolean accept(final File file, final String filename) {
+            return filename.endsWith(OutcomeFormat.JOURNAL.getExtension());
+        }
+    }
+}
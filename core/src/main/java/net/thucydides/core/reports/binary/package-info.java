@@ -0,0 +1,4 @@
+/**
+ * Binary test outcome storage.
+ */
+package net.thucydides.core.reports.binary;
@@ -0,0 +1,136 @@
+package net.thucydides.core.reports.csv;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.util.EnvironmentVariables;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the CSV reports of an aggregate report run, and writes them all at the end of the run.
+ * Each test outcome's row is formatted and encoded once, however many tag and result reports it appears in.
+ * With serenity.csv.single.file, a single results.csv file holds every row, and results-index.csv lists the rows
+ * of each report, instead of a file per report.
+ */
+public class CSVExport {
+
+    public static final String SINGLE_FILE = "results.csv";
+    public static final String INDEX_FILE = "results-index.csv";
+
+    private static final String[] INDEX_TITLE_LINE = {"Report", "Rows"};
+
+    private final File outputDirectory;
+    private final CSVRowFormat rowFormat;
+    private final boolean singleFile;
+    private final Map<String, List<? extends TestOutcome>> reports = Maps.newLinkedHashMap();
+
+    public CSVExport(File outputDirectory, EnvironmentVariables environmentVariables) {
+        this.outputDirectory = outputDirectory;
+        this.rowFormat = new CSVRowFormat(environmentVariables);
+        this.singleFile = ThucydidesSystemProperty.THUCYDIDES_CSV_SINGLE_FILE.booleanFrom(environmentVariables, false);
+    }
+
+    /**
+     * Adds a CSV report to the export.
+     * @return the name of the CSV file holding the rows of this report
+     */
+    public synchronized String add(TestOutcomes testOutcomes, String reportName) {
+        reports.put(reportName, testOutcomes.withHistory().getTests());
+        return singleFile ? SINGLE_FILE : reportName;
+    }
+
+    /**
+     * @return the number of CSV files the export will write
+     */
+    public synchronized int getFileCount() {
+        if (!singleFile) {
+            return reports.size();
+        }
+        return reports.isEmpty() ? 0 : 2;
+    }
+
+    /**
+     * Writes the CSV files of every report added so far.
+     */
+    public synchronized List<File> writeAll() throws IOException {
+        if (reports.isEmpty()) {
+            return ImmutableList.of();
+        }
+        return singleFile ? writeSingleFileAndIndex() : writeFilePerReport();
+    }
+
+    private List<File> writeFilePerReport() throws IOException {
+        List<File> files = Lists.newArrayList();
+        Map<TestOutcome, byte[]> encodedRows = new IdentityHashMap<>();
+        byte[] titleRow = rowFormat.encodedTitleRow();
+        for (Map.Entry<String, List<? extends TestOutcome>> report : reports.entrySet()) {
+            File csvFile = new File(outputDirectory, report.getKey());
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(csvFile))) {
+                out.write(titleRow);
+                for (TestOutcome outcome : report.getValue()) {
+                    out.write(encodedRowFor(outcome, encodedRows));
+                }
+            }
+            files.add(csvFile);
+        }
+        return files;
+    }
+
+    private byte[] encodedRowFor(TestOutcome outcome, Map<TestOutcome, byte[]> encodedRows) {
+        byte[] encodedRow = encodedRows.get(outcome);
+        if (encodedRow == null) {
+            encodedRow = rowFormat.encodedRowFor(outcome);
+            encodedRows.put(outcome, encodedRow);
+        }
+        return encodedRow;
+    }
+
+    /**
+     * The rows of results.csv are numbered from 1, in the order in which the test outcomes were first added.
+     */
+    private List<File> writeSingleFileAndIndex() throws IOException {
+        Map<TestOutcome, Integer> rowNumbers = new IdentityHashMap<>();
+        File csvFile = new File(outputDirectory, SINGLE_FILE);
+        File indexFile = new File(outputDirectory, INDEX_FILE);
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(csvFile))) {
+            out.write(rowFormat.encodedTitleRow());
+            for (List<? extends TestOutcome> outcomes : reports.values()) {
+                for (TestOutcome outcome : outcomes) {
+                    if (!rowNumbers.containsKey(outcome)) {
+                        rowNumbers.put(outcome, rowNumbers.size() + 1);
+                        out.write(rowFormat.encodedRowFor(outcome));
+                    }
+                }
+            }
+        }
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(indexFile))) {
+            out.write(rowFormat.encoded(INDEX_TITLE_LINE));
+            for (Map.Entry<String, List<? extends TestOutcome>> report : reports.entrySet()) {
+                if (!report.getKey().equals(SINGLE_FILE)) {
+                    out.write(rowFormat.encoded(new String[]{report.getKey(), rowsOf(report.getValue(), rowNumbers)}));
+                }
+            }
+        }
+        return ImmutableList.of(csvFile, indexFile);
+    }
+
+    private String rowsOf(List<? extends TestOutcome> outcomes, Map<TestOutcome, Integer> rowNumbers) {
+        List<Integer> rows = Lists.newArrayList();
+        for (TestOutcome outcome : outcomes) {
+            rows.add(rowNumbers.get(outcome));
+        }
+        return Joiner.on(" ").join(rows);
+    }
+}
@@ -0,0 +1,97 @@
+package net.thucydides.core.reports.csv;
+
+import au.com.bytecode.opencsv.CSVWriter;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.util.EnvironmentVariables;
+import net.thucydides.core.util.Inflector;
+
+import java.io.Serializable;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static ch.lambdaj.Lambda.extract;
+import static ch.lambdaj.Lambda.on;
+
+/**
+ * The columns of the CSV reports, and the encoded bytes of each CSV line.
+ * The extra columns and the encoding are read from the environment once, when the format is created.
+ */
+public class CSVRowFormat {
+    private static final String[] TITLE_LINE = {"Story", "Title", "Result", "Date", "Stability", "Duration (s)"};
+    private static final String[] OF_STRINGS = new String[]{};
+
+    private final List<String> extraColumns;
+    private final Charset encoding;
+
+    public CSVRowFormat(EnvironmentVariables environmentVariables) {
+        this.extraColumns = extraColumnsDefinedIn(environmentVariables);
+        this.encoding = Charset.forName(ThucydidesSystemProperty.THUCYDIDES_REPORT_ENCODING.from(environmentVariables,
+                                                                                              Charset.defaultCharset().name()));
+    }
+
+    private List<String> extraColumnsDefinedIn(EnvironmentVariables environmentVariables) {
+        String columns = ThucydidesSystemProperty.THUCYDIDES_CSV_EXTRA_COLUMNS.from(environmentVariables,"");
+        return ImmutableList.copyOf(Splitter.on(",").omitEmptyStrings().trimResults().split(columns));
+    }
+
+    public Charset getEncoding() {
+        return encoding;
+    }
+
+    public byte[] encodedTitleRow() {
+        Inflector inflector = Inflector.getInstance();
+        List<String> titles = new ArrayList<String>();
+        titles.addAll(Arrays.asList(TITLE_LINE));
+        for(String extraColumn : extraColumns) {
+            titles.add(inflector.of(extraColumn).asATitle().toString());
+        }
+        return encoded(titles.toArray(OF_STRINGS));
+    }
+
+    public byte[] encodedRowFor(TestOutcome outcome) {
+        return encoded(withRowDataFrom(outcome));
+    }
+
+    /**
+     * A CSV line holding the given cells, encoded in the report encoding.
+     */
+    public byte[] encoded(String[] cells) {
+        StringWriter line = new StringWriter();
+        CSVWriter writer = new CSVWriter(line);
+        writer.writeNext(cells);
+        return line.toString().getBytes(encoding);
+    }
+
+    private Double passRateFor(TestOutcome outcome) {
+        return 0.0;//outcome.getStatistics().getPassRate().overTheLast(5).testRuns();
+    }
+
+    private String[] withRowDataFrom(TestOutcome outcome) {
+        List<? extends Serializable> defaultValues = ImmutableList.of(outcome.getStoryTitle(),
+                                                                      outcome.getTitle(),
+                                                                      outcome.getResult(),
+                                                                      outcome.getStartTime(),
+                                                                      passRateFor(outcome),
+                                                                      outcome.getDurationInSeconds());
+        List<String> cellValues = extract(defaultValues, on(Object.class).toString());
+        cellValues.addAll(extraValuesFrom(outcome));
+        return cellValues.toArray(OF_STRINGS);
+    }
+
+    private Collection<String> extraValuesFrom(TestOutcome outcome) {
+        List<String> extraValues = Lists.newArrayList();
+
+        for(String extraColumn : extraColumns) {
+            extraValues.add(outcome.getTagValue(extraColumn).or(""));
+        }
+        return extraValues;
+    }
+}
@@ -0,0 +1,94 @@
+package net.thucydides.core.reports.html;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.gson.stream.JsonWriter;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestTag;
+import net.thucydides.core.reports.TestOutcomes;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of the tags carried by each test outcome, used by the cross-tag page to show the tests that share
+ * two tags without generating a page for every pair of tags.
+ * Each tag lists the positions of its outcomes in the outcome list, so the browser only has to intersect two lists.
+ * The JSON index is assigned to the crossTagIndex variable of a script, so that the page can load it from the
+ * file system as well as from a web server.
+ */
+public class CrossTagIndex {
+
+    public static final String INDEX_FILE = "cross-tags.js";
+
+    private final List<? extends TestOutcome> outcomes;
+    private final Map<TestTag, List<Integer>> outcomePositionsByTag;
+
+    private CrossTagIndex(List<? extends TestOutcome> outcomes) {
+        this.outcomes = outcomes;
+        this.outcomePositionsByTag = Maps.newLinkedHashMap();
+        for (int position = 0; position < outcomes.size(); position++) {
+            for (TestTag tag : outcomes.get(position).getTags()) {
+                positionsFor(tag).add(position);
+            }
+        }
+    }
+
+    public static CrossTagIndex of(TestOutcomes testOutcomes) {
+        return new CrossTagIndex(testOutcomes.getOutcomes());
+    }
+
+    private List<Integer> positionsFor(TestTag tag) {
+        List<Integer> positions = outcomePositionsByTag.get(tag);
+        if (positions == null) {
+            positions = Lists.newArrayList();
+            outcomePositionsByTag.put(tag, positions);
+        }
+        return positions;
+    }
+
+    public File writeTo(File outputDirectory, ReportNameProvider reportNameProvider) throws IOException {
+        File indexFile = new File(outputDirectory, INDEX_FILE);
+        try (Writer writer = Files.newBufferedWriter(indexFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("var crossTagIndex = ");
+            writeIndex(new JsonWriter(writer), reportNameProvider);
+            writer.write(";\n");
+        }
+        return indexFile;
+    }
+
+    private void writeIndex(JsonWriter json, ReportNameProvider reportNameProvider) throws IOException {
+        json.beginObject();
+        json.name("outcomes").beginArray();
+        for (TestOutcome outcome : outcomes) {
+            json.beginObject();
+            json.name("title").value(outcome.getTitle());
+            json.name("result").value(outcome.getResult().name());
+            json.name("report").value(outcome.getReportName() + ".html");
+            json.endObject();
+        }
+        json.endArray();
+        json.name("tags").beginArray();
+        for (Map.Entry<TestTag, List<Integer>> entry : outcomePositionsByTag.entrySet()) {
+            TestTag tag = entry.getKey();
+            json.beginObject();
+            json.name("name").value(tag.getName());
+            json.name("type").value(tag.getType());
+            json.name("report").value(reportNameProvider.forTag(tag));
+            json.name("outcomes").beginArray();
+            for (Integer position : entry.getValue()) {
+                json.value(position);
+            }
+            json.endArray();
+            json.endObject();
+        }
+        json.endArray();
+        json.endObject();
+        json.flush();
+    }
+}
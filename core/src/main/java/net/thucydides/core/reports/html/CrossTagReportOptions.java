@@ -0,0 +1,110 @@
+package net.thucydides.core.reports.html;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import net.thucydides.core.model.TestTag;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static net.thucydides.core.ThucydidesSystemProperty.*;
+
+/**
+ * Decides which report pages are generated for tests that share several tags.
+ * A page for every pair of co-occurring tags quickly dominates report generation when there are many tags,
+ * so these pages can be restricted to a few tag types, turned off, or replaced by a single index that
+ * is combined in the browser.
+ */
+public class CrossTagReportOptions {
+
+    public enum Mode {
+        /**
+         * Generate a page for every pair of co-occurring tags.
+         */
+        PAGES,
+        /**
+         * Generate a single index of the tags of every test, and a page that combines tags in the browser.
+         */
+        ON_DEMAND;
+
+        /**
+         * An unknown mode is reported and ignored, rather than stopping the aggregate reports from being generated.
+         */
+        static Mode from(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase().replace('-', '_'));
+            } catch (IllegalArgumentException unknownMode) {
+                LOGGER.warn("Unknown value for serenity.report.cross.tags: '{}'. Expected 'pages' or 'on-demand': "
+                            + "using 'pages'", value);
+                return PAGES;
+            }
+        }
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CrossTagReportOptions.class);
+
+    private static final int DEFAULT_DEPTH = 2;
+
+    /**
+     * Pages are only ever generated for single tags and pairs of tags.
+     */
+    private static final int MAXIMUM_DEPTH = 2;
+
+    private final Mode mode;
+    private final int depth;
+    private final List<String> tagTypes;
+    private final boolean dryRun;
+
+    public CrossTagReportOptions(EnvironmentVariables environmentVariables) {
+        this.mode = Mode.from(THUCYDIDES_REPORT_CROSS_TAGS.from(environmentVariables, "pages"));
+        this.depth = depthFrom(THUCYDIDES_REPORT_CROSS_TAG_DEPTH.integerFrom(environmentVariables, DEFAULT_DEPTH));
+        this.tagTypes = lowerCase(Splitter.on(",").omitEmptyStrings().trimResults()
+                                          .splitToList(THUCYDIDES_REPORT_CROSS_TAG_TYPES.from(environmentVariables, "")));
+        this.dryRun = THUCYDIDES_REPORT_DRY_RUN.booleanFrom(environmentVariables, false);
+    }
+
+    private static int depthFrom(int requestedDepth) {
+        if (requestedDepth > MAXIMUM_DEPTH) {
+            LOGGER.warn("serenity.report.cross.tag.depth cannot be more than {}: using {}", MAXIMUM_DEPTH, MAXIMUM_DEPTH);
+            return MAXIMUM_DEPTH;
+        }
+        return Math.max(1, requestedDepth);
+    }
+
+    private static List<String> lowerCase(List<String> values) {
+        ImmutableList.Builder<String> lowerCaseValues = ImmutableList.builder();
+        for (String value : values) {
+            lowerCaseValues.add(value.toLowerCase());
+        }
+        return lowerCaseValues.build();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    /**
+     * Should pages be generated for the tests of this tag that also carry each of its co-occurring tags?
+     */
+    public boolean generatePagesForTagsCombinedWith(TestTag tag) {
+        return generatePagesForTagsCombinedWithTagOfType(tag.getType());
+    }
+
+    public boolean generatePagesForTagsCombinedWithTagOfType(String tagType) {
+        return (mode == Mode.PAGES) && (depth > 1) && (tagTypes.isEmpty() || tagTypes.contains(tagType.toLowerCase()));
+    }
+
+    public boolean generateCrossTagIndex() {
+        return (mode == Mode.ON_DEMAND);
+    }
+}
@@ -15,6 +15,7 @@ import net.thucydides.core.reports.AcceptanceTestReporter;
 import net.thucydides.core.reports.OutcomeFormat;
 import net.thucydides.core.reports.ReportOptions;
 import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.reports.ThreadSafeReporter;
 import net.thucydides.core.reports.html.screenshots.ScreenshotFormatter;
 import net.thucydides.core.requirements.RequirementsService;
 import net.thucydides.core.requirements.model.Requirement;
@@ -40,7 +41,7 @@ import static net.thucydides.core.model.ReportType.HTML;
 /**
  * Generates acceptance test results in HTML form.
  */
-public class HtmlAcceptanceTestReporter extends HtmlReporter implements AcceptanceTestReporter {
+public class HtmlAcceptanceTestReporter extends HtmlReporter implements AcceptanceTestReporter, ThreadSafeReporter {
 
     private static final String DEFAULT_ACCEPTANCE_TEST_REPORT = "freemarker/default.ftl";
     private static final String DEFAULT_ACCEPTANCE_TEST_SCREENSHOT = "freemarker/screenshots.ftl";
@@ -94,13 +95,12 @@ public class HtmlAcceptanceTestReporter extends HtmlReporter implements Acceptan
         addFormattersToContext(context);
         addTimestamp(testOutcome, context);
 
-        String htmlContents = mergeTemplate(DEFAULT_ACCEPTANCE_TEST_REPORT).usingContext(context);
         copyResourcesToOutputDirectory();
 
         String reportFilename = reportFor(storedTestOutcome);
         LOGGER.info("GENERATING HTML REPORT FOR " + storedTestOutcome.getCompleteName() + (qualifier != null ? "/" + qualifier : "") + " => " + reportFilename);
 
-        return writeReportToOutputDirectory(reportFilename, htmlContents);
+        return mergeTemplate(DEFAULT_ACCEPTANCE_TEST_REPORT).toReport(reportFilename, context);
     }
 
     private boolean containsScreenshots(TestOutcome testOutcome) {
@@ -180,8 +180,7 @@ public class HtmlAcceptanceTestReporter extends HtmlReporter implements Acceptan
         addFormattersToContext(context);
         context.put("screenshots", screenshots);
         context.put("narrativeView", testOutcome.getReportName());
-        String htmlContents = mergeTemplate(DEFAULT_ACCEPTANCE_TEST_SCREENSHOT).usingContext(context);
-        writeReportToOutputDirectory(screenshotReport, htmlContents);
+        mergeTemplate(DEFAULT_ACCEPTANCE_TEST_SCREENSHOT).toReport(screenshotReport, context);
 
     }
 
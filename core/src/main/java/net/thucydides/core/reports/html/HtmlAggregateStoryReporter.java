@@ -2,6 +2,7 @@ package net.thucydides.core.reports.html;
 
 import com.beust.jcommander.internal.Lists;
 import com.beust.jcommander.internal.Maps;
+import com.google.common.base.Optional;
 import net.serenitybdd.core.SerenitySystemProperties;
 import net.serenitybdd.core.buildinfo.BuildInfoProvider;
 import net.thucydides.core.ThucydidesSystemProperty;
@@ -9,11 +10,12 @@ import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.issues.IssueTracking;
 import net.thucydides.core.model.NumericalFormatter;
 import net.thucydides.core.model.Release;
+import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.model.TestResult;
 import net.thucydides.core.model.TestTag;
 import net.thucydides.core.releases.ReleaseManager;
 import net.thucydides.core.reports.*;
-import net.thucydides.core.reports.csv.CSVReporter;
+import net.thucydides.core.reports.csv.CSVExport;
 import net.thucydides.core.requirements.RequirementsProviderService;
 import net.thucydides.core.requirements.RequirementsService;
 import net.thucydides.core.requirements.model.Requirement;
@@ -32,9 +34,14 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Generates an aggregate acceptance test report in HTML form.
@@ -52,6 +59,7 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     private static final String RELEASE_TEMPLATE_PATH = "freemarker/release.ftl";
     private static final String TAGTYPE_TEMPLATE_PATH = "freemarker/results-by-tagtype.ftl";
     private static final String REQUIREMENT_TYPE_TEMPLATE_PATH = "freemarker/requirement-type.ftl";
+    private static final String CROSS_TAGS_TEMPLATE_PATH = "freemarker/cross-tags.ftl";
 
 //    private TestHistory testHistory;
     private String projectName;
@@ -64,6 +72,35 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     private final RequirementsConfiguration requirementsConfiguration;
     private final EnvironmentVariables environmentVariables;
     private FormatConfiguration formatConfiguration;
+    private final CrossTagReportOptions crossTagReportOptions;
+
+    /**
+     * The number of HTML pages and CSV files generated by the last report run, or that would have been generated
+     * in a dry run.
+     */
+    private final AtomicInteger htmlPageCount = new AtomicInteger();
+    private final AtomicInteger csvReportCount = new AtomicInteger();
+
+    /**
+     * Pages are rendered on a pool of serenity.report.renderer.threads threads while the reports are being generated.
+     */
+    private ReportPageRenderer pageRenderer = ReportPageRenderer.onTheCallingThread();
+
+    /**
+     * The CSV reports of the current run, written together once every page has been added.
+     */
+    private CSVExport csvExport;
+
+    /**
+     * Formatters are shared by every page, and so must be safe to use from several rendering threads at once.
+     */
+    private final Formatter formatter;
+    private final NumericalFormatter numericalFormatter = new NumericalFormatter();
+
+    /**
+     * In incremental mode, only pages for these tags are regenerated. Absent means every page is generated.
+     */
+    private Optional<Set<TestTag>> tagsToRegenerate = Optional.absent();
 
     public HtmlAggregateStoryReporter(final String projectName) {
         this(projectName, "");
@@ -87,12 +124,14 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
                                       final IssueTracking issueTracking,
                                       final RequirementsService requirementsService,
                                       final EnvironmentVariables environmentVariables) {
+        super(environmentVariables);
         this.projectName = projectName;
         this.relativeLink = relativeLink;
         this.issueTracking = issueTracking;
 //        this.testHistory = testHistory;
         this.reportNameProvider = new ReportNameProvider();
-        this.htmlRequirementsReporter = new HtmlRequirementsReporter(relativeLink);
+        this.htmlRequirementsReporter = new HtmlRequirementsReporter(relativeLink, issueTracking, requirementsService,
+                                                                     environmentVariables);
 
         RequirementsProviderService requirementsProviderService = Injectors.getInjector().getInstance(RequirementsProviderService.class);
         this.requirementsFactory = new RequirmentsOutcomeFactory(requirementsProviderService.getRequirementsProviders(), issueTracking);
@@ -100,6 +139,8 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         this.requirementsConfiguration = new RequirementsConfiguration(getEnvironmentVariables());
         this.environmentVariables = environmentVariables;
         this.formatConfiguration = new FormatConfiguration(environmentVariables);
+        this.crossTagReportOptions = new CrossTagReportOptions(environmentVariables);
+        this.formatter = new Formatter(issueTracking);
     }
 
     public OutcomeFormat getFormat() {
@@ -111,9 +152,8 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     }
 
     private void addFormattersToContext(final Map<String, Object> context) {
-        Formatter formatter = new Formatter(issueTracking);
         context.put("formatter", formatter);
-        context.put("formatted", new NumericalFormatter());
+        context.put("formatted", numericalFormatter);
         context.put("inflection", Inflector.getInstance());
         context.put("relativeLink", relativeLink);
         context.put("reportOptions", new ReportOptions(getEnvironmentVariables()));
@@ -128,11 +168,96 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     public TestOutcomes generateReportsForTestResultsFrom(final File sourceDirectory) throws IOException {
         TestOutcomes allTestOutcomes = loadTestOutcomesFrom(sourceDirectory);
         copyScreenshotsFrom(sourceDirectory);
-        generateReportsForTestResultsIn(allTestOutcomes);
+        if (incrementalReportingIsActive()) {
+            generateIncrementalReportsForTestResultsIn(sourceDirectory, allTestOutcomes);
+        } else {
+            generateReportsForTestResultsIn(allTestOutcomes);
+        }
         return allTestOutcomes;
     }
 
+    private boolean incrementalReportingIsActive() {
+        return ThucydidesSystemProperty.THUCYDIDES_REPORT_INCREMENTAL.booleanFrom(environmentVariables, false);
+    }
+
+    /**
+     * Compare the outcome files with the manifest left by the previous run, and only regenerate the summary pages
+     * and the pages of tags whose outcomes have been added, modified or removed.
+     * Every page lists the tag types in its menu, so all of them are regenerated when the tag types change.
+     */
+    private void generateIncrementalReportsForTestResultsIn(File sourceDirectory, TestOutcomes allTestOutcomes) throws IOException {
+        TestOutcomeLoader loader = new TestOutcomeLoader(environmentVariables).forFormat(getFormat());
+        Optional<OutcomeManifest> previousManifest = OutcomeManifest.readFrom(getOutputDirectory());
+        OutcomeManifest currentManifest = OutcomeManifest.forOutcomeFiles(loader.getAllOutcomeFilesFrom(sourceDirectory),
+                                                                          previousManifest.or(OutcomeManifest.emptyManifest()),
+                                                                          loader.getOutcomeReporter(),
+                                                                          allTestOutcomes);
+
+        if (previousManifest.isPresent() && aggregateReportAlreadyExists()) {
+            if (!currentManifest.hasChangedSince(previousManifest.get())) {
+                LOGGER.info("No test outcomes have changed since the last report generation");
+                return;
+            }
+            if (currentManifest.hasSameTagTypesAs(previousManifest.get())) {
+                Set<TestTag> affectedTags = currentManifest.tagsAffectedSince(previousManifest.get());
+                LOGGER.info("Regenerating reports for {} affected tags", affectedTags.size());
+                tagsToRegenerate = Optional.of(affectedTags);
+            } else {
+                LOGGER.info("The tag types have changed since the last report generation, regenerating all reports");
+            }
+        }
+        try {
+            generateReportsForTestResultsIn(allTestOutcomes);
+        } finally {
+            tagsToRegenerate = Optional.absent();
+        }
+        if (!isDryRun()) {
+            currentManifest.writeTo(getOutputDirectory());
+        }
+    }
+
+    private boolean aggregateReportAlreadyExists() {
+        return reportFileCalled("index.html").exists();
+    }
+
+    private boolean shouldGenerateReportsFor(TestTag tag) {
+        return !tagsToRegenerate.isPresent() || tagsToRegenerate.get().contains(tag);
+    }
+
+    private boolean shouldGenerateReportsForTagNamed(String tagName) {
+        if (!tagsToRegenerate.isPresent()) {
+            return true;
+        }
+        for (TestTag tag : tagsToRegenerate.get()) {
+            if (tag.getName().equalsIgnoreCase(tagName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isDryRun() {
+        return crossTagReportOptions.isDryRun();
+    }
+
+    /**
+     * @return the number of HTML pages generated by the last report run, or that would have been generated in a dry run
+     */
+    public int getHtmlPageCount() {
+        return htmlPageCount.get();
+    }
+
+    /**
+     * @return the number of CSV files generated by the last report run, or that would have been generated in a dry run
+     */
+    public int getCsvReportCount() {
+        return csvReportCount.get();
+    }
+
     private void copyScreenshotsFrom(File sourceDirectory) {
+        if (isDryRun()) {
+            return;
+        }
         if ((getOutputDirectory() != null) && (getOutputDirectory() != sourceDirectory)) {
             CopyOption[] options = new CopyOption[]{ StandardCopyOption.COPY_ATTRIBUTES };
 
@@ -154,16 +279,57 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     }
 
     public void generateReportsForTestResultsIn(TestOutcomes testOutcomes) throws IOException {
+        resetTemplateRenderTimes();
+        preloadTemplates(TEST_OUTCOME_TEMPLATE_PATH, BUILD_INFO_TEMPLATE_PATH, RELEASES_TEMPLATE_PATH,
+                         RELEASE_TEMPLATE_PATH, TAGTYPE_TEMPLATE_PATH, REQUIREMENT_TYPE_TEMPLATE_PATH,
+                         CROSS_TAGS_TEMPLATE_PATH);
+        pageRenderer = new ReportPageRenderer(reportThreads());
+        try {
+            generatePagesForTestResultsIn(testOutcomes);
+            pageRenderer.waitUntilAllPagesAreRendered();
+        } finally {
+            pageRenderer.shutdown();
+            pageRenderer = ReportPageRenderer.onTheCallingThread();
+        }
+        if (isDryRun()) {
+            LOGGER.info("Dry run: the aggregate report would contain {} HTML pages and {} CSV files",
+                        htmlPageCount.get(), csvReportCount.get());
+        }
+        LOGGER.debug("Report template render times:{}", getTemplateRenderTimes());
+    }
+
+    private int reportThreads() {
+        return ThucydidesSystemProperty.THUCYDIDES_REPORT_RENDERER_THREADS.integerFrom(environmentVariables,
+                                                                            Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Work out which pages make up the report and hand them over to the page renderer.
+     * The test outcome views and page contexts are built here, on the calling thread; only the template merges
+     * and file writes are run in parallel.
+     */
+    private void generatePagesForTestResultsIn(TestOutcomes testOutcomes) throws IOException {
         RequirementsOutcomes requirementsOutcomes = requirementsFactory.buildRequirementsOutcomesFrom(testOutcomes.withRequirementsTags());
 
-        copyResourcesToOutputDirectory();
-        copyTestResultsToOutputDirectory();
+        htmlPageCount.set(0);
+        csvExport = new CSVExport(getOutputDirectory(), getEnvironmentVariables());
+
+        if (!isDryRun()) {
+            copyResourcesToOutputDirectory();
+            copyTestResultsToOutputDirectory();
+        }
 
         generateAggregateReportFor(testOutcomes);
         generateTagReportsFor(testOutcomes);
         generateTagTypeReportsFor(testOutcomes);
+        Set<String> tagNamesWithCrossTagPages = tagNamesWithCrossTagPagesIn(testOutcomes);
         for (String name : testOutcomes.getTagNames()) {
-            generateTagTypeReportsFor(testOutcomes.withTag(name), new ReportNameProvider(name));
+            if (shouldGenerateReportsForTagNamed(name) && tagNamesWithCrossTagPages.contains(name)) {
+                generateTagTypeReportsFor(testOutcomes.withTag(name), new ReportNameProvider(name));
+            }
+        }
+        if (crossTagReportOptions.generateCrossTagIndex()) {
+            generateCrossTagIndexFor(testOutcomes);
         }
         generateRequirementTypeReports(requirementsOutcomes);
         generateResultReportsFor(testOutcomes);
@@ -174,6 +340,35 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
 
         generateReleasesReportFor(testOutcomes, requirementsOutcomes);
 
+        writeCSVReports();
+    }
+
+    /**
+     * The (lower-case) names of the tags whose tests get pages for each of their co-occurring tags.
+     */
+    private Set<String> tagNamesWithCrossTagPagesIn(TestOutcomes testOutcomes) {
+        Set<String> tagNames = new HashSet<>();
+        for (TestTag tag : testOutcomes.getTags()) {
+            if (crossTagReportOptions.generatePagesForTagsCombinedWith(tag)) {
+                tagNames.add(tag.getName().toLowerCase());
+            }
+        }
+        return tagNames;
+    }
+
+    private void generateCrossTagIndexFor(TestOutcomes testOutcomes) throws IOException {
+        Map<String, Object> context = buildContext(testOutcomes, getReportNameProvider());
+        context.put("report", ReportProperties.forAggregateResultsReport());
+        generateReportPage(context, CROSS_TAGS_TEMPLATE_PATH, "cross-tags.html");
+        if (!isDryRun()) {
+            final CrossTagIndex crossTagIndex = CrossTagIndex.of(testOutcomes);
+            pageRenderer.render(new Callable<File>() {
+                @Override
+                public File call() throws IOException {
+                    return crossTagIndex.writeTo(getOutputDirectory(), getReportNameProvider());
+                }
+            });
+        }
     }
 
     private void generateRequirementTypeReports(RequirementsOutcomes requirementsOutcomes) throws IOException {
@@ -198,17 +393,43 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
 
     }
 
-    private void generateCSVReportFor(TestOutcomes testOutcomes, String reportName) throws IOException {
-        CSVReporter csvReporter = new CSVReporter(getOutputDirectory(), getEnvironmentVariables());
-        csvReporter.generateReportFor(testOutcomes, reportName);
+    /**
+     * Adds a CSV report to the export of this run.
+     * @return the name of the CSV file the page should link to
+     */
+    private String generateCSVReportFor(final TestOutcomes testOutcomes, final String reportName) {
+        return csvExport.add(testOutcomes, reportName);
+    }
+
+    private void writeCSVReports() throws IOException {
+        csvReportCount.set(csvExport.getFileCount());
+        if (isDryRun()) {
+            return;
+        }
+        final CSVExport csvReports = csvExport;
+        pageRenderer.render(new Callable<File>() {
+            @Override
+            public File call() throws IOException {
+                csvReports.writeAll();
+                return getOutputDirectory();
+            }
+        });
     }
 
     List<Requirement> reportTally = Lists.newArrayList();
 
-    public void generateRequirementsReportsFor(RequirementsOutcomes requirementsOutcomes) throws IOException {
+    public void generateRequirementsReportsFor(final RequirementsOutcomes requirementsOutcomes) throws IOException {
 
         htmlRequirementsReporter.setOutputDirectory(getOutputDirectory());
-        htmlRequirementsReporter.generateReportFor(requirementsOutcomes);
+        htmlPageCount.incrementAndGet();
+        if (!isDryRun()) {
+            pageRenderer.render(new Callable<File>() {
+                @Override
+                public File call() throws IOException {
+                    return htmlRequirementsReporter.generateReportFor(requirementsOutcomes);
+                }
+            });
+        }
 
 //        htmlProgressReporter.setOutputDirectory(getOutputDirectory());
 //        htmlProgressReporter.generateReportFor(requirementsOutcomes);
@@ -233,20 +454,45 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         }
     }
 
-    private void generateNestedRequirementsReportsFor(Requirement parentRequirement, RequirementsOutcomes requirementsOutcomes) throws IOException {
+    private void generateNestedRequirementsReportsFor(Requirement parentRequirement, final RequirementsOutcomes requirementsOutcomes) throws IOException {
         htmlRequirementsReporter.setOutputDirectory(getOutputDirectory());
-        String reportName = reportNameProvider.forRequirement(parentRequirement);
+        final String reportName = reportNameProvider.forRequirement(parentRequirement);
         if (!reportTally.contains(parentRequirement)) {
             reportTally.add(parentRequirement);
-            htmlRequirementsReporter.generateReportFor(requirementsOutcomes, requirementsOutcomes.getTestOutcomes(), reportName);
+            if (shouldGenerateReportsFor(parentRequirement.asTag())) {
+                htmlPageCount.incrementAndGet();
+                if (!isDryRun()) {
+                    pageRenderer.render(new Callable<File>() {
+                        @Override
+                        public File call() throws IOException {
+                            return htmlRequirementsReporter.generateReportFor(requirementsOutcomes,
+                                                                              requirementsOutcomes.getTestOutcomes(),
+                                                                              reportName);
+                        }
+                    });
+                }
+            }
         }
 
         generateRequirementsReportsForChildRequirements(requirementsOutcomes);
 
     }
 
+    /**
+     * The requirements tags of each test outcome are added as soon as it has been loaded, while the remaining
+     * outcome files are still being read.
+     */
     private TestOutcomes loadTestOutcomesFrom(File sourceDirectory) throws IOException {
-        return TestOutcomeLoader.loadTestOutcomes().inFormat(getFormat()).from(sourceDirectory).withHistory().withRequirementsTags();
+        final List<TestOutcome> loadedOutcomes = Lists.newArrayList();
+        TestOutcomeLoader loader = new TestOutcomeLoader(environmentVariables).forFormat(getFormat());
+        loader.loadFrom(sourceDirectory, new TestOutcomeLoadListener() {
+            @Override
+            public void outcomeLoaded(TestOutcome testOutcome) {
+                loadedOutcomes.add(TestOutcomes.withRequirementsTags(testOutcome, requirementsService));
+            }
+        });
+        Collections.sort(loadedOutcomes, TestOutcomeLoader.byTitle());
+        return TestOutcomes.of(loadedOutcomes);
     }
 
     private void generateAggregateReportFor(TestOutcomes testOutcomes) throws IOException {
@@ -254,11 +500,10 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         ReportNameProvider defaultNameProvider = new ReportNameProvider();
         Map<String, Object> context = buildContext(testOutcomes, defaultNameProvider, true);
         context.put("report", ReportProperties.forAggregateResultsReport());
-        context.put("csvReport", "results.csv");
+        context.put("csvReport", generateCSVReportFor(testOutcomes, "results.csv"));
 
         generateReportPage(context, TEST_OUTCOME_TEMPLATE_PATH, "index.html");
         generateReportPage(context, BUILD_INFO_TEMPLATE_PATH, "build-info.html");
-        generateCSVReportFor(testOutcomes, "results.csv");
         logReportPathMessage();
     }
 
@@ -319,6 +564,9 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
                     .inPluralForm().asATitle().toString();
         }
         for (Release release : allReleases) {
+            if (!shouldGenerateReportsFor(release.getReleaseTag())) {
+                continue;
+            }
             RequirementsOutcomes releaseRequirements = requirementsOutcomes.getReleasedRequirementsFor(release);
             Map<String, Object> context = buildContext(testOutcomes, getReportNameProvider());
 
@@ -343,8 +591,12 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     private void generateTagReportsFor(TestOutcomes testOutcomes) throws IOException {
 
         for (TestTag tag : testOutcomes.getTags()) {
-            generateTagReport(testOutcomes, reportNameProvider, tag);
-            generateAssociatedTagReportsForTag(testOutcomes.withTag(tag), tag.getName());
+            if (shouldGenerateReportsFor(tag)) {
+                generateTagReport(testOutcomes, reportNameProvider, tag);
+                if (crossTagReportOptions.generatePagesForTagsCombinedWith(tag)) {
+                    generateAssociatedTagReportsForTag(testOutcomes.withTag(tag), tag.getName());
+                }
+            }
         }
     }
 
@@ -362,9 +614,23 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     private void generateResultReportsFor(TestOutcomes testOutcomes) throws IOException {
         generateResultReports(testOutcomes, reportNameProvider);
 
+        Set<String> tagNamesWithCrossTagPages = tagNamesWithCrossTagPagesIn(testOutcomes);
         for (TestTag tag : testOutcomes.getTags()) {
-            generateResultReports(testOutcomes.withTag(tag), new ReportNameProvider(tag.getName()), tag);
+            if (shouldGenerateReportsFor(tag)) {
+                generateResultReports(testOutcomes.withTag(tag), tagLinksFrom(tag, tagNamesWithCrossTagPages), tag);
+            }
+        }
+    }
+
+    /**
+     * The pages of a tag link to the pages of its co-occurring tags when these are generated,
+     * and to the top-level tag pages otherwise.
+     */
+    private ReportNameProvider tagLinksFrom(TestTag tag, Set<String> tagNamesWithCrossTagPages) {
+        if (tagNamesWithCrossTagPages.contains(tag.getName().toLowerCase())) {
+            return new ReportNameProvider(tag.getName());
         }
+        return reportNameProvider;
     }
 
 //    private void generateCoverageReportsFor(TestOutcomes testOutcomes) throws IOException {
@@ -405,10 +671,9 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         context.put("currentTag", tag);
 
         String csvReport = reportName.forCSVFiles().forTestResult(testResult);
-        context.put("csvReport", csvReport);
+        context.put("csvReport", generateCSVReportFor(testOutcomes, csvReport));
         String report = reportName.withPrefix(tag).forTestResult(testResult);
         generateReportPage(context, TEST_OUTCOME_TEMPLATE_PATH, report);
-        generateCSVReportFor(testOutcomes, csvReport);
     }
 
     private void generateTagReport(TestOutcomes testOutcomes, ReportNameProvider reportName, TestTag tag) throws IOException {
@@ -419,11 +684,10 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         context.put("currentTag", tag);
 
         String csvReport = reportName.forCSVFiles().forTag(tag);
-        context.put("csvReport", csvReport);
+        context.put("csvReport", generateCSVReportFor(testOutcomesForTag, csvReport));
 
         String report = reportName.forTag(tag);
         generateReportPage(context, TEST_OUTCOME_TEMPLATE_PATH, report);
-        generateCSVReportFor(testOutcomesForTag, csvReport);
     }
 
 
@@ -436,17 +700,18 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         context.put("tagType", tagType);
 
         String csvReport = reportName.forCSVFiles().forTagType(tagType);
-        context.put("csvReport", csvReport);
+        context.put("csvReport", generateCSVReportFor(testOutcomesForTagType, csvReport));
 
         String report = reportName.forTagType(tagType);
         generateReportPage(context, TAGTYPE_TEMPLATE_PATH, report);
-        generateCSVReportFor(testOutcomesForTagType, csvReport);
     }
 
     private void generateAssociatedTagReportsForTag(TestOutcomes testOutcomes, String sourceTag) throws IOException {
         ReportNameProvider reportName = new ReportNameProvider(sourceTag);
         for (TestTag tag : testOutcomes.getTags()) {
-            generateTagReport(testOutcomes, reportName, tag);
+            if (shouldGenerateReportsFor(tag)) {
+                generateTagReport(testOutcomes, reportName, tag);
+            }
         }
     }
 
@@ -473,6 +738,7 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         context.put("absoluteReportName", new ReportNameProvider());
 
         context.put("reportOptions", new ReportOptions(getEnvironmentVariables()));
+        context.put("crossTagsOnDemand", crossTagReportOptions.generateCrossTagIndex());
         context.put("timestamp", timestampFrom(currentTime()));
         context.put("requirementTypes", requirementsService.getRequirementTypes());
         addFormattersToContext(context);
@@ -489,8 +755,16 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     private void generateReportPage(final Map<String, Object> context,
                                     final String template,
                                     final String outputFile) throws IOException {
-        String htmlContents = mergeTemplate(template).usingContext(context);
-        writeReportToOutputDirectory(outputFile, htmlContents);
+        htmlPageCount.incrementAndGet();
+        if (isDryRun()) {
+            return;
+        }
+        pageRenderer.render(new Callable<File>() {
+            @Override
+            public File call() throws IOException {
+                return mergeTemplate(template).toReport(outputFile, context);
+            }
+        });
     }
 
     protected SerenitySystemProperties getSystemProperties() {
@@ -6,7 +6,9 @@ import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.reports.TestOutcomes;
 import net.thucydides.core.reports.ThucydidesReporter;
 import net.thucydides.core.reports.templates.ReportTemplate;
+import net.thucydides.core.reports.templates.StreamingReportTemplate;
 import net.thucydides.core.reports.templates.TemplateManager;
+import net.thucydides.core.reports.templates.TemplateRenderTimes;
 import net.thucydides.core.reports.util.CopyDirectory;
 import net.thucydides.core.util.EnvironmentVariables;
 import org.apache.commons.io.FileUtils;
@@ -19,6 +21,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.EnumSet;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * An HTML report generates reports in a given directory and uses resources (images,...) from another.
@@ -29,9 +32,11 @@ public abstract class HtmlReporter extends ThucydidesReporter {
 
     private static final String DEFAULT_RESOURCE_DIRECTORY = "report-resources";
     private static final String DEFAULT_SOURCE_DIR = "target/site/serenity";
+    private static final int BUFFER_SIZE = 64 * 1024;
     private String resourceDirectory = DEFAULT_RESOURCE_DIRECTORY;
     private final TemplateManager templateManager;
     private final EnvironmentVariables environmentVariables;
+    private volatile TemplateRenderTimes templateRenderTimes = new TemplateRenderTimes();
 
     protected static final String TIMESTAMP_FORMAT = "dd-MM-YYYY HH:mm";
 
@@ -49,6 +54,31 @@ public abstract class HtmlReporter extends ThucydidesReporter {
         return templateManager;
     }
 
+    /**
+     * Load and parse these templates ahead of time, so that they are ready before the first page is rendered.
+     */
+    protected void preloadTemplates(final String... templateFiles) {
+        try {
+            for (String templateFile : templateFiles) {
+                getTemplateManager().getTemplateFrom(templateFile);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load report templates: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * How many pages this reporter has merged from each template, and how long the merges took,
+     * since the render times were last reset.
+     */
+    protected TemplateRenderTimes getTemplateRenderTimes() {
+        return templateRenderTimes;
+    }
+
+    protected void resetTemplateRenderTimes() {
+        templateRenderTimes = new TemplateRenderTimes();
+    }
+
     /**
      * Resources such as CSS stylesheets or images.
      */
@@ -66,7 +96,7 @@ public abstract class HtmlReporter extends ThucydidesReporter {
 
     private boolean alreadyCopied = false;
 
-    protected void copyResourcesToOutputDirectory() throws IOException {
+    protected synchronized void copyResourcesToOutputDirectory() throws IOException {
         if (!alreadyCopied) {
             alreadyCopied = true;
             updateResourceDirectoryFromSystemPropertyIfDefined();
@@ -122,22 +152,32 @@ public abstract class HtmlReporter extends ThucydidesReporter {
     }
 
     /**
-     * Write the actual HTML report to a file with the specified name in the output directory.
+     * The file a report with the specified name is written to in the output directory.
      */
-    protected File writeReportToOutputDirectory(final String reportFilename, final String htmlContents) throws
-            IOException {
-        File report = new File(getOutputDirectory(), reportFilename);
-        writeToFile(htmlContents, report);
-        return report;
-    }
-
-    private void writeToFile(String htmlContents, File report) throws IOException {
-        String lines[] = htmlContents.split("\\r?\\n");
-        try (BufferedWriter writer = Files.newBufferedWriter(report.toPath(), StandardCharsets.UTF_8)){
-            for(String line : lines){
-                writer.write(line);
-                writer.newLine();
+    protected File reportFileCalled(String reportFilename) {
+        String filename = compressReports() ? reportFilename + ".gz" : reportFilename;
+        return new File(getOutputDirectory(), filename);
+    }
+
+    private boolean compressReports() {
+        return ThucydidesSystemProperty.THUCYDIDES_REPORT_GZIP.booleanFrom(environmentVariables, false);
+    }
+
+    /**
+     * Reports are written as UTF-8 text with platform line endings, and are compressed as they are written
+     * if serenity.report.gzip is set.
+     */
+    private Writer reportWriterFor(File report) throws IOException {
+        OutputStream out = new FileOutputStream(report);
+        try {
+            if (compressReports()) {
+                out = new GZIPOutputStream(out, BUFFER_SIZE);
             }
+            return new NewlineNormalizingWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8),
+                                                                   BUFFER_SIZE));
+        } catch (IOException e) {
+            out.close();
+            throw e;
         }
     }
 
@@ -169,13 +209,45 @@ public abstract class HtmlReporter extends ThucydidesReporter {
         }
 
         public String usingContext(final Map<String, Object> context) {
+            StringWriter sw = new StringWriter();
+            mergeInto(sw, context);
+            return sw.toString();
+        }
+
+        /**
+         * Merge the template straight into a report file in the output directory, without holding the whole
+         * page in memory. If the template cannot be merged, no report file is left behind.
+         */
+        public File toReport(final String reportFilename, final Map<String, Object> context) throws IOException {
+            File report = reportFileCalled(reportFilename);
+            boolean merged = false;
+            try (Writer writer = reportWriterFor(report)) {
+                mergeInto(writer, context);
+                merged = true;
+            } finally {
+                if (!merged) {
+                    Files.deleteIfExists(report.toPath());
+                }
+            }
+            return report;
+        }
+
+        private void mergeInto(final Writer writer, final Map<String, Object> context) {
+            TemplateRenderTimes renderTimes = templateRenderTimes;
+            long startTime = System.nanoTime();
             try {
                 ReportTemplate template = getTemplateManager().getTemplateFrom(templateFile);
-                StringWriter sw = new StringWriter();
-                template.merge(context, sw);
-                return sw.toString();
+                if (template instanceof StreamingReportTemplate) {
+                    ((StreamingReportTemplate) template).merge(context, writer);
+                } else {
+                    StringWriter mergedPage = new StringWriter();
+                    template.merge(context, mergedPage);
+                    writer.write(mergedPage.toString());
+                }
             } catch (Exception e) {
                 throw new RuntimeException("Failed to merge template: " + e.getMessage(), e);
+            } finally {
+                renderTimes.record(templateFile, System.nanoTime() - startTime);
             }
         }
     }
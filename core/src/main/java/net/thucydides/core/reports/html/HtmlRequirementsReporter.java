@@ -8,6 +8,7 @@ import net.thucydides.core.reports.ReportOptions;
 import net.thucydides.core.reports.TestOutcomes;
 import net.thucydides.core.requirements.RequirementsService;
 import net.thucydides.core.requirements.reports.RequirementsOutcomes;
+import net.thucydides.core.util.EnvironmentVariables;
 import net.thucydides.core.util.Inflector;
 import net.thucydides.core.util.VersionProvider;
 
@@ -36,6 +37,14 @@ public class HtmlRequirementsReporter extends HtmlReporter {
 
     public HtmlRequirementsReporter(final String relativeLink, final IssueTracking issueTracking,
                                     final RequirementsService requirementsService) {
+        this(relativeLink, issueTracking, requirementsService,
+             Injectors.getInjector().getProvider(EnvironmentVariables.class).get());
+    }
+
+    public HtmlRequirementsReporter(final String relativeLink, final IssueTracking issueTracking,
+                                    final RequirementsService requirementsService,
+                                    final EnvironmentVariables environmentVariables) {
+        super(environmentVariables);
         this.relativeLink = relativeLink;
         this.issueTracking = issueTracking;
         this.requirementsService = requirementsService;
@@ -70,10 +79,9 @@ public class HtmlRequirementsReporter extends HtmlReporter {
 
         addFormattersToContext(context);
 
-        String htmlContents = mergeTemplate(DEFAULT_REQUIREMENTS_REPORT).usingContext(context);
         copyResourcesToOutputDirectory();
 
-        return writeReportToOutputDirectory(filename, htmlContents);
+        return mergeTemplate(DEFAULT_REQUIREMENTS_REPORT).toReport(filename, context);
     }
 
     private void addFormattersToContext(final Map<String, Object> context) {
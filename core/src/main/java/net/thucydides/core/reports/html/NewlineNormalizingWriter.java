@@ -0,0 +1,113 @@
+package net.thucydides.core.reports.html;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes each line of the merged report with the platform line separator, as the report is being written.
+ * Both \n and \r\n end a line. Blank lines at the end of the report are dropped, and the last line is always
+ * terminated, so the file is the same as if the report had been split into lines and written one line at a time.
+ */
+class NewlineNormalizingWriter extends FilterWriter {
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private int pendingLineBreaks = 0;
+    private boolean pendingCarriageReturn = false;
+    private boolean closed = false;
+
+    NewlineNormalizingWriter(Writer out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (c == '\n') {
+            pendingCarriageReturn = false;
+            pendingLineBreaks++;
+            return;
+        }
+        writePendingCarriageReturn();
+        if (c == '\r') {
+            pendingCarriageReturn = true;
+        } else {
+            writePendingLineBreaks();
+            out.write(c);
+        }
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        int end = offset + length;
+        int start = offset;
+        for (int i = offset; i < end; i++) {
+            char c = buffer[i];
+            if (c == '\n' || c == '\r') {
+                writeContent(buffer, start, i);
+                write(c);
+                start = i + 1;
+            }
+        }
+        writeContent(buffer, start, end);
+    }
+
+    private void writeContent(char[] buffer, int start, int end) throws IOException {
+        if (end > start) {
+            writePendingCarriageReturn();
+            writePendingLineBreaks();
+            out.write(buffer, start, end - start);
+        }
+    }
+
+    @Override
+    public void write(String text, int offset, int length) throws IOException {
+        int end = offset + length;
+        int start = offset;
+        for (int i = offset; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r') {
+                writeContent(text, start, i);
+                write(c);
+                start = i + 1;
+            }
+        }
+        writeContent(text, start, end);
+    }
+
+    private void writeContent(String text, int start, int end) throws IOException {
+        if (end > start) {
+            writePendingCarriageReturn();
+            writePendingLineBreaks();
+            out.write(text, start, end - start);
+        }
+    }
+
+    private void writePendingCarriageReturn() throws IOException {
+        if (pendingCarriageReturn) {
+            pendingCarriageReturn = false;
+            writePendingLineBreaks();
+            out.write('\r');
+        }
+    }
+
+    private void writePendingLineBreaks() throws IOException {
+        for (; pendingLineBreaks > 0; pendingLineBreaks--) {
+            out.write(LINE_SEPARATOR);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writePendingCarriageReturn();
+            out.write(LINE_SEPARATOR);
+        } finally {
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package net.thucydides.core.reports.html;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestTag;
+import net.thucydides.core.reports.AcceptanceTestLoader;
+import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.reports.binary.JournalTestOutcomeReporter;
+import net.thucydides.core.reports.binary.OutcomeJournalSegment;
+import net.thucydides.core.reports.json.JSONTestOutcomeReporter;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records the digest, size and modification time of each test outcome file used to build the aggregate reports,
+ * along with the tags of the outcome it contains. A test outcome journal holds many outcomes, so it gets an entry
+ * for each of them. The tag types of all the outcomes are recorded too, as they appear in the menu of every page.
+ * Comparing the manifest of the previous run with the current outcome files tells us which tags are affected by
+ * the changes, so that only the corresponding pages need to be regenerated.
+ */
+public class OutcomeManifest {
+
+    public static final String MANIFEST_FILE = "serenity-outcome-manifest.json";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutcomeManifest.class);
+
+    private final Map<String, OutcomeFileEntry> entries;
+
+    private final List<String> tagTypes;
+
+    private OutcomeManifest(Map<String, OutcomeFileEntry> entries, List<String> tagTypes) {
+        this.entries = entries;
+        this.tagTypes = tagTypes;
+    }
+
+    public static OutcomeManifest emptyManifest() {
+        return new OutcomeManifest(ImmutableMap.<String, OutcomeFileEntry>of(), Lists.<String>newArrayList());
+    }
+
+    /**
+     * Read the manifest left in a report directory by a previous run, if there is one.
+     */
+    public static Optional<OutcomeManifest> readFrom(File directory) {
+        File manifestFile = new File(directory, MANIFEST_FILE);
+        if (!manifestFile.exists()) {
+            return Optional.absent();
+        }
+        try (Reader reader = Files.newBufferedReader(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+            OutcomeManifest manifest = new Gson().fromJson(reader, OutcomeManifest.class);
+            return (manifest == null || manifest.entries == null) ? Optional.<OutcomeManifest>absent() : Optional.of(manifest);
+        } catch (IOException | JsonParseException e) {
+            LOGGER.warn("Could not read the outcome manifest in " + directory + ", reports will be regenerated", e);
+            return Optional.absent();
+        }
+    }
+
+    public void writeTo(File directory) throws IOException {
+        File manifestFile = new File(directory, MANIFEST_FILE);
+        try (Writer writer = Files.newBufferedWriter(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+            new Gson().toJson(this, writer);
+        }
+    }
+
+    /**
+     * Build the manifest for the current outcome files.
+     * Digests from the previous manifest are reused for files whose size and modification time have not changed,
+     * and only files with a new digest are read again to find out which test outcome they contain.
+     */
+    public static OutcomeManifest forOutcomeFiles(List<File> outcomeFiles,
+                                                  OutcomeManifest previousManifest,
+                                                  AcceptanceTestLoader loader,
+                                                  TestOutcomes testOutcomes) throws IOException {
+        Map<String, TestOutcome> outcomesByReportName = Maps.newHashMap();
+        for (TestOutcome outcome : testOutcomes.getOutcomes()) {
+            outcomesByReportName.put(outcome.getReportName(), outcome);
+        }
+
+        Map<String, OutcomeFileEntry> entries = Maps.newHashMap();
+        for (File outcomeFile : outcomeFiles) {
+            if (loader instanceof JournalTestOutcomeReporter) {
+                entries.putAll(journalEntriesFor(outcomeFile, previousManifest, outcomesByReportName));
+                continue;
+            }
+            Optional<OutcomeFileEntry> entry = entryFor(outcomeFile, previousManifest.entries.get(outcomeFile.getName()),
+                                                        loader, outcomesByReportName);
+            if (entry.isPresent()) {
+                entries.put(outcomeFile.getName(), entry.get());
+            }
+        }
+        return new OutcomeManifest(entries, Lists.newArrayList(testOutcomes.getTagTypes()));
+    }
+
+    private static Optional<OutcomeFileEntry> entryFor(File outcomeFile,
+                                                       OutcomeFileEntry previousEntry,
+                                                       AcceptanceTestLoader loader,
+                                                       Map<String, TestOutcome> outcomesByReportName) throws IOException {
+        long size = outcomeFile.length();
+        long lastModified = outcomeFile.lastModified();
+        String digest;
+        String reportName;
+        if (previousEntry != null && previousEntry.size == size && previousEntry.lastModified == lastModified) {
+            digest = previousEntry.digest;
+            reportName = previousEntry.reportName;
+        } else {
+            digest = digestOf(outcomeFile);
+            if (previousEntry != null && digest.equals(previousEntry.digest)) {
+                reportName = previousEntry.reportName;
+            } else {
+                Optional<TestOutcome> outcome = summaryOf(outcomeFile, loader);
+                if (!outcome.isPresent()) {
+                    return Optional.absent();
+                }
+                reportName = outcome.get().getReportName();
+            }
+        }
+        return Optional.of(new OutcomeFileEntry(size, lastModified, digest, reportName,
+                                                tagsOf(reportName, previousEntry, outcomesByReportName)));
+    }
+
+    /**
+     * One entry for each test outcome in a journal, named after the journal and the report name of the outcome.
+     */
+    private static Map<String, OutcomeFileEntry> journalEntriesFor(File journalFile,
+                                                                   OutcomeManifest previousManifest,
+                                                                   Map<String, TestOutcome> outcomesByReportName) throws IOException {
+        Map<String, OutcomeFileEntry> entries = Maps.newHashMap();
+        OutcomeJournalSegment journal = OutcomeJournalSegment.open(journalFile);
+        for (int i = 0; i < journal.size(); i++) {
+            String reportName = journal.reportNameOf(i);
+            String entryName = journalFile.getName() + "#" + reportName;
+            byte[] storedRecord = journal.storedRecordAt(i);
+            OutcomeFileEntry previousEntry = previousManifest.entries.get(entryName);
+            entries.put(entryName, new OutcomeFileEntry(storedRecord.length, journalFile.lastModified(),
+                                                        DigestUtils.md5Hex(storedRecord), reportName,
+                                                        tagsOf(reportName, previousEntry, outcomesByReportName)));
+        }
+        return entries;
+    }
+
+    private static List<String> tagsOf(String reportName,
+                                       OutcomeFileEntry previousEntry,
+                                       Map<String, TestOutcome> outcomesByReportName) {
+        TestOutcome loadedOutcome = outcomesByReportName.get(reportName);
+        return (loadedOutcome != null) ? tagValuesOf(loadedOutcome)
+             : (previousEntry != null) ? previousEntry.tags : Lists.<String>newArrayList();
+    }
+
+    /**
+     * Only the report name of a changed outcome is needed here, so JSON outcomes are read without their test steps.
+     */
+    private static Optional<TestOutcome> summaryOf(File outcomeFile, AcceptanceTestLoader loader) {
+        if (loader instanceof JSONTestOutcomeReporter) {
+            return ((JSONTestOutcomeReporter) loader).loadSummaryFrom(outcomeFile);
+        }
+        return loader.loadReportFrom(outcomeFile);
+    }
+
+    private static String digestOf(File outcomeFile) throws IOException {
+        try (InputStream input = new BufferedInputStream(new FileInputStream(outcomeFile))) {
+            return DigestUtils.md5Hex(input);
+        }
+    }
+
+    private static List<String> tagValuesOf(TestOutcome outcome) {
+        List<String> tagValues = Lists.newArrayList();
+        for (TestTag tag : outcome.getTags()) {
+            tagValues.add(tag.getType() + ":" + tag.getName());
+        }
+        return tagValues;
+    }
+
+    /**
+     * Have any outcome files been added, modified or removed since the previous manifest was written?
+     */
+    public boolean hasChangedSince(OutcomeManifest previousManifest) {
+        if (!entries.keySet().equals(previousManifest.entries.keySet())) {
+            return true;
+        }
+        for (Map.Entry<String, OutcomeFileEntry> entry : entries.entrySet()) {
+            if (!entry.getValue().digest.equals(previousManifest.entries.get(entry.getKey()).digest)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Do the outcomes have the same tag types as when the previous manifest was written?
+     * Manifests written before tag types were recorded never match, so that every page is regenerated once.
+     */
+    public boolean hasSameTagTypesAs(OutcomeManifest previousManifest) {
+        return previousManifest.tagTypes != null
+               && Sets.newHashSet(tagTypes).equals(Sets.newHashSet(previousManifest.tagTypes));
+    }
+
+    /**
+     * The tags of every outcome that has been added, modified or removed since the previous manifest was written.
+     * Tags are taken from both the old and the new version of a modified outcome, so that pages for tags an
+     * outcome no longer carries are refreshed as well.
+     */
+    public Set<TestTag> tagsAffectedSince(OutcomeManifest previousManifest) {
+        Set<TestTag> affectedTags = Sets.newHashSet();
+        for (Map.Entry<String, OutcomeFileEntry> entry : entries.entrySet()) {
+            OutcomeFileEntry previousEntry = previousManifest.entries.get(entry.getKey());
+            if (previousEntry == null) {
+                affectedTags.addAll(entry.getValue().getTags());
+            } else if (!entry.getValue().digest.equals(previousEntry.digest)) {
+                affectedTags.addAll(entry.getValue().getTags());
+                affectedTags.addAll(previousEntry.getTags());
+            }
+        }
+        for (Map.Entry<String, OutcomeFileEntry> previousEntry : previousManifest.entries.entrySet()) {
+            if (!entries.containsKey(previousEntry.getKey())) {
+                affectedTags.addAll(previousEntry.getValue().getTags());
+            }
+        }
+        return affectedTags;
+    }
+
+    private static class OutcomeFileEntry {
+        private final long size;
+        private final long lastModified;
+        private final String digest;
+        private final String reportName;
+        private final List<String> tags;
+
+        private OutcomeFileEntry(long size, long lastModified, String digest, String reportName, List<String> tags) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.digest = digest;
+            this.reportName = reportName;
+            this.tags = tags;
+        }
+
+        private Set<TestTag> getTags() {
+            Set<TestTag> testTags = Sets.newHashSet();
+            for (String tag : tags) {
+                testTags.add(TestTag.withValue(tag));
+            }
+            return testTags;
+        }
+    }
+}
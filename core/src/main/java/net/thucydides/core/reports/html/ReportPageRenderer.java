@@ -0,0 +1,111 @@
+package net.thucydides.core.reports.html;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Renders report pages on a bounded pool of worker threads.
+ * Each page is an independent template merge written to its own file, so pages can be rendered in any order and
+ * the files produced are the same as if they had been rendered one after the other.
+ * Only a few pages per thread are queued at a time: when the queue is full, the thread submitting the pages
+ * renders the next one itself, so the page contexts waiting to be rendered never pile up in memory.
+ * With a single thread, pages are rendered on the calling thread as they are submitted.
+ */
+class ReportPageRenderer {
+
+    private static final int PAGES_QUEUED_PER_THREAD = 4;
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+
+    ReportPageRenderer(int threads) {
+        if (threads > 1) {
+            this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<Runnable>(threads * PAGES_QUEUED_PER_THREAD),
+                    new ThreadFactoryBuilder().setNameFormat("report-page-renderer-%d").setDaemon(true).build(),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        } else {
+            this.executor = null;
+        }
+    }
+
+    static ReportPageRenderer onTheCallingThread() {
+        return new ReportPageRenderer(1);
+    }
+
+    void render(final Callable<?> page) throws IOException {
+        if (executor == null) {
+            renderNow(page);
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (firstFailure.get() != null) {
+                    return;
+                }
+                try {
+                    page.call();
+                } catch (Throwable failure) {
+                    firstFailure.compareAndSet(null, failure);
+                }
+            }
+        });
+    }
+
+    private void renderNow(Callable<?> page) throws IOException {
+        try {
+            page.call();
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to render report page", e);
+        }
+    }
+
+    /**
+     * Wait for every submitted page to be rendered, and report the first page that could not be.
+     * Once a page has failed, the pages that are still queued are skipped.
+     */
+    void waitUntilAllPagesAreRendered() throws IOException {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                // keep waiting until the queued pages have been rendered
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            throw new IOException("Interrupted while rendering report pages", e);
+        }
+        rethrowFirstFailure();
+    }
+
+    private void rethrowFirstFailure() throws IOException {
+        Throwable failure = firstFailure.get();
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new IOException("Failed to render report page", failure);
+        }
+    }
+
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
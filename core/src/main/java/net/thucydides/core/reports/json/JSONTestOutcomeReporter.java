@@ -10,6 +10,8 @@ import net.thucydides.core.reports.AcceptanceTestLoader;
 import net.thucydides.core.reports.AcceptanceTestReporter;
 import net.thucydides.core.reports.OutcomeFormat;
 import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.reports.ThreadSafeReporter;
+import net.thucydides.core.reports.json.gson.GsonJSONConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,7 +19,7 @@ import java.io.*;
 import java.util.List;
 import java.util.Locale;
 
-public class JSONTestOutcomeReporter implements AcceptanceTestReporter, AcceptanceTestLoader {
+public class JSONTestOutcomeReporter implements AcceptanceTestReporter, AcceptanceTestLoader, ThreadSafeReporter {
 
     private static final Logger LOGGER = LoggerFactory
             .getLogger(JSONTestOutcomeReporter.class);
@@ -82,6 +84,24 @@ public class JSONTestOutcomeReporter implements AcceptanceTestReporter, Acceptan
         }
     }
 
+    /**
+     * Load the top-level fields of a test outcome (title, result, duration, tags and so on) without its
+     * test steps or data table. This is much cheaper for large data-driven outcomes, and is enough for
+     * pages that only list or count test results. Other JSON converters load the whole test outcome.
+     */
+    public Optional<TestOutcome> loadSummaryFrom(final File reportFile) {
+        try(BufferedInputStream report = new BufferedInputStream(new FileInputStream(reportFile))) {
+            if (jsonConverter instanceof GsonJSONConverter) {
+                return Optional.fromNullable(((GsonJSONConverter) jsonConverter).summaryFromJson(report));
+            }
+            return Optional.fromNullable(jsonConverter.fromJson(report));
+        } catch (Throwable e) {
+            LOGGER.warn("this file was not a valid JSON Serenity test report: " + reportFile.getName()
+                        + System.lineSeparator(), e);
+            return Optional.absent();
+        }
+    }
+
     @Override
     public List<TestOutcome> loadReportsFrom(File outputDirectory) {
         File[] reportFiles = getAllJsonFilesFrom(outputDirectory);
@@ -1,23 +1,35 @@
 package net.thucydides.core.reports.json.gson;
 
-import com.google.gson.*;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 
-public class ClassTypeAdapter implements JsonSerializer<Class<?>>, JsonDeserializer<Class<?>> {
+public class ClassTypeAdapter extends TypeAdapter<Class<?>> {
 
     @Override
-    public JsonElement serialize(Class<?> src, Type typeOfSrc, JsonSerializationContext context) {
-        return new JsonPrimitive(src.getName());
+    public void write(JsonWriter out, Class<?> value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(value.getName());
+        }
     }
 
     @Override
-    public Class<?> deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-            throws JsonParseException {
+    public Class<?> read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String className = in.nextString();
         try {
-            return Class.forName(json.getAsString());
+            return Class.forName(className);
         } catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
+            throw new JsonParseException(e);
         }
     }
 
@@ -1,26 +1,51 @@
 package net.thucydides.core.reports.json.gson;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 import java.util.Collection;
 
-public class CollectionAdapter implements JsonSerializer<Collection<?>> {
-  @Override
-  public JsonElement serialize(Collection<?> src, Type typeOfSrc, JsonSerializationContext context) {
-    if (src == null || src.isEmpty()) // exclusion is made here
-      return null;
+/**
+ * Leaves empty collections out of the JSON output.
+ * Non-empty collections are streamed straight to the writer by the standard Gson collection adapter,
+ * rather than being built up as a JSON tree first.
+ */
+public class CollectionAdapter<E extends Collection<?>> extends TypeAdapter<E> {
 
-    JsonArray array = new JsonArray();
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked") // T has just been checked to be a collection type
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (!Collection.class.isAssignableFrom(type.getRawType())) {
+                return null;
+            }
+            TypeAdapter<Collection<?>> delegate = (TypeAdapter<Collection<?>>) gson.getDelegateAdapter(this, type);
+            return (TypeAdapter<T>) new CollectionAdapter<>(delegate);
+        }
+    };
 
-    for (Object child : src) {
-      JsonElement element = context.serialize(child);
-      array.add(element);
+    private final TypeAdapter<E> delegate;
+
+    public CollectionAdapter(TypeAdapter<E> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void write(JsonWriter out, E collection) throws IOException {
+        if (collection == null || collection.isEmpty()) { // exclusion is made here
+            out.nullValue();
+        } else {
+            delegate.write(out, collection);
+        }
     }
 
-    return array;
-  }
-}
\ No newline at end of file
+    @Override
+    public E read(JsonReader in) throws IOException {
+        return delegate.read(in);
+    }
+}
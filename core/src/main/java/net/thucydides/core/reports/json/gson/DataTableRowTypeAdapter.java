@@ -0,0 +1,88 @@
+package net.thucydides.core.reports.json.gson;
+
+import com.google.common.collect.Lists;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import net.thucydides.core.model.DataTableRow;
+import net.thucydides.core.model.TestResult;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads and writes data table rows directly from and to the JSON stream.
+ * Cell values are handled by the standard Gson object adapter, so numbers are read back as doubles.
+ */
+public class DataTableRowTypeAdapter extends TypeAdapter<DataTableRow> {
+
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked") // T has just been checked to be DataTableRow
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != DataTableRow.class) {
+                return null;
+            }
+            return (TypeAdapter<T>) new DataTableRowTypeAdapter(gson.getAdapter(Object.class));
+        }
+    };
+
+    private final TypeAdapter<Object> valueAdapter;
+
+    public DataTableRowTypeAdapter(TypeAdapter<Object> valueAdapter) {
+        this.valueAdapter = valueAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, DataTableRow row) throws IOException {
+        if (row == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        if (!row.getValues().isEmpty()) {
+            out.name("values").beginArray();
+            for (Object value : row.getValues()) {
+                valueAdapter.write(out, value);
+            }
+            out.endArray();
+        }
+        if (row.getResult() != null) {
+            out.name("result").value(row.getResult().name());
+        }
+        out.endObject();
+    }
+
+    @Override
+    public DataTableRow read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<Object> values = Lists.newArrayList();
+        TestResult result = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+            } else if (name.equals("values")) {
+                in.beginArray();
+                while (in.hasNext()) {
+                    values.add(valueAdapter.read(in));
+                }
+                in.endArray();
+            } else if (name.equals("result")) {
+                result = TestResult.valueOf(in.nextString());
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return new DataTableRow(values, result);
+    }
+}
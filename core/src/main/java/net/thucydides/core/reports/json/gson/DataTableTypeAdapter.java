@@ -0,0 +1,178 @@
+package net.thucydides.core.reports.json.gson;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import net.thucydides.core.model.DataSetDescriptor;
+import net.thucydides.core.model.DataTable;
+import net.thucydides.core.model.DataTableRow;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads and writes data tables directly from and to the JSON stream, one row at a time.
+ * Data-driven tests can have thousands of rows, so the table is never built up as an intermediate JSON tree.
+ * The JSON layout is the same as the one produced by the reflective Gson binding, and the predefined-rows flag
+ * and current row are restored on read. Tables written without them work them out from the rows, as before.
+ */
+public class DataTableTypeAdapter extends TypeAdapter<DataTable> {
+
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked") // T has just been checked to be DataTable
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != DataTable.class) {
+                return null;
+            }
+            return (TypeAdapter<T>) new DataTableTypeAdapter(gson.getAdapter(DataTableRow.class));
+        }
+    };
+
+    private final TypeAdapter<DataTableRow> rowAdapter;
+
+    public DataTableTypeAdapter(TypeAdapter<DataTableRow> rowAdapter) {
+        this.rowAdapter = rowAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, DataTable table) throws IOException {
+        if (table == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeHeaders(out, table.getHeaders());
+        writeRows(out, table.getRows());
+        out.name("predefinedRows").value(table.hasPredefinedRows());
+        out.name("currentRow").value(table.getCurrentRowNumber());
+        writeDescriptors(out, table.getDataSetDescriptors());
+        out.endObject();
+    }
+
+    private void writeHeaders(JsonWriter out, List<String> headers) throws IOException {
+        if (headers.isEmpty()) {
+            return;
+        }
+        out.name("headers").beginArray();
+        for (String header : headers) {
+            out.value(header);
+        }
+        out.endArray();
+    }
+
+    private void writeRows(JsonWriter out, List<DataTableRow> rows) throws IOException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        out.name("rows").beginArray();
+        for (DataTableRow row : rows) {
+            rowAdapter.write(out, row);
+        }
+        out.endArray();
+    }
+
+    private void writeDescriptors(JsonWriter out, List<DataSetDescriptor> descriptors) throws IOException {
+        if (descriptors == null || descriptors.isEmpty()) {
+            return;
+        }
+        out.name("dataSetDescriptors").beginArray();
+        for (DataSetDescriptor descriptor : descriptors) {
+            out.beginObject();
+            out.name("startRow").value(descriptor.getStartRow());
+            out.name("rowCount").value(descriptor.getRowCount());
+            out.name("name").value(descriptor.getName());
+            out.name("description").value(descriptor.getDescription());
+            out.endObject();
+        }
+        out.endArray();
+    }
+
+    @Override
+    public DataTable read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<String> headers = Lists.newArrayList();
+        List<DataTableRow> rows = Lists.newArrayList();
+        List<DataSetDescriptor> descriptors = ImmutableList.of(DataSetDescriptor.DEFAULT_DESCRIPTOR);
+        Boolean predefinedRows = null;
+        int currentRow = 0;
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+            } else if (name.equals("headers")) {
+                in.beginArray();
+                while (in.hasNext()) {
+                    headers.add(in.nextString());
+                }
+                in.endArray();
+            } else if (name.equals("rows")) {
+                in.beginArray();
+                while (in.hasNext()) {
+                    rows.add(rowAdapter.read(in));
+                }
+                in.endArray();
+            } else if (name.equals("predefinedRows")) {
+                predefinedRows = in.nextBoolean();
+            } else if (name.equals("currentRow")) {
+                currentRow = in.nextInt();
+            } else if (name.equals("dataSetDescriptors")) {
+                descriptors = readDescriptors(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        DataTable.DataTableBuilder table = DataTable.withHeaders(headers).andRowData(rows).andDescriptors(descriptors);
+        if (predefinedRows != null) {
+            table = table.andState(predefinedRows, currentRow);
+        }
+        return table.build();
+    }
+
+    private List<DataSetDescriptor> readDescriptors(JsonReader in) throws IOException {
+        ImmutableList.Builder<DataSetDescriptor> descriptors = ImmutableList.builder();
+        in.beginArray();
+        while (in.hasNext()) {
+            descriptors.add(readDescriptor(in));
+        }
+        in.endArray();
+        return descriptors.build();
+    }
+
+    private DataSetDescriptor readDescriptor(JsonReader in) throws IOException {
+        int startRow = 0;
+        int rowCount = 0;
+        String name = null;
+        String description = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            String field = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+            } else if (field.equals("startRow")) {
+                startRow = in.nextInt();
+            } else if (field.equals("rowCount")) {
+                rowCount = in.nextInt();
+            } else if (field.equals("name")) {
+                name = in.nextString();
+            } else if (field.equals("description")) {
+                description = in.nextString();
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return new DataSetDescriptor(startRow, rowCount, name, description);
+    }
+}
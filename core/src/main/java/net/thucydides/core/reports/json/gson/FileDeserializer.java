@@ -1,15 +0,0 @@
-package net.thucydides.core.reports.json.gson;
-
-import com.google.gson.*;
-
-import java.io.File;
-import java.lang.reflect.Type;
-
-/**
- * Created by john on 11/02/15.
- */
-public class FileDeserializer implements JsonDeserializer<File> {
-    public File deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-        return new File(json.getAsJsonPrimitive().getAsString());
-    }
-}
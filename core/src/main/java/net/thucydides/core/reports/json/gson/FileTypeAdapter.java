@@ -0,0 +1,33 @@
+package net.thucydides.core.reports.json.gson;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Files are stored by name only, as screenshots and HTML sources are always kept next to the JSON reports.
+ */
+public class FileTypeAdapter extends TypeAdapter<File> {
+
+    @Override
+    public void write(JsonWriter out, File file) throws IOException {
+        if (file == null) {
+            out.nullValue();
+        } else {
+            out.value(file.getName());
+        }
+    }
+
+    @Override
+    public File read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return new File(in.nextString());
+    }
+}
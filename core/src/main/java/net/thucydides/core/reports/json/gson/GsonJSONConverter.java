@@ -1,7 +1,11 @@
 package net.thucydides.core.reports.json.gson;
 
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import com.google.inject.Inject;
 import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.model.TestOutcome;
@@ -9,7 +13,7 @@ import net.thucydides.core.reports.json.JSONConverter;
 import net.thucydides.core.util.EnvironmentVariables;
 
 import java.io.*;
-import java.util.Collection;
+import java.nio.charset.StandardCharsets;
 
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
@@ -19,6 +23,11 @@ public class GsonJSONConverter implements JSONConverter {
 
     Gson gson;
 
+    /**
+     * Reads only the top-level fields of a test outcome, skipping over the test steps and data table in the stream.
+     */
+    Gson summaryGson;
+
     protected Gson getGson() {
         return gson;
     }
@@ -28,16 +37,27 @@ public class GsonJSONConverter implements JSONConverter {
         this.environmentVariables = environmentVariables;
         GsonBuilder gsonBuilder = new GsonBuilder()
                                             .registerTypeAdapterFactory(OptionalTypeAdapter.FACTORY)
-                                            .registerTypeHierarchyAdapter(Collection.class, new CollectionAdapter())
-                                            .registerTypeAdapter(File.class, new FileSerializer())
-                                            .registerTypeAdapter(File.class, new FileDeserializer())
+                                            .registerTypeAdapterFactory(CollectionAdapter.FACTORY)
+                                            .registerTypeAdapterFactory(DataTableTypeAdapter.FACTORY)
+                                            .registerTypeAdapterFactory(DataTableRowTypeAdapter.FACTORY)
+                                            .registerTypeAdapter(File.class, new FileTypeAdapter())
                                             .registerTypeAdapter(Class.class, new ClassTypeAdapter());
         this.gson = (usePrettyPrinting()) ? gsonBuilder.setPrettyPrinting().create() : gsonBuilder.create();
+        this.summaryGson = gsonBuilder.addDeserializationExclusionStrategy(new SkipStepsAndExampleData()).create();
     }
 
     @Override
     public TestOutcome fromJson(InputStream inputStream) throws IOException {
-        TestOutcome testOutcome = gson.fromJson(new InputStreamReader(inputStream), TestOutcome.class);
+        TestOutcome testOutcome = gson.fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), TestOutcome.class);
+        return isValid(testOutcome) ? testOutcome : null;
+    }
+
+    /**
+     * Read the title, result, duration, tags and other top-level fields of a test outcome,
+     * without loading its test steps or data table.
+     */
+    public TestOutcome summaryFromJson(InputStream inputStream) throws IOException {
+        TestOutcome testOutcome = summaryGson.fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), TestOutcome.class);
         return isValid(testOutcome) ? testOutcome : null;
     }
 
@@ -48,11 +68,40 @@ public class GsonJSONConverter implements JSONConverter {
     @Override
     public void toJson(TestOutcome testOutcome, OutputStream outputStream) throws IOException {
         testOutcome.calculateDynamicFieldValues();
-        try(Writer out = new OutputStreamWriter(outputStream)) {
+        try(Writer out = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
             gson.toJson(testOutcome, out);
         }
     }
 
+    /**
+     * Read and write the JSON document of a test outcome through a JSON reader or writer,
+     * for formats that store the same document in another form.
+     */
+    public TestOutcome fromJson(JsonReader jsonReader) throws IOException {
+        TestOutcome testOutcome = gson.fromJson(jsonReader, TestOutcome.class);
+        return (testOutcome != null) && isValid(testOutcome) ? testOutcome : null;
+    }
+
+    public void toJson(TestOutcome testOutcome, JsonWriter jsonWriter) throws IOException {
+        testOutcome.calculateDynamicFieldValues();
+        gson.toJson(testOutcome, TestOutcome.class, jsonWriter);
+        jsonWriter.flush();
+    }
+
+    private static class SkipStepsAndExampleData implements ExclusionStrategy {
+
+        @Override
+        public boolean shouldSkipField(FieldAttributes field) {
+            return field.getDeclaringClass() == TestOutcome.class
+                    && (field.getName().equals("testSteps") || field.getName().equals("dataTable"));
+        }
+
+        @Override
+        public boolean shouldSkipClass(Class<?> type) {
+            return false;
+        }
+    }
+
     private boolean usePrettyPrinting() {
         return environmentVariables.getPropertyAsBoolean(ThucydidesSystemProperty.JSON_PRETTY_PRINTING, false);
     }
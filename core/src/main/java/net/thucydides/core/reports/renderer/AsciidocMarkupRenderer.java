@@ -13,7 +13,7 @@ public class AsciidocMarkupRenderer implements MarkupRenderer {
 
     public AsciidocMarkupRenderer() {}
 
-    private Asciidoctor getAsciidoctor() {
+    private synchronized Asciidoctor getAsciidoctor() {
         if (asciidoctor == null) {
             asciidoctor = create();
         }
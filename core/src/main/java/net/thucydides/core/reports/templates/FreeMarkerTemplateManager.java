@@ -1,25 +1,64 @@
 package net.thucydides.core.reports.templates;
 
+import freemarker.cache.StrongCacheStorage;
+import freemarker.ext.beans.BeansWrapper;
 import freemarker.template.Configuration;
-import freemarker.template.DefaultObjectWrapper;
+import freemarker.template.DefaultObjectWrapperBuilder;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * Manages velocity templates.
- *
+ * Manages FreeMarker templates.
+ * The report templates are read from the classpath, so they are parsed once, kept for as long as the
+ * template manager is used, and never checked for updates.
  */
 public class FreeMarkerTemplateManager implements TemplateManager {
 
     Configuration cfg;
 
+    private final ConcurrentMap<String, ReportTemplate> templates = new ConcurrentHashMap<>();
+
     public FreeMarkerTemplateManager() throws Exception {
         cfg = new Configuration();
         cfg.setNumberFormat("0.######");
         cfg.setClassForTemplateLoading(getClass(), "/");
-        cfg.setObjectWrapper(new DefaultObjectWrapper());
+        cfg.setObjectWrapper(objectWrapper());
+        cfg.setCacheStorage(new StrongCacheStorage());
+        cfg.setTemplateUpdateDelay(Integer.MAX_VALUE);
+    }
+
+    /**
+     * The object wrapper is shared with every configuration using the same settings, so the bean introspection
+     * of the test outcomes and formatters is only done once.
+     * Wrapped objects are not cached: they are cheap to create, and caching them made pages no faster to render.
+     * The templates call methods on the test outcomes and formatters, so methods stay exposed.
+     */
+    private BeansWrapper objectWrapper() {
+        DefaultObjectWrapperBuilder wrapperBuilder = new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_0);
+        wrapperBuilder.setUseModelCache(false);
+        wrapperBuilder.setExposureLevel(BeansWrapper.EXPOSE_SAFE);
+        return wrapperBuilder.build();
     }
 
     public ReportTemplate getTemplateFrom(final String template) throws Exception {
-        return new FreemarkerReportTemplate(cfg, template);
+        ReportTemplate reportTemplate = templates.get(template);
+        if (reportTemplate == null) {
+            reportTemplate = new FreemarkerReportTemplate(cfg, template);
+            ReportTemplate existingTemplate = templates.putIfAbsent(template, reportTemplate);
+            if (existingTemplate != null) {
+                reportTemplate = existingTemplate;
+            }
+        }
+        return reportTemplate;
     }
 
+    /**
+     * Load and parse these templates ahead of time, so that they are ready before the first page is rendered.
+     */
+    public void preloadTemplates(final String... templates) throws Exception {
+        for (String template : templates) {
+            getTemplateFrom(template);
+        }
+    }
 }
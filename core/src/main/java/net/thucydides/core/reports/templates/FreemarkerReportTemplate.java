@@ -13,10 +13,12 @@ import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-public class FreemarkerReportTemplate implements ReportTemplate {
+public class FreemarkerReportTemplate implements StreamingReportTemplate {
 
     private final Template template;
+    private final AtomicBoolean exceptionHandlerInstalled = new AtomicBoolean(false);
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FreemarkerReportTemplate.class);
 
@@ -29,14 +31,13 @@ public class FreemarkerReportTemplate implements ReportTemplate {
     }
 
     public void merge(Map<String, Object> context, StringWriter writer) throws TemplateMergeException {
+        merge(context, (Writer) writer);
+    }
+
+    public void merge(Map<String, Object> context, Writer writer) throws TemplateMergeException {
         try {
             template.process(context, writer);
-            template.setTemplateExceptionHandler(new TemplateExceptionHandler() {
-                @Override
-                public void handleTemplateException(TemplateException te, Environment env, Writer out) throws TemplateException {
-                    te.printStackTrace();
-                }
-            });
+            installExceptionHandlerAfterFirstMerge();
         } catch (TemplateException templateException) {
             LOGGER.error("Syntax error in report template: {}\n{}", templateException.getMessage(), templateException.getFTLInstructionStack());
             throw new TemplateMergeException("Failed to process FreeMarker template", templateException);
@@ -46,4 +47,19 @@ public class FreemarkerReportTemplate implements ReportTemplate {
             throw new TemplateMergeException("Number format exception during template merge", e);
         }
     }
+
+    /**
+     * Once a template has been merged successfully, errors in later pages are logged rather than failing the
+     * report. The shared template is only changed once, as it may be merged from several threads.
+     */
+    private void installExceptionHandlerAfterFirstMerge() {
+        if (exceptionHandlerInstalled.compareAndSet(false, true)) {
+            template.setTemplateExceptionHandler(new TemplateExceptionHandler() {
+                @Override
+                public void handleTemplateException(TemplateException te, Environment env, Writer out) throws TemplateException {
+                    te.printStackTrace();
+                }
+            });
+        }
+    }
 }
@@ -0,0 +1,12 @@
+package net.thucydides.core.reports.templates;
+
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * A report template that can be merged straight into any writer, such as a report file,
+ * rather than into a StringWriter holding the whole page.
+ */
+public interface StreamingReportTemplate extends ReportTemplate {
+    void merge(Map<String,Object> context, Writer writer) throws TemplateMergeException;
+}
@@ -0,0 +1,62 @@
+package net.thucydides.core.reports.templates;
+
+import com.google.common.collect.ImmutableSortedSet;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of how many times each report template has been merged, and how long the merges took.
+ * Templates can be merged from several threads at once.
+ */
+public class TemplateRenderTimes {
+
+    private final ConcurrentMap<String, AtomicLong> renderCounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> renderNanos = new ConcurrentHashMap<>();
+
+    public void record(String template, long elapsedNanos) {
+        counterFor(renderCounts, template).incrementAndGet();
+        counterFor(renderNanos, template).addAndGet(elapsedNanos);
+    }
+
+    private AtomicLong counterFor(ConcurrentMap<String, AtomicLong> counters, String template) {
+        AtomicLong counter = counters.get(template);
+        if (counter == null) {
+            AtomicLong newCounter = new AtomicLong();
+            counter = counters.putIfAbsent(template, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        return counter;
+    }
+
+    public Set<String> getTemplates() {
+        return ImmutableSortedSet.copyOf(renderCounts.keySet());
+    }
+
+    public long getRenderCount(String template) {
+        AtomicLong count = renderCounts.get(template);
+        return (count == null) ? 0 : count.get();
+    }
+
+    public long getTotalRenderTimeInMilliseconds(String template) {
+        AtomicLong nanos = renderNanos.get(template);
+        return (nanos == null) ? 0 : TimeUnit.NANOSECONDS.toMillis(nanos.get());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder();
+        for (String template : getTemplates()) {
+            summary.append(System.lineSeparator())
+                   .append("  ").append(template).append(": ")
+                   .append(getRenderCount(template)).append(" pages in ")
+                   .append(getTotalRenderTimeInMilliseconds(template)).append(" ms");
+        }
+        return summary.toString();
+    }
+}
@@ -10,6 +10,7 @@ import net.thucydides.core.reports.AcceptanceTestLoader;
 import net.thucydides.core.reports.AcceptanceTestReporter;
 import net.thucydides.core.reports.OutcomeFormat;
 import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.reports.ThreadSafeReporter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,12 +25,18 @@ import static net.thucydides.core.model.ReportType.XML;
  * Generates acceptance test results in XML form.
  * 
  */
-public class XMLTestOutcomeReporter implements AcceptanceTestReporter, AcceptanceTestLoader {
+public class XMLTestOutcomeReporter implements AcceptanceTestReporter, AcceptanceTestLoader, ThreadSafeReporter {
 
     private File outputDirectory;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(XMLTestOutcomeReporter.class);
 
+    /**
+     * XStream is thread-safe once configured, so one instance is shared by every report, including reports
+     * written in parallel by the report service.
+     */
+    private static final XStream XSTREAM = configuredXStream();
+
     private transient String qualifier;
 
     public void setQualifier(final String qualifier) {
@@ -57,35 +64,28 @@ public class XMLTestOutcomeReporter implements AcceptanceTestReporter, Acceptanc
     public File generateReportFor(final TestOutcome testOutcome, final TestOutcomes allTestOutcomes) throws IOException {
         TestOutcome storedTestOutcome = testOutcome.withQualifier(qualifier);
         Preconditions.checkNotNull(outputDirectory);
-        XStream xstream = new XStream();
-        xstream.alias("acceptance-test-run", TestOutcome.class);
-        xstream.registerConverter(usingXmlConverter());
 
         String reportFilename = reportFor(storedTestOutcome);
-
-        OutputStream outputStream = null;
-        OutputStreamWriter writer = null;
         File report = new File(getOutputDirectory(), reportFilename);
 
         LOGGER.info("Generating XML report for {} to file {}", testOutcome.getTitle(), report.getAbsolutePath());
 
-        try {
-            outputStream = new FileOutputStream(report);
-            writer = new OutputStreamWriter(outputStream, Charset.forName("UTF-8"));
-            xstream.toXML(storedTestOutcome, writer);
-            LOGGER.info("XML report generated ({} bytes) {}",report.getAbsolutePath(),report.length());
-        } catch(IOException failedToWriteReport) {
-            throw failedToWriteReport;
-        } finally {
-            writer.flush();
-            writer.close();
-            outputStream.close();
+        try(Writer writer = new OutputStreamWriter(new BufferedOutputStream(new FileOutputStream(report)), Charset.forName("UTF-8"))) {
+            XSTREAM.toXML(storedTestOutcome, writer);
         }
+        LOGGER.info("XML report generated ({} bytes) {}",report.getAbsolutePath(),report.length());
         return report;
     }
 
-    private TestOutcomeConverter usingXmlConverter() {
-        return new TestOutcomeConverter();
+    private static XStream configuredXStream() {
+        XStream xstream = new XStream();
+        xstream.alias("acceptance-test-run", TestOutcome.class);
+        xstream.registerConverter(new TestOutcomeConverter());
+        return xstream;
+    }
+
+    static XStream sharedXStream() {
+        return XSTREAM;
     }
 
     private String reportFor(final TestOutcome testOutcome) {
@@ -93,26 +93,14 @@ public class XMLTestOutcomeReporter implements AcceptanceTestReporter, Acceptanc
     }
 
     public Optional<TestOutcome> loadReportFrom(final File reportFile) {
-        InputStream input = null;
-        InputStreamReader reader = null;
-        try {
-            XStream xstream = new XStream();
-            xstream.alias("acceptance-test-run", TestOutcome.class);
-            xstream.registerConverter(usingXmlConverter());
-            input = new FileInputStream(reportFile);
-            reader = new InputStreamReader(input, Charset.forName("UTF-8"));
-            return Optional.of((TestOutcome) xstream.fromXML(reader));
+        try(Reader reader = new InputStreamReader(new BufferedInputStream(new FileInputStream(reportFile)), Charset.forName("UTF-8"))) {
+            return Optional.of((TestOutcome) XSTREAM.fromXML(reader));
         } catch (CannotResolveClassException e) {
             LOGGER.warn("Tried to load a file that is not a thucydides report: " + reportFile);
             return Optional.absent();
-        } catch (FileNotFoundException e) {
+        } catch (IOException e) {
             LOGGER.warn("Tried to load a file that is not a thucydides report: " + reportFile);
             return Optional.absent();
-        } finally {
-            try {
-                reader.close();
-                input.close();
-            } catch (IOException ignored) {}
         }
     }
 
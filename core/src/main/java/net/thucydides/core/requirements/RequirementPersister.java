@@ -9,7 +9,6 @@ import net.thucydides.core.requirements.model.Requirement;
 
 import java.io.*;
 import java.lang.reflect.Type;
-import java.util.Collection;
 import java.util.Map;
 import java.util.SortedMap;
 
@@ -23,7 +22,7 @@ public class RequirementPersister {
         this.rootDirectory = rootDirectory;
         this.gson = new GsonBuilder()
                 .registerTypeAdapterFactory(OptionalTypeAdapter.FACTORY)
-                .registerTypeHierarchyAdapter(Collection.class, new CollectionAdapter()).create();
+                .registerTypeAdapterFactory(CollectionAdapter.FACTORY).create();
 
     }
 
@@ -0,0 +1,344 @@
+package net.thucydides.core.screenshots;
+
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.CopyOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resizes and stores queued screenshots on a pool of background threads.
+ * The queue is bounded: when it is full, the thread that took the screenshot processes it itself,
+ * which slows down the browser threads rather than letting unprocessed screenshots pile up.
+ */
+public class MultithreadScreenshotProcessor implements ScreenshotProcessor {
+
+    private static final int QUEUED_SCREENSHOTS_PER_THREAD = 16;
+
+    private final EnvironmentVariables environmentVariables;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Identical screenshots share the same destination file, so they must not be stored by two threads at once.
+     */
+    private final Striped<Lock> destinationLocks;
+
+    private final Lock inFlightLock = new ReentrantLock();
+    private final Condition allProcessed = inFlightLock.newCondition();
+    private int inFlight = 0;
+
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong totalProcessingTime = new AtomicLong();
+    private final AtomicLong maxProcessingTime = new AtomicLong();
+
+    private final Logger logger = LoggerFactory.getLogger(MultithreadScreenshotProcessor.class);
+
+    @Inject
+    public MultithreadScreenshotProcessor(EnvironmentVariables environmentVariables) {
+        this(environmentVariables,
+             ThucydidesSystemProperty.THUCYDIDES_SCREENSHOT_PROCESSOR_THREADS.integerFrom(environmentVariables,
+                                                                       Runtime.getRuntime().availableProcessors()));
+    }
+
+    protected MultithreadScreenshotProcessor(EnvironmentVariables environmentVariables, int threadCount) {
+        this.environmentVariables = environmentVariables;
+        int threads = Math.max(1, threadCount);
+        this.destinationLocks = Striped.lock(threads * 4);
+        int queueSize = ThucydidesSystemProperty.THUCYDIDES_SCREENSHOT_QUEUE_SIZE.integerFrom(environmentVariables,
+                                                                        threads * QUEUED_SCREENSHOTS_PER_THREAD);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<Runnable>(Math.max(1, queueSize)),
+                                               new ThreadFactoryBuilder().setNameFormat("screenshot-processor-%d")
+                                                                         .setDaemon(true)
+                                                                         .build(),
+                                               new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public void queueScreenshot(QueuedScreenshot queuedScreenshot) {
+        ProcessScreenshotTask task = new ProcessScreenshotTask(queuedScreenshot);
+        startedProcessing();
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException queueFullOrShutDown) {
+            task.run();
+        }
+    }
+
+    /**
+     * Blocks until every screenshot queued so far has been processed.
+     */
+    public void waitUntilDone() {
+        inFlightLock.lock();
+        try {
+            while (inFlight > 0) {
+                allProcessed.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlightLock.unlock();
+        }
+    }
+
+    public void terminate() {
+        executor.shutdown();
+        logger.debug("Processed {} screenshots (average {} ms, maximum {} ms from queuing to storage)",
+                     getProcessedCount(), getAverageProcessingTime(), getMaxProcessingTime());
+    }
+
+    public boolean isEmpty() {
+        return getInFlightCount() == 0;
+    }
+
+    /**
+     * The number of screenshots queued but not yet processed, including the ones being processed right now.
+     */
+    public int getInFlightCount() {
+        inFlightLock.lock();
+        try {
+            return inFlight;
+        } finally {
+            inFlightLock.unlock();
+        }
+    }
+
+    /**
+     * The number of screenshots waiting for a free processing thread.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public long getProcessedCount() {
+        return processedCount.get();
+    }
+
+    /**
+     * Average time in milliseconds between a screenshot being queued and it being stored.
+     */
+    public long getAverageProcessingTime() {
+        long processed = processedCount.get();
+        return (processed == 0) ? 0 : totalProcessingTime.get() / processed;
+    }
+
+    /**
+     * Longest time in milliseconds between a screenshot being queued and it being stored.
+     */
+    public long getMaxProcessingTime() {
+        return maxProcessingTime.get();
+    }
+
+    private void startedProcessing() {
+        inFlightLock.lock();
+        try {
+            inFlight++;
+        } finally {
+            inFlightLock.unlock();
+        }
+    }
+
+    private void finishedProcessing(long queuedAt) {
+        long processingTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queuedAt);
+        processedCount.incrementAndGet();
+        totalProcessingTime.addAndGet(processingTime);
+        recordMaxProcessingTime(processingTime);
+
+        inFlightLock.lock();
+        try {
+            inFlight--;
+            if (inFlight == 0) {
+                allProcessed.signalAll();
+            }
+        } finally {
+            inFlightLock.unlock();
+        }
+    }
+
+    private void recordMaxProcessingTime(long processingTime) {
+        long currentMax = maxProcessingTime.get();
+        while (processingTime > currentMax && !maxProcessingTime.compareAndSet(currentMax, processingTime)) {
+            currentMax = maxProcessingTime.get();
+        }
+    }
+
+    private class ProcessScreenshotTask implements Runnable {
+
+        private final QueuedScreenshot queuedScreenshot;
+        private final long queuedAt = System.nanoTime();
+
+        private ProcessScreenshotTask(QueuedScreenshot queuedScreenshot) {
+            this.queuedScreenshot = queuedScreenshot;
+        }
+
+        @Override
+        public void run() {
+            try {
+                processScreenshot(queuedScreenshot);
+            } catch (Throwable e) {
+                logger.warn("Failed to store screenshot " + queuedScreenshot.getDestinationFile() + ": " + e.getMessage());
+            } finally {
+                finishedProcessing(queuedAt);
+            }
+        }
+    }
+
+    private void processScreenshot(QueuedScreenshot queuedScreenshot) throws IOException {
+        Lock destinationLock = destinationLocks.get(queuedScreenshot.getDestinationFile());
+        destinationLock.lock();
+        try {
+            if (queuedScreenshot.getDestinationFile().exists()) {
+                return;
+            }
+            if (queuedScreenshot.isInMemory()) {
+                storeScreenshotData(queuedScreenshot);
+            } else {
+                resizeOrMoveScreenshot(queuedScreenshot);
+            }
+        } finally {
+            destinationLock.unlock();
+        }
+    }
+
+    /**
+     * Screenshots held in memory are written straight to their destination, resized first if required.
+     */
+    private void storeScreenshotData(QueuedScreenshot queuedScreenshot) throws IOException {
+        Path destinationPath = queuedScreenshot.getDestinationFile().toPath();
+        Files.createDirectories(destinationPath.getParent());
+        if (getResizedWidth() > 0) {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(queuedScreenshot.getScreenshotData()));
+            if (image != null && image.getWidth() != getResizedWidth()) {
+                try {
+                    ImageIO.write(resizedToTargetWidth(image), "png", destinationPath.toFile());
+                    return;
+                } catch (Throwable e) {
+                    logger.warn("Failed to resize screenshot: using original size " + e.getMessage());
+                }
+            }
+        }
+        Files.write(destinationPath, queuedScreenshot.getScreenshotData());
+    }
+
+    private void resizeOrMoveScreenshot(QueuedScreenshot queuedScreenshot) {
+        if (shouldResize(queuedScreenshot)) {
+            resizeScreenshot(queuedScreenshot);
+        } else {
+            moveScreenshot(queuedScreenshot);
+        }
+    }
+
+    private int getResizedWidth() {
+        return ThucydidesSystemProperty.THUCYDIDES_RESIZED_IMAGE_WIDTH.integerFrom(environmentVariables);
+    }
+
+    private boolean shouldResize(QueuedScreenshot queuedScreenshot) {
+        if (getResizedWidth() > 0) {
+            BufferedImage image = readImage(queuedScreenshot);
+            if (image != null) {
+                int width = image.getData().getWidth();
+                return (width != getResizedWidth());
+            }
+        }
+        return false;
+    }
+
+    private BufferedImage readImage(QueuedScreenshot queuedScreenshot) {
+        BufferedImage image = null;
+        try {
+            image = ImageIO.read(queuedScreenshot.getSourceFile());
+        } catch (IOException e) {
+            logger.warn("Failed to read the stored screenshot (possibly an out of memory error): " + e.getMessage());
+        }
+        return image;
+    }
+
+    private void moveScreenshot(QueuedScreenshot queuedScreenshot) {
+        try {
+            CopyOption[] options = new CopyOption[]{StandardCopyOption.COPY_ATTRIBUTES};
+
+            Path sourcePath = queuedScreenshot.getSourceFile().toPath();
+            Path destinationPath = queuedScreenshot.getDestinationFile().toPath();
+            Path destinationDir = queuedScreenshot.getDestinationFile().toPath().getParent();
+            if (Files.notExists(destinationDir)) {
+                Files.createDirectories(destinationDir);
+            }
+            if (Files.notExists(destinationPath)) {
+                Files.copy(sourcePath, destinationPath, options);
+            }
+            try {
+                Files.deleteIfExists(sourcePath);
+            } catch (IOException e) {
+                queuedScreenshot.getSourceFile().deleteOnExit();
+            }
+        } catch (Throwable e) {
+            logger.warn("Failed to copy the screenshot to the destination directory: " + e.getMessage());
+        }
+    }
+
+    private void resizeScreenshot(QueuedScreenshot queuedScreenshot) {
+        try {
+            if (!queuedScreenshot.getDestinationFile().exists()) {
+                saveResizedScreenshot(queuedScreenshot);
+            }
+            Files.deleteIfExists(queuedScreenshot.getSourceFile().toPath());
+        } catch (Throwable e) {
+            logger.warn("Failed to resize screenshot: using original size " + e.getMessage());
+            moveScreenshot(queuedScreenshot);
+        }
+    }
+
+    private void saveResizedScreenshot(QueuedScreenshot queuedScreenshot) throws IOException {
+        BufferedImage image = ImageIO.read(queuedScreenshot.getSourceFile());
+        ImageIO.write(resizedToTargetWidth(image), "png", queuedScreenshot.getDestinationFile());
+    }
+
+    private BufferedImage resizedToTargetWidth(BufferedImage image) {
+        int width = image.getData().getWidth();
+        int height = image.getData().getHeight();
+        int targetWidth = getResizedWidth();
+        int targetHeight = (int) (((double) targetWidth / (double) width) * (double) height);
+
+        return resize(image, targetWidth, targetHeight);
+    }
+
+    private BufferedImage resize(BufferedImage image, int width, int height) {
+        int type = image.getType() == 0 ? BufferedImage.TYPE_INT_ARGB : image.getType();
+        BufferedImage resizedImage = new BufferedImage(width, height, type);
+        Graphics2D g = resizedImage.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+        g.setRenderingHint(RenderingHints.KEY_RENDERING,
+                RenderingHints.VALUE_RENDER_QUALITY);
+
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
+
+        g.drawImage(image, 0, 0, width, height, null);
+        g.dispose();
+        return resizedImage;
+    }
+}
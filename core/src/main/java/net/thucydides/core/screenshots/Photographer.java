@@ -17,11 +17,11 @@ import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
 import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
 
 /**
  * The photographer takes and stores screenshots during the test.
@@ -87,24 +87,19 @@ public class Photographer {
 
     /**
      * Take a screenshot of the current browser and store it in the output directory.
+     * The screenshot is blurred and digested in memory, and only written to disk once, by the screenshot processor.
      */
     public Optional<File> takeScreenshot() {
         if (driver != null && driverCanTakeSnapshots()) {
             try {
-                File screenshotTempFile = null;
-                Object capturedScreenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-                if (isAFile(capturedScreenshot)) {
-                    screenshotTempFile = (File) capturedScreenshot;
-                } else if (isByteArray(capturedScreenshot)) {
-                    screenshotTempFile = saveScreenshotData((byte[]) capturedScreenshot);
+                byte[] screenshotData = capturedScreenshotData();
+                if (screenshotData != null && blurLevel.isPresent()) {
+                    screenshotData = blur(screenshotData);
                 }
-                if (screenshotTempFile != null && blurLevel.isPresent()) {
-                    screenshotTempFile = blur(screenshotTempFile);
-                }
-                if (screenshotTempFile != null) {
-                    String storedFilename = getDigestScreenshotNameFor(screenshotTempFile);
+                if (screenshotData != null) {
+                    String storedFilename = getDigestScreenshotNameFor(screenshotData);
                     File savedScreenshot = targetScreenshot(storedFilename);
-                    screenshotProcessor.queueScreenshot(new QueuedScreenshot(screenshotTempFile, savedScreenshot));
+                    screenshotProcessor.queueScreenshot(new QueuedScreenshot(screenshotData, savedScreenshot));
                     return Optional.of(savedScreenshot);
                 }
             } catch (Throwable e) {
@@ -114,17 +109,37 @@ public class Photographer {
         return Optional.absent();
     }
 
+    private byte[] capturedScreenshotData() throws IOException {
+        Object capturedScreenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        if (isByteArray(capturedScreenshot)) {
+            return (byte[]) capturedScreenshot;
+        } else if (isAFile(capturedScreenshot)) {
+            return readAndRemove((File) capturedScreenshot);
+        }
+        return null;
+    }
+
+    private byte[] readAndRemove(File screenshotFile) throws IOException {
+        byte[] screenshotData = Files.readAllBytes(screenshotFile.toPath());
+        try {
+            Files.deleteIfExists(screenshotFile.toPath());
+        } catch (IOException e) {
+            screenshotFile.deleteOnExit();
+        }
+        return screenshotData;
+    }
+
     public String getPageSource() {
         return driver.getPageSource();
     }
 
-    private String getDigestScreenshotNameFor(File screenshotTempFile) throws IOException {
+    private String getDigestScreenshotNameFor(byte[] screenshotData) {
         ScreenshotDigest screenshotDigest = new ScreenshotDigest(environmentVariables, blurLevel.orNull());
-        return screenshotDigest.forScreenshot(screenshotTempFile);
+        return screenshotDigest.forScreenshot(screenshotData);
     }
 
-    protected File blur(File srcFile) throws IOException {
-        BufferedImage srcImage = ImageIO.read(srcFile);
+    protected byte[] blur(byte[] screenshotData) throws IOException {
+        BufferedImage srcImage = ImageIO.read(new ByteArrayInputStream(screenshotData));
         BufferedImage destImage = deepCopy(srcImage);
         BoxBlurFilter boxBlurFilter = new BoxBlurFilter();
         boxBlurFilter.setRadius(blurLevel.get().getRadius());
@@ -134,7 +149,7 @@ public class Photographer {
         ByteArrayOutputStream outStream = new ByteArrayOutputStream();
         ImageIO.write(destImage, "png", outStream);
 
-        return saveScreenshotData(outStream.toByteArray());
+        return outStream.toByteArray();
     }
 
     private BufferedImage deepCopy(BufferedImage srcImage) {
@@ -144,12 +159,6 @@ public class Photographer {
         return new BufferedImage(cm, raster, isAlphaPremultiplied, null);
     }
 
-    private File saveScreenshotData(byte[] capturedScreenshot) throws IOException {
-        Path temporaryScreenshotFile = Files.createTempFile("screenshot", "");
-        Files.write(temporaryScreenshotFile, capturedScreenshot);
-        return temporaryScreenshotFile.toFile();
-    }
-
     private boolean isAFile(Object screenshot) {
         return (screenshot instanceof File);
     }
@@ -2,14 +2,26 @@ package net.thucydides.core.screenshots;
 
 import java.io.File;
 
+/**
+ * A screenshot waiting to be stored by the screenshot processor.
+ * The screenshot is either held in memory or in a temporary source file.
+ */
 public class QueuedScreenshot {
 
     private final File destinationFilename;
     private final File sourceFilename;
+    private final byte[] screenshotData;
 
     public QueuedScreenshot(File sourceFilename, File destinationFilename) {
         this.sourceFilename = sourceFilename;
         this.destinationFilename = destinationFilename;
+        this.screenshotData = null;
+    }
+
+    public QueuedScreenshot(byte[] screenshotData, File destinationFilename) {
+        this.sourceFilename = null;
+        this.destinationFilename = destinationFilename;
+        this.screenshotData = screenshotData;
     }
 
     public File getDestinationFile() {
@@ -19,4 +31,12 @@ public class QueuedScreenshot {
     public File getSourceFile() {
         return sourceFilename;
     }
+
+    public boolean isInMemory() {
+        return screenshotData != null;
+    }
+
+    public byte[] getScreenshotData() {
+        return screenshotData;
+    }
 }
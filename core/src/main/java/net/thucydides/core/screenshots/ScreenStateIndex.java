@@ -0,0 +1,47 @@
+package net.thucydides.core.screenshots;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Remembers the state of the screen when the last screenshot was taken, as a fast hash of the page URL
+ * and HTML source. If the screen is still in the same state, the last screenshot can be reused instead
+ * of asking the browser for a new one and decoding and digesting the image.
+ */
+public class ScreenStateIndex {
+
+    private static final HashFunction SCREEN_STATE_HASH = Hashing.murmur3_128();
+
+    private HashCode lastScreenState;
+    private ScreenshotAndHtmlSource lastScreenshot;
+
+    public static HashCode screenStateOf(String url, String pageSource) {
+        return SCREEN_STATE_HASH.newHasher()
+                                .putString(String.valueOf(url), Charsets.UTF_8)
+                                .putString(String.valueOf(pageSource), Charsets.UTF_8)
+                                .hash();
+    }
+
+    /**
+     * The last screenshot taken, if the screen was in the same state when it was taken.
+     */
+    public synchronized Optional<ScreenshotAndHtmlSource> screenshotFor(HashCode screenState) {
+        if (screenState.equals(lastScreenState)) {
+            return Optional.of(lastScreenshot);
+        }
+        return Optional.absent();
+    }
+
+    public synchronized void recordScreenshot(HashCode screenState, ScreenshotAndHtmlSource screenshot) {
+        this.lastScreenState = screenState;
+        this.lastScreenshot = screenshot;
+    }
+
+    public synchronized void clear() {
+        this.lastScreenState = null;
+        this.lastScreenshot = null;
+    }
+}
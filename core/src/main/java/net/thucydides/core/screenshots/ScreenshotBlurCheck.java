@@ -5,9 +5,12 @@ import net.thucydides.core.annotations.BlurScreenshots;
 import net.thucydides.core.reflection.StackTraceAnalyser;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class ScreenshotBlurCheck {
 
+    private static final ConcurrentMap<Method, Optional<BlurLevel>> BLUR_LEVELS = new ConcurrentHashMap<>();
 
     public Optional<BlurLevel> blurLevel() {
         return fromAnnotation();
@@ -17,10 +20,24 @@ public class ScreenshotBlurCheck {
         StackTraceElement[] stackTrace = new Throwable().getStackTrace();
         for (StackTraceElement stackTraceElement : stackTrace) {
             Method callingMethod = StackTraceAnalyser.forStackTraceElement(stackTraceElement).getMethod();
-            if (callingMethod != null && callingMethod.getAnnotation(BlurScreenshots.class) != null) {
-                return Optional.of(BlurLevel.valueOf(callingMethod.getAnnotation(BlurScreenshots.class).value().toUpperCase()));
+            if (callingMethod != null) {
+                Optional<BlurLevel> blurLevel = blurLevelDeclaredOn(callingMethod);
+                if (blurLevel.isPresent()) {
+                    return blurLevel;
+                }
             }
         }
         return Optional.absent();
     }
+
+    private Optional<BlurLevel> blurLevelDeclaredOn(Method method) {
+        Optional<BlurLevel> blurLevel = BLUR_LEVELS.get(method);
+        if (blurLevel == null) {
+            BlurScreenshots blurScreenshots = method.getAnnotation(BlurScreenshots.class);
+            blurLevel = (blurScreenshots != null) ? Optional.of(BlurLevel.valueOf(blurScreenshots.value().toUpperCase()))
+                                                  : Optional.<BlurLevel>absent();
+            BLUR_LEVELS.putIfAbsent(method, blurLevel);
+        }
+        return blurLevel;
+    }
 }
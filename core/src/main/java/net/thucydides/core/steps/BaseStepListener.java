@@ -4,8 +4,10 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.hash.HashCode;
 import com.google.inject.Injector;
 import net.serenitybdd.core.PendingStepException;
+import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.annotations.TestAnnotations;
 import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.model.*;
@@ -16,6 +18,7 @@ import net.thucydides.core.screenshots.*;
 import net.thucydides.core.webdriver.*;
 import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.remote.SessionId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -81,6 +84,11 @@ public class BaseStepListener implements StepListener, StepPublisher {
 
     ScreenshotProcessor screenshotProcessor;
 
+    /**
+     * The state of the screen when the last screenshot was taken, used to avoid retaking identical screenshots.
+     */
+    private final ScreenStateIndex screenStates = new ScreenStateIndex();
+
     private boolean inFluentStepSequence;
 
     private List<String> storywideIssues;
@@ -266,6 +274,7 @@ public class BaseStepListener implements StepListener, StepPublisher {
     public void testStarted(final String testMethod) {
         TestOutcome newTestOutcome = TestOutcome.forTestInStory(testMethod, testSuite, testedStory);
         testOutcomes.add(newTestOutcome);
+        screenStates.clear();
         updateSessionIdIfKnown();
         setAnnotatedResult(testMethod);
     }
@@ -559,7 +568,9 @@ public class BaseStepListener implements StepListener, StepPublisher {
     private void take(final ScreenshotType screenshotType) {
         if (shouldTakeScreenshots()) {
             try {
-                Optional<ScreenshotAndHtmlSource> screenshotAndHtmlSource = grabScreenshot();
+                Optional<ScreenshotAndHtmlSource> screenshotAndHtmlSource
+                        = (screenshotType == OPTIONAL_SCREENSHOT && shouldReuseUnchangedScreenshots())
+                          ? grabScreenshotIfScreenHasChanged() : grabScreenshot();
                 if (screenshotAndHtmlSource.isPresent()) {
                     takeScreenshotIfRequired(screenshotType, screenshotAndHtmlSource.get());
                 }
@@ -648,11 +659,45 @@ public class BaseStepListener implements StepListener, StepPublisher {
         }
     }
 
+    private boolean shouldReuseUnchangedScreenshots() {
+        return ThucydidesSystemProperty.THUCYDIDES_REUSE_UNCHANGED_SCREENSHOTS.booleanFrom(configuration.getEnvironmentVariables());
+    }
+
+    /**
+     * Reading the URL and page source is much cheaper than taking, decoding and digesting a screenshot,
+     * so the previous screenshot is reused if neither of them has changed.
+     */
+    private Optional<ScreenshotAndHtmlSource> grabScreenshotIfScreenHasChanged() {
+        String pageSource;
+        HashCode screenState;
+        try {
+            pageSource = getPageSource();
+            screenState = ScreenStateIndex.screenStateOf(driver.getCurrentUrl(), pageSource);
+        } catch (WebDriverException e) {
+            LOGGER.debug("Could not read the current page state, taking a new screenshot", e);
+            return grabScreenshot();
+        }
+        Optional<ScreenshotAndHtmlSource> previousScreenshot = screenStates.screenshotFor(screenState);
+        if (previousScreenshot.isPresent()) {
+            return previousScreenshot;
+        }
+        Optional<ScreenshotAndHtmlSource> screenshot = grabScreenshot(Optional.of(pageSource));
+        if (screenshot.isPresent()) {
+            screenStates.recordScreenshot(screenState, screenshot.get());
+        }
+        return screenshot;
+    }
+
     private Optional<ScreenshotAndHtmlSource> grabScreenshot() {
+        return grabScreenshot(Optional.<String>absent());
+    }
+
+    private Optional<ScreenshotAndHtmlSource> grabScreenshot(Optional<String> knownPageSource) {
         Optional<File> screenshot = getPhotographer().takeScreenshot();
         if (screenshot.isPresent()) {
             if (shouldStoreSourcecode()) {
-                File sourcecodeFile = sourcecodeForScreenshot(screenshot.get(), getPageSource());
+                String pageSource = knownPageSource.isPresent() ? knownPageSource.get() : getPageSource();
+                File sourcecodeFile = sourcecodeForScreenshot(screenshot.get(), pageSource);
                 return Optional.of(new ScreenshotAndHtmlSource(screenshot.get(), sourcecodeFile));
             } else {
                 return Optional.of(new ScreenshotAndHtmlSource(screenshot.get()));
@@ -716,6 +761,7 @@ public class BaseStepListener implements StepListener, StepPublisher {
 
     public void setDriver(final WebDriver driver) {
         this.driver = driver;
+        screenStates.clear();
     }
 
     public WebDriver getDriver() {
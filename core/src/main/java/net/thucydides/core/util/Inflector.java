@@ -57,8 +57,12 @@ public class Inflector {
         }
     }
 
-    private LinkedList<Rule> plurals = new LinkedList<>();
-    private LinkedList<Rule> singulars = new LinkedList<>();
+    /**
+     * The rules are only added while the inflector is being initialized, so a shared inflector can be read
+     * from several threads at once.
+     */
+    private final LinkedList<Rule> plurals = new LinkedList<>();
+    private final LinkedList<Rule> singulars = new LinkedList<>();
 
     /**
      * The lowercase words that are to be excluded and not processed. This map can be modified by the users via
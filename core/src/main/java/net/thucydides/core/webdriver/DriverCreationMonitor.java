@@ -0,0 +1,139 @@
+package net.thucydides.core.webdriver;
+
+import com.google.common.collect.ImmutableList;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coordinates the browser launches of the tests running in parallel in a JVM.
+ * Launches run concurrently, except that browsers whose drivers share local resources (a fixed port, or a global
+ * setting) are launched one at a time for each driver type, and that no more than webdriver.creation.max.concurrent
+ * browsers are launched at once, if it is set. The time each launch takes, and the time it spends waiting for the
+ * others, is recorded for each driver type.
+ */
+public class DriverCreationMonitor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DriverCreationMonitor.class);
+
+    private static DriverCreationMonitor monitorForThisJVM;
+
+    private final Semaphore concurrentCreations;
+    private final ConcurrentMap<String, ReentrantLock> exclusiveCreationLocks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DriverCreationStatistics> statistics = new ConcurrentHashMap<>();
+
+    public DriverCreationMonitor(EnvironmentVariables environmentVariables) {
+        int maximumConcurrentCreations
+                = ThucydidesSystemProperty.WEBDRIVER_CREATION_MAX_CONCURRENT.integerFrom(environmentVariables, 0);
+        this.concurrentCreations = (maximumConcurrentCreations > 0) ? new Semaphore(maximumConcurrentCreations, true)
+                                                                     : null;
+    }
+
+    /**
+     * The monitor shared by every test in this JVM. The launch statistics are logged when the JVM shuts down.
+     */
+    public static synchronized DriverCreationMonitor forThisJVM(EnvironmentVariables environmentVariables) {
+        if (monitorForThisJVM == null) {
+            monitorForThisJVM = new DriverCreationMonitor(environmentVariables);
+            Runtime.getRuntime().addShutdownHook(new Thread("driver-creation-statistics") {
+                @Override
+                public void run() {
+                    monitorForThisJVM.logStatistics();
+                }
+            });
+        }
+        return monitorForThisJVM;
+    }
+
+    /**
+     * Launches a browser.
+     *
+     * @param driverType the name the launch statistics are recorded under
+     * @param exclusive  true if no other browser of this type may be launched at the same time
+     * @param launch     launches the browser
+     */
+    public WebDriver create(String driverType, boolean exclusive, Callable<WebDriver> launch) throws Exception {
+        long waitStart = System.nanoTime();
+        boolean waited = false;
+        if (concurrentCreations != null && !concurrentCreations.tryAcquire()) {
+            concurrentCreations.acquire();
+            waited = true;
+        }
+        ReentrantLock exclusiveCreationLock = exclusive ? exclusiveCreationLockFor(driverType) : null;
+        try {
+            if (exclusiveCreationLock != null && !exclusiveCreationLock.tryLock()) {
+                exclusiveCreationLock.lockInterruptibly();
+                waited = true;
+            }
+            try {
+                long waitNanos = waited ? System.nanoTime() - waitStart : 0;
+                return timed(driverType, waitNanos, launch);
+            } finally {
+                if (exclusiveCreationLock != null) {
+                    exclusiveCreationLock.unlock();
+                }
+            }
+        } finally {
+            if (concurrentCreations != null) {
+                concurrentCreations.release();
+            }
+        }
+    }
+
+    private WebDriver timed(String driverType, long waitNanos, Callable<WebDriver> launch) throws Exception {
+        long creationStart = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            WebDriver driver = launch.call();
+            succeeded = true;
+            return driver;
+        } finally {
+            long creationNanos = System.nanoTime() - creationStart;
+            statisticsFor(driverType).recordCreation(waitNanos, creationNanos, succeeded);
+            LOGGER.debug("{} driver {} in {} ms after waiting {} ms for other launches", driverType,
+                         succeeded ? "created" : "failed", TimeUnit.NANOSECONDS.toMillis(creationNanos),
+                         TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+    }
+
+    private ReentrantLock exclusiveCreationLockFor(String driverType) {
+        ReentrantLock lock = exclusiveCreationLocks.get(driverType);
+        if (lock == null) {
+            exclusiveCreationLocks.putIfAbsent(driverType, new ReentrantLock(true));
+            lock = exclusiveCreationLocks.get(driverType);
+        }
+        return lock;
+    }
+
+    private DriverCreationStatistics statisticsFor(String driverType) {
+        DriverCreationStatistics driverStatistics = statistics.get(driverType);
+        if (driverStatistics == null) {
+            statistics.putIfAbsent(driverType, new DriverCreationStatistics(driverType));
+            driverStatistics = statistics.get(driverType);
+        }
+        return driverStatistics;
+    }
+
+    /**
+     * The launch statistics for each driver type that has been launched in this JVM.
+     */
+    public List<DriverCreationStatistics> getStatistics() {
+        return ImmutableList.copyOf(statistics.values());
+    }
+
+    public void logStatistics() {
+        for (DriverCreationStatistics driverStatistics : getStatistics()) {
+            LOGGER.info("Browser launches for {}", driverStatistics);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package net.thucydides.core.webdriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How long it has taken to launch the browsers of one type in this JVM, and how long the launches have had to wait
+ * for each other.
+ */
+public class DriverCreationStatistics {
+
+    private final String driverType;
+
+    private int creations;
+    private int failures;
+    private int contendedCreations;
+    private long totalCreationNanos;
+    private long longestCreationNanos;
+    private long totalWaitNanos;
+
+    public DriverCreationStatistics(String driverType) {
+        this.driverType = driverType;
+    }
+
+    synchronized void recordCreation(long waitNanos, long creationNanos, boolean succeeded) {
+        if (succeeded) {
+            creations++;
+        } else {
+            failures++;
+        }
+        if (waitNanos > 0) {
+            contendedCreations++;
+            totalWaitNanos += waitNanos;
+        }
+        totalCreationNanos += creationNanos;
+        longestCreationNanos = Math.max(longestCreationNanos, creationNanos);
+    }
+
+    public String getDriverType() {
+        return driverType;
+    }
+
+    public synchronized int getCreations() {
+        return creations;
+    }
+
+    public synchronized int getFailures() {
+        return failures;
+    }
+
+    /**
+     * The number of launches that had to wait for another launch, or for the webdriver.creation.max.concurrent limit.
+     */
+    public synchronized int getContendedCreations() {
+        return contendedCreations;
+    }
+
+    public synchronized long getAverageCreationTimeInMilliseconds() {
+        int attempts = creations + failures;
+        return (attempts == 0) ? 0 : TimeUnit.NANOSECONDS.toMillis(totalCreationNanos / attempts);
+    }
+
+    public synchronized long getLongestCreationTimeInMilliseconds() {
+        return TimeUnit.NANOSECONDS.toMillis(longestCreationNanos);
+    }
+
+    public synchronized long getTotalWaitTimeInMilliseconds() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return driverType + ": " + creations + " created, " + failures + " failed, "
+                + "average " + getAverageCreationTimeInMilliseconds() + " ms, "
+                + "longest " + getLongestCreationTimeInMilliseconds() + " ms, "
+                + contendedCreations + " waited a total of " + getTotalWaitTimeInMilliseconds() + " ms";
+    }
+}
@@ -0,0 +1,51 @@
+package net.thucydides.core.webdriver;
+
+import org.openqa.selenium.net.PortProber;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out free local ports to the driver services (chromedriver, IEDriverServer) that the tests in a JVM launch.
+ * A port that has been handed out is not handed out again until it is released, so browsers launched at the same
+ * time never try to start their driver services on the same port.
+ */
+public class DriverPortAllocator {
+
+    private static final int MAXIMUM_ATTEMPTS = 50;
+
+    private static final DriverPortAllocator PORTS_FOR_THIS_JVM = new DriverPortAllocator();
+
+    private final Set<Integer> reservedPorts = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+
+    public static DriverPortAllocator forThisJVM() {
+        return PORTS_FOR_THIS_JVM;
+    }
+
+    /**
+     * A free local port that no other driver service in this JVM is being started on.
+     * The port should be released once the driver service has started, or has failed to start.
+     */
+    public int reservePort() {
+        for (int attempt = 0; attempt < MAXIMUM_ATTEMPTS; attempt++) {
+            int port = findFreePort();
+            if (reservedPorts.add(port)) {
+                return port;
+            }
+        }
+        throw new UnsupportedDriverException("Could not find a free port for the driver service");
+    }
+
+    public void releasePort(int port) {
+        reservedPorts.remove(port);
+    }
+
+    public boolean isReserved(int port) {
+        return reservedPorts.contains(port);
+    }
+
+    protected int findFreePort() {
+        return PortProber.findFreePort();
+    }
+}
@@ -0,0 +1,89 @@
+package net.thucydides.core.webdriver;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+/**
+ * Requests remote driver sessions in the background, so that a test does not have to wait for a grid, Sauce Labs
+ * or BrowserStack to hand out a session when it first opens a page.
+ * Turned on by setting webdriver.remote.prefetch.
+ */
+public class RemoteSessionPrefetcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RemoteSessionPrefetcher.class);
+
+    private static final ListeningExecutorService SESSION_REQUESTS = MoreExecutors.listeningDecorator(
+            Executors.newCachedThreadPool(
+                    new ThreadFactoryBuilder().setNameFormat("remote-session-prefetch-%d").setDaemon(true).build()));
+
+    private RemoteSessionPrefetcher() {
+    }
+
+    public static boolean isActiveIn(EnvironmentVariables environmentVariables) {
+        return ThucydidesSystemProperty.WEBDRIVER_REMOTE_PREFETCH.booleanFrom(environmentVariables, false);
+    }
+
+    /**
+     * Starts requesting a session in the background. The session is prepared on the calling thread, so that it gets
+     * the same fixture services and capabilities as a session opened on that thread.
+     */
+    public static ListenableFuture<WebDriver> prefetch(WebDriverFactory webDriverFactory,
+                                                       Class<? extends WebDriver> driverClass) {
+        Callable<WebDriver> sessionRequest;
+        try {
+            sessionRequest = webDriverFactory.remoteSessionRequestFor(driverClass);
+        } catch (RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+        return SESSION_REQUESTS.submit(sessionRequest);
+    }
+
+    /**
+     * Waits for a prefetched session, if it is not ready yet.
+     */
+    public static WebDriver await(ListenableFuture<WebDriver> prefetchedSession, WebDriverFactory webDriverFactory) {
+        try {
+            return prefetchedSession.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            discard(prefetchedSession, webDriverFactory);
+            throw new UnsupportedDriverException("Interrupted while waiting for a remote session", e);
+        } catch (ExecutionException e) {
+            throw new UnsupportedDriverException("Could not open a remote session", e.getCause());
+        }
+    }
+
+    /**
+     * Gives up on a prefetched session that no test needs any more: the session is closed as soon as it is opened.
+     */
+    public static void discard(ListenableFuture<WebDriver> prefetchedSession, final WebDriverFactory webDriverFactory) {
+        Futures.addCallback(prefetchedSession, new FutureCallback<WebDriver>() {
+            @Override
+            public void onSuccess(WebDriver unusedSession) {
+                try {
+                    webDriverFactory.releaseWebdriverInstance(unusedSession);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Could not close an unused remote session: " + e.getMessage());
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable cause) {
+                LOGGER.debug("An unused remote session could not be opened", cause);
+            }
+        });
+    }
+}
@@ -23,6 +23,10 @@ import static net.thucydides.core.ThucydidesSystemProperty.WEBDRIVER_TIMEOUTS_IM
  * duration of the tests.
  * A webdriver manager needs to be thread-safe. Tests can potentially be run in parallel, and different
  * tests can use different drivers.
+ * When webdriver.pool.size is set, the browsers behind these drivers come from a WebDriverPool shared by the JVM:
+ * resetting or closing a driver hands its browser back to the pool, to be cleaned and reused, instead of quitting it.
+ * When webdriver.remote.prefetch is set, remote sessions are requested in the background as soon as a driver is
+ * registered or reset, and tests only wait for them when they first use the browser.
  *
  * @author johnsmart
  *
@@ -141,9 +145,11 @@ public class ThucydidesWebdriverManager implements WebdriverManager {
 
 
         if (!inThisTestThread().driverIsRegisteredFor(driver)) {
-            inThisTestThread().registerDriverCalled(driver)
-                              .forDriver(newDriver(configuration, webDriverFactory, driver));
-
+            WebDriver newDriver = newDriver(configuration, webDriverFactory, driver);
+            if (newDriver instanceof WebDriverFacade) {
+                ((WebDriverFacade) newDriver).prefetchDriver();
+            }
+            inThisTestThread().registerDriverCalled(driver).forDriver(newDriver);
         }
         return inThisTestThread().useDriver(driver);
     }
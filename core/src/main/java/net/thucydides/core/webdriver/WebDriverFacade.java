@@ -2,6 +2,7 @@ package net.thucydides.core.webdriver;
 
 import com.gargoylesoftware.htmlunit.ScriptException;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.ListenableFuture;
 import net.serenitybdd.core.pages.DefaultTimeouts;
 import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.guice.Injectors;
@@ -37,6 +38,11 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
 
     protected WebDriver proxiedWebDriver;
 
+    /**
+     * A remote session being requested in the background, when webdriver.remote.prefetch is set.
+     */
+    private ListenableFuture<WebDriver> prefetchedWebDriver;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverFacade.class);
 
     private EnvironmentVariables environmentVariables;
@@ -97,12 +103,47 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
 
     public WebDriver getProxiedDriver() {
         if (proxiedWebDriver == null) {
-            proxiedWebDriver = newProxyDriver();
+            proxiedWebDriver = (prefetchedWebDriver != null) ? prefetchedDriver() : newProxyDriver();
             WebdriverProxyFactory.getFactory().notifyListenersOfWebdriverCreationIn(this);
         }
         return proxiedWebDriver;
     }
 
+    /**
+     * Starts opening the browser in the background, if it is a remote session and webdriver.remote.prefetch is set.
+     * The test will only wait for the session when it first uses the browser.
+     */
+    public void prefetchDriver() {
+        if (shouldPrefetchDriver()) {
+            prefetchedWebDriver = RemoteSessionPrefetcher.prefetch(webDriverFactory, driverClass);
+        }
+    }
+
+    private boolean shouldPrefetchDriver() {
+        return (proxiedWebDriver == null) && (prefetchedWebDriver == null)
+                && (environmentVariables != null) && RemoteSessionPrefetcher.isActiveIn(environmentVariables)
+                && webDriverFactory.canPrefetchSessionsFor(driverClass)
+                && !StepEventBus.getEventBus().isDryRun();
+    }
+
+    private WebDriver prefetchedDriver() {
+        ListenableFuture<WebDriver> prefetchedSession = prefetchedWebDriver;
+        prefetchedWebDriver = null;
+        try {
+            return RemoteSessionPrefetcher.await(prefetchedSession, webDriverFactory);
+        } catch (UnsupportedDriverException e) {
+            LOGGER.error("FAILED TO CREATE NEW WEBDRIVER_DRIVER INSTANCE " + driverClass + ": " + e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    private void discardPrefetchedDriver() {
+        if (prefetchedWebDriver != null) {
+            RemoteSessionPrefetcher.discard(prefetchedWebDriver, webDriverFactory);
+            prefetchedWebDriver = null;
+        }
+    }
+
     public boolean isEnabled() {
         return !StepEventBus.getEventBus().webdriverCallsAreSuspended();
     }
@@ -112,12 +153,12 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
             forcedQuit();
         }
         proxiedWebDriver = null;
-
+        prefetchDriver();
     }
 
     private void forcedQuit() {
         try {
-            getDriverInstance().quit();
+            webDriverFactory.releaseWebdriverInstance(getDriverInstance());
             proxiedWebDriver = null;
         } catch (WebDriverException e) {
             LOGGER.warn("Closing a driver that was already closed: " + e.getMessage());
@@ -134,7 +175,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
                 return new WebDriverStub();
             } else {
             webDriverFactory.setupFixtureServices();
-            return webDriverFactory.newWebdriverInstance(driverClass);
+            return webDriverFactory.acquireWebdriverInstance(driverClass);
             }
         } catch (UnsupportedDriverException e) {
             LOGGER.error("FAILED TO CREATE NEW WEBDRIVER_DRIVER INSTANCE " + driverClass + ": " + e.getMessage(), e);
@@ -266,9 +307,10 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, HasInputDevi
     }
 
     public void quit() {
+        discardPrefetchedDriver();
         if (proxyInstanciated()) {
             try {
-                getDriverInstance().quit();
+                webDriverFactory.releaseWebdriverInstance(getDriverInstance());
             } catch (WebDriverException e) {
                 LOGGER.warn("Error while quitting the driver (" + e.getMessage() + ")");
             }
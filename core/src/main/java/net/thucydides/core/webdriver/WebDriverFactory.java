@@ -46,6 +46,7 @@ import java.net.URL;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 
 import static net.thucydides.core.webdriver.javascript.JavascriptSupport.activateJavascriptSupportFor;
@@ -159,37 +160,46 @@ public class WebDriverFactory {
     }
     
     /**
-     * This method is synchronized because multiple webdriver instances can be created in parallel.
-     * However, they may use common system resources such as ports, so may potentially interfere
-     * with each other.
+     * A driver for a test to use: a clean browser from the browser pool if webdriver.pool.size is set,
+     * or a newly launched one otherwise. Remote sessions are opened with the capabilities of the test that asked
+     * for them, so they are always new.
+     */
+    public WebDriver acquireWebdriverInstance(final Class<? extends WebDriver> driverClass) {
+        if (WebDriverPool.isActiveIn(environmentVariables) && !createsRemoteSessionsFor(driverClass)) {
+            return WebDriverPool.forThisJVM(environmentVariables).acquire(this, driverClass);
+        }
+        return newWebdriverInstance(driverClass);
+    }
+
+    /**
+     * Called when a test has finished with a driver: the browser goes back to the browser pool if there is one,
+     * and is quit otherwise.
+     */
+    public void releaseWebdriverInstance(final WebDriver driver) {
+        if (WebDriverPool.isActiveIn(environmentVariables)) {
+            WebDriverPool.forThisJVM(environmentVariables).release(driver);
+        } else {
+            driver.quit();
+        }
+    }
+
+    /**
+     * Browsers are launched in parallel, except for those whose drivers share local resources such as a fixed port
+     * or a global setting, which are launched one at a time for each driver type (see DriverCreationMonitor).
      *
      * @param driverClass
      */
-    protected synchronized WebDriver newWebdriverInstance(final Class<? extends WebDriver> driverClass) {
+    protected WebDriver newWebdriverInstance(final Class<? extends WebDriver> driverClass) {
+        return newWebdriverInstance(driverClass, launchOf(driverClass));
+    }
+
+    protected WebDriver newWebdriverInstance(final Class<? extends WebDriver> driverClass,
+                                             final Callable<WebDriver> launch) {
         try {
-            WebDriver driver;
-            if (isARemoteDriver(driverClass) || shouldUseARemoteDriver() || saucelabsUrlIsDefined() || browserStackUrlIsDefined()) {
-            	driver = newRemoteDriver();
-            } else if (isAnAppiumDriver(driverClass)) {
-                driver = appiumDriver();
-            } else if (isAFirefoxDriver(driverClass)) {
-                driver = firefoxDriver();
-            } else if (isAnHtmlUnitDriver(driverClass)) {
-                driver = htmlunitDriver();
-            } else if (isAPhantomJSDriver(driverClass)) {
-                setPhantomJSPathIfNotSet();
-                driver = phantomJSDriver();
-            } else if (isAChromeDriver(driverClass)) {
-                driver = chromeDriver();
-            } else if (isASafariDriver(driverClass)) {
-                driver = safariDriver();
-            } else if (isAnInternetExplorerDriver(driverClass)) {
-                driver = internetExplorerDriver();
-            } else if (isAProvidedDriver(driverClass)) {
-                driver = providedDriver();
-            } else {
-                driver = newDriverInstanceFrom(driverClass);
-            }
+            WebDriver driver = DriverCreationMonitor.forThisJVM(environmentVariables)
+                                                    .create(driverTypeNameFor(driverClass),
+                                                            needsAnExclusiveLaunch(driverClass),
+                                                            launch);
             setImplicitTimeoutsIfSpecified(driver);
             redimensionBrowser(driver);
 
@@ -200,6 +210,113 @@ public class WebDriverFactory {
         }
     }
 
+    private Callable<WebDriver> launchOf(final Class<? extends WebDriver> driverClass) {
+        return new Callable<WebDriver>() {
+            @Override
+            public WebDriver call() throws Exception {
+                return launchDriver(driverClass);
+            }
+        };
+    }
+
+    /**
+     * Prepares a remote session on the calling thread, and returns the request that opens it, which can be sent from
+     * any thread. The fixture services are set up and the capabilities are built here, as both depend on the calling
+     * thread.
+     */
+    public Callable<WebDriver> remoteSessionRequestFor(final Class<? extends WebDriver> driverClass) {
+        try {
+            setupFixtureServices();
+            final Callable<WebDriver> launch = remoteSessionLaunchOf(driverClass);
+            return new Callable<WebDriver>() {
+                @Override
+                public WebDriver call() throws Exception {
+                    return newWebdriverInstance(driverClass, launch);
+                }
+            };
+        } catch (MalformedURLException cause) {
+            throw new UnsupportedDriverException("Could not instantiate " + driverClass, cause);
+        }
+    }
+
+    private Callable<WebDriver> remoteSessionLaunchOf(Class<? extends WebDriver> driverClass) throws MalformedURLException {
+        return usesARemoteDriver(driverClass) ? remoteDriverLaunch() : appiumDriverLaunch();
+    }
+
+    private WebDriver launchDriver(final Class<? extends WebDriver> driverClass) throws Exception {
+        if (usesARemoteDriver(driverClass)) {
+            return remoteDriverLaunch().call();
+        } else if (isAnAppiumDriver(driverClass)) {
+            return appiumDriverLaunch().call();
+        } else if (isAFirefoxDriver(driverClass)) {
+            return firefoxDriver();
+        } else if (isAnHtmlUnitDriver(driverClass)) {
+            return htmlunitDriver();
+        } else if (isAPhantomJSDriver(driverClass)) {
+            setPhantomJSPathIfNotSet();
+            return phantomJSDriver();
+        } else if (isAChromeDriver(driverClass)) {
+            return chromeDriver();
+        } else if (isASafariDriver(driverClass)) {
+            return safariDriver();
+        } else if (isAnInternetExplorerDriver(driverClass)) {
+            return internetExplorerDriver();
+        } else if (isAProvidedDriver(driverClass)) {
+            return providedDriver();
+        } else {
+            return newDriverInstanceFrom(driverClass);
+        }
+    }
+
+    /**
+     * True if the drivers of this type are sessions on a remote server (a grid, Sauce Labs, BrowserStack or Appium)
+     * rather than local browsers.
+     */
+    public boolean createsRemoteSessionsFor(Class<? extends WebDriver> driverClass) {
+        return usesARemoteDriver(driverClass) || isAnAppiumDriver(driverClass);
+    }
+
+    /**
+     * True if sessions for this driver type can be requested before the test that uses them is running.
+     * Sauce Labs sessions are named after the running test, which a prefetch cannot know, so they are only
+     * prefetched when saucelabs.test.name gives them a name.
+     */
+    public boolean canPrefetchSessionsFor(Class<? extends WebDriver> driverClass) {
+        if (saucelabsUrlIsDefined() && StringUtils.isEmpty(ThucydidesSystemProperty.SAUCELABS_TEST_NAME.from(environmentVariables))) {
+            return false;
+        }
+        return createsRemoteSessionsFor(driverClass);
+    }
+
+    private boolean usesARemoteDriver(Class<? extends WebDriver> driverClass) {
+        return isARemoteDriver(driverClass) || shouldUseARemoteDriver() || saucelabsUrlIsDefined()
+               || browserStackUrlIsDefined();
+    }
+
+    /**
+     * Remote sessions, and local drivers that start their driver service on a port from the DriverPortAllocator
+     * or that guard their own ports (Firefox), can be launched in parallel. PhantomJS (which sets its binary path
+     * globally), Safari (which uses a fixed port), and drivers we know nothing about are launched one at a time.
+     */
+    private boolean needsAnExclusiveLaunch(Class<? extends WebDriver> driverClass) {
+        return !(usesARemoteDriver(driverClass) || isAnAppiumDriver(driverClass) || isAFirefoxDriver(driverClass)
+                 || isAnHtmlUnitDriver(driverClass) || isAChromeDriver(driverClass)
+                 || isAnInternetExplorerDriver(driverClass));
+    }
+
+    private String driverTypeNameFor(Class<? extends WebDriver> driverClass) {
+        if (saucelabsUrlIsDefined()) {
+            return "saucelabs";
+        } else if (browserStackUrlIsDefined()) {
+            return "browserstack";
+        } else if (usesARemoteDriver(driverClass)) {
+            return "remote";
+        } else if (isAnAppiumDriver(driverClass)) {
+            return "appium";
+        }
+        return driverClass.getSimpleName();
+    }
+
     // IntelliJ in Mac OS X does not pick up environment variables. So to get PhantomJS working in IDE mode for the
     // Thucydides tests, add the 'phantomjs.binary.path' property into a thucydides.properties file in your home directory.
 
@@ -265,23 +382,49 @@ public class WebDriverFactory {
         return webdriverInstanceFactory.newInstanceOf(driverClass);
     }
 
-    private WebDriver newRemoteDriver() throws MalformedURLException {
+    /**
+     * The remote session is described by its URL and capabilities, which are worked out straight away.
+     */
+    private Callable<WebDriver> remoteDriverLaunch() throws MalformedURLException {
+        final URL remoteUrl = remoteSessionUrl();
+        final Capabilities capabilities = remoteSessionCapabilities();
+        return new Callable<WebDriver>() {
+            @Override
+            public WebDriver call() throws Exception {
+                return newRemoteDriver(remoteUrl, capabilities);
+            }
+        };
+    }
 
-        WebDriver driver;
+    private URL remoteSessionUrl() throws MalformedURLException {
         if (saucelabsUrlIsDefined()) {
-            driver = buildSaucelabsDriver();
-        } else if (browserStackUrlIsDefined()){
-        	driver = buildBrowserStackDriver();
+            return new URL(sauceRemoteDriverCapabilities.getUrl());
+        } else if (browserStackUrlIsDefined()) {
+            return new URL(browserStackRemoteDriverCapabilities.getUrl());
         } else {
-            driver = buildRemoteDriver();
+            return new URL(ThucydidesSystemProperty.WEBDRIVER_REMOTE_URL.from(environmentVariables));
         }
-        Augmenter augmenter = new Augmenter();
-        return augmenter.augment(driver);
     }
 
-    private WebDriver buildRemoteDriver() throws MalformedURLException {
-        String remoteUrl = ThucydidesSystemProperty.WEBDRIVER_REMOTE_URL.from(environmentVariables);
-        return webdriverInstanceFactory.newRemoteDriver(new URL(remoteUrl), buildRemoteCapabilities());
+    private Capabilities remoteSessionCapabilities() {
+        if (saucelabsUrlIsDefined()) {
+            return findSaucelabsCapabilities();
+        } else if (browserStackUrlIsDefined()) {
+            return findbrowserStackCapabilities();
+        } else {
+            return buildRemoteCapabilities();
+        }
+    }
+
+    private WebDriver newRemoteDriver(URL remoteUrl, Capabilities capabilities) {
+        WebDriver driver = webdriverInstanceFactory.newRemoteDriver(remoteUrl, capabilities);
+        if (saucelabsUrlIsDefined() && isNotEmpty(ThucydidesSystemProperty.SAUCELABS_IMPLICIT_TIMEOUT.from(environmentVariables))) {
+            int implicitWait = ThucydidesSystemProperty.SAUCELABS_IMPLICIT_TIMEOUT.integerFrom(environmentVariables, 30);
+
+            driver.manage().timeouts().implicitlyWait(implicitWait, TimeUnit.SECONDS);
+        }
+        Augmenter augmenter = new Augmenter();
+        return augmenter.augment(driver);
     }
 
     private boolean saucelabsUrlIsDefined() {
@@ -292,25 +435,6 @@ public class WebDriverFactory {
         return StringUtils.isNotEmpty(browserStackRemoteDriverCapabilities.getUrl());
     }
     
-    private WebDriver buildSaucelabsDriver() throws MalformedURLException {
-        String saucelabsUrl = sauceRemoteDriverCapabilities.getUrl();
-        WebDriver driver = webdriverInstanceFactory.newRemoteDriver(new URL(saucelabsUrl), findSaucelabsCapabilities());
-
-        if (isNotEmpty(ThucydidesSystemProperty.SAUCELABS_IMPLICIT_TIMEOUT.from(environmentVariables))) {
-            int implicitWait = ThucydidesSystemProperty.SAUCELABS_IMPLICIT_TIMEOUT.integerFrom(environmentVariables, 30);
-
-            driver.manage().timeouts().implicitlyWait(implicitWait, TimeUnit.SECONDS);
-        }
-        return driver;
-    }
-    
-    private WebDriver buildBrowserStackDriver() throws MalformedURLException{
-    	String browserStackUrl = browserStackRemoteDriverCapabilities.getUrl();
-        WebDriver driver = webdriverInstanceFactory.newRemoteDriver(new URL(browserStackUrl), findbrowserStackCapabilities());
-        return driver;
-    }
-    
-
     public static String getDriverFrom(EnvironmentVariables environmentVariables, String defaultDriver) {
         String driver = getDriverFrom(environmentVariables);
         return (driver != null) ? driver : defaultDriver;
@@ -507,10 +631,16 @@ public class WebDriverFactory {
         return capabilities;
     }
 
-    private WebDriver appiumDriver() {
-        return webdriverInstanceFactory.newAppiumDriver(appiumUrl(),
-                enhancedCapabilities(appiumCapabilities()),
-                appiumTargetPlatform());
+    private Callable<WebDriver> appiumDriverLaunch() {
+        final URL appiumUrl = appiumUrl();
+        final Capabilities capabilities = enhancedCapabilities(appiumCapabilities());
+        final MobilePlatform targetPlatform = appiumTargetPlatform();
+        return new Callable<WebDriver>() {
+            @Override
+            public WebDriver call() throws Exception {
+                return webdriverInstanceFactory.newAppiumDriver(appiumUrl, capabilities, targetPlatform);
+            }
+        };
     }
 
     private MobilePlatform appiumTargetPlatform() {
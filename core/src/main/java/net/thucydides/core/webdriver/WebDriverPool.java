@@ -0,0 +1,303 @@
+package net.thucydides.core.webdriver;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of open browsers, shared by the tests running in a JVM.
+ * Instead of being quit, a browser that a test has finished with is cleaned (extra windows are closed, and
+ * the web storage and cookies are cleared) and handed to the next test that needs a browser of the same type.
+ * A browser is retired once it has been used webdriver.pool.max.uses times, or when it stops responding,
+ * and a replacement is launched in the background. The pool is turned on by setting webdriver.pool.size.
+ * Only local browsers are pooled: remote sessions carry the capabilities of the test they were opened for.
+ */
+public class WebDriverPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverPool.class);
+
+    private static final int DEFAULT_MAXIMUM_USES = 20;
+
+    private static final String CLEAR_WEB_STORAGE
+            = "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+
+    private static WebDriverPool poolForThisJVM;
+
+    private final int poolSize;
+    private final int maximumUses;
+    private final ConcurrentMap<Class<? extends WebDriver>, BlockingDeque<PooledDriver>> idleDrivers
+            = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<? extends WebDriver>, AtomicInteger> openDriverCounts = new ConcurrentHashMap<>();
+    private final Map<WebDriver, PooledDriver> driversInUse
+            = Collections.synchronizedMap(new IdentityHashMap<WebDriver, PooledDriver>());
+    private final ExecutorService launcher;
+    private volatile boolean shutDown = false;
+
+    public WebDriverPool(EnvironmentVariables environmentVariables) {
+        this.poolSize = Math.max(1, ThucydidesSystemProperty.WEBDRIVER_POOL_SIZE.integerFrom(environmentVariables, 1));
+        this.maximumUses = Math.max(1, ThucydidesSystemProperty.WEBDRIVER_POOL_MAX_USES.integerFrom(environmentVariables,
+                                                                                                  DEFAULT_MAXIMUM_USES));
+        this.launcher = Executors.newCachedThreadPool(
+                new ThreadFactoryBuilder().setNameFormat("webdriver-pool-%d").setDaemon(true).build());
+    }
+
+    public static boolean isActiveIn(EnvironmentVariables environmentVariables) {
+        return ThucydidesSystemProperty.WEBDRIVER_POOL_SIZE.integerFrom(environmentVariables, 0) > 0;
+    }
+
+    /**
+     * The browser pool shared by every test in this JVM. The pooled browsers are closed when the JVM shuts down.
+     */
+    public static synchronized WebDriverPool forThisJVM(EnvironmentVariables environmentVariables) {
+        if (poolForThisJVM == null) {
+            poolForThisJVM = new WebDriverPool(environmentVariables);
+            Runtime.getRuntime().addShutdownHook(new Thread("webdriver-pool-shutdown") {
+                @Override
+                public void run() {
+                    poolForThisJVM.shutdown();
+                }
+            });
+        }
+        return poolForThisJVM;
+    }
+
+    /**
+     * Hands out a clean browser of a given type, launching one if none are ready.
+     * As when a browser is launched outside the pool, the fixture services should already be set up on this thread.
+     */
+    public WebDriver acquire(WebDriverFactory webDriverFactory, Class<? extends WebDriver> driverClass) {
+        PooledDriver pooledDriver = nextHealthyIdleDriver(driverClass);
+        if (pooledDriver == null) {
+            pooledDriver = new PooledDriver(webDriverFactory.newWebdriverInstance(driverClass), driverClass,
+                                            webDriverFactory);
+            openDriverCountFor(driverClass).incrementAndGet();
+        }
+        pooledDriver.uses++;
+        driversInUse.put(pooledDriver.driver, pooledDriver);
+        warmUp(webDriverFactory, driverClass);
+        return pooledDriver.driver;
+    }
+
+    /**
+     * Takes back a browser that a test has finished with. Browsers that did not come from the pool are quit.
+     */
+    public void release(WebDriver driver) {
+        PooledDriver pooledDriver = driversInUse.remove(driver);
+        if (pooledDriver == null) {
+            driver.quit();
+            return;
+        }
+        if (shutDown || (pooledDriver.uses >= maximumUses) || tooManyOpenDriversFor(pooledDriver.driverClass)
+            || !sessionWasCleanedIn(driver)) {
+            retire(pooledDriver);
+        } else {
+            idleDriversFor(pooledDriver.driverClass).offerFirst(pooledDriver);
+        }
+    }
+
+    /**
+     * The number of open browsers of a given type, whether they are in use, idle or being launched.
+     */
+    public int getOpenDriverCount(Class<? extends WebDriver> driverClass) {
+        return openDriverCountFor(driverClass).get();
+    }
+
+    /**
+     * Quits every pooled browser, including the ones still in use.
+     */
+    public void shutdown() {
+        shutDown = true;
+        List<PooledDriver> openDrivers = new ArrayList<>();
+        for (BlockingDeque<PooledDriver> drivers : idleDrivers.values()) {
+            drivers.drainTo(openDrivers);
+        }
+        synchronized (driversInUse) {
+            openDrivers.addAll(driversInUse.values());
+            driversInUse.clear();
+        }
+        for (PooledDriver pooledDriver : openDrivers) {
+            quitQuietly(pooledDriver);
+        }
+        launcher.shutdownNow();
+    }
+
+    private PooledDriver nextHealthyIdleDriver(Class<? extends WebDriver> driverClass) {
+        BlockingDeque<PooledDriver> drivers = idleDriversFor(driverClass);
+        PooledDriver pooledDriver;
+        while ((pooledDriver = drivers.pollFirst()) != null) {
+            if (isResponding(pooledDriver.driver)) {
+                return pooledDriver;
+            }
+            LOGGER.info("Retiring a pooled {} browser that is no longer responding", driverClass.getSimpleName());
+            retire(pooledDriver);
+        }
+        return null;
+    }
+
+    /**
+     * Launches browsers in the background until the pool holds webdriver.pool.size browsers of this type.
+     */
+    private void warmUp(final WebDriverFactory webDriverFactory, final Class<? extends WebDriver> driverClass) {
+        final AtomicInteger openDriverCount = openDriverCountFor(driverClass);
+        while (!shutDown && reserveLaunchFor(openDriverCount)) {
+            launcher.submit(new Runnable() {
+                @Override
+                public void run() {
+                    launchIdleDriver(webDriverFactory, driverClass, openDriverCount);
+                }
+            });
+        }
+    }
+
+    private boolean reserveLaunchFor(AtomicInteger openDriverCount) {
+        int count = openDriverCount.get();
+        return (count < poolSize) && openDriverCount.compareAndSet(count, count + 1);
+    }
+
+    private void launchIdleDriver(WebDriverFactory webDriverFactory,
+                                  Class<? extends WebDriver> driverClass,
+                                  AtomicInteger openDriverCount) {
+        try {
+            webDriverFactory.setupFixtureServices();
+            WebDriver driver = webDriverFactory.newWebdriverInstance(driverClass);
+            PooledDriver pooledDriver = new PooledDriver(driver, driverClass, webDriverFactory);
+            if (shutDown) {
+                quitQuietly(pooledDriver);
+            } else {
+                idleDriversFor(driverClass).offerLast(pooledDriver);
+            }
+        } catch (RuntimeException e) {
+            openDriverCount.decrementAndGet();
+            LOGGER.warn("Could not launch a {} browser for the browser pool: {}", driverClass.getSimpleName(),
+                        e.getMessage());
+        }
+    }
+
+    /**
+     * Quits a browser in the background, and starts launching its replacement.
+     */
+    private void retire(final PooledDriver pooledDriver) {
+        openDriverCountFor(pooledDriver.driverClass).decrementAndGet();
+        if (shutDown) {
+            quitQuietly(pooledDriver);
+            return;
+        }
+        launcher.submit(new Runnable() {
+            @Override
+            public void run() {
+                quitQuietly(pooledDriver);
+            }
+        });
+        warmUp(pooledDriver.webDriverFactory, pooledDriver.driverClass);
+    }
+
+    private boolean tooManyOpenDriversFor(Class<? extends WebDriver> driverClass) {
+        return openDriverCountFor(driverClass).get() > poolSize;
+    }
+
+    private boolean isResponding(WebDriver driver) {
+        try {
+            return !driver.getWindowHandles().isEmpty();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Leave the browser as a new session would find it: a single blank window, with no cookies or web storage.
+     */
+    private boolean sessionWasCleanedIn(WebDriver driver) {
+        try {
+            closeExtraWindowsIn(driver);
+            clearWebStorageIn(driver);
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.debug("Could not clean a pooled browser session", e);
+            return false;
+        }
+    }
+
+    private void closeExtraWindowsIn(WebDriver driver) {
+        Set<String> windowHandles = driver.getWindowHandles();
+        if (windowHandles.size() > 1) {
+            Iterator<String> windows = windowHandles.iterator();
+            String firstWindow = windows.next();
+            while (windows.hasNext()) {
+                driver.switchTo().window(windows.next());
+                driver.close();
+            }
+            driver.switchTo().window(firstWindow);
+        }
+    }
+
+    private void clearWebStorageIn(WebDriver driver) {
+        if (driver instanceof JavascriptExecutor) {
+            try {
+                ((JavascriptExecutor) driver).executeScript(CLEAR_WEB_STORAGE);
+            } catch (RuntimeException javascriptNotAvailable) {
+                LOGGER.debug("Could not clear the web storage of a pooled browser: {}", javascriptNotAvailable.getMessage());
+            }
+        }
+    }
+
+    private void quitQuietly(PooledDriver pooledDriver) {
+        try {
+            pooledDriver.driver.quit();
+        } catch (RuntimeException e) {
+            LOGGER.debug("Error while quitting a pooled browser: {}", e.getMessage());
+        }
+    }
+
+    private BlockingDeque<PooledDriver> idleDriversFor(Class<? extends WebDriver> driverClass) {
+        BlockingDeque<PooledDriver> drivers = idleDrivers.get(driverClass);
+        if (drivers == null) {
+            idleDrivers.putIfAbsent(driverClass, new LinkedBlockingDeque<PooledDriver>());
+            drivers = idleDrivers.get(driverClass);
+        }
+        return drivers;
+    }
+
+    private AtomicInteger openDriverCountFor(Class<? extends WebDriver> driverClass) {
+        AtomicInteger count = openDriverCounts.get(driverClass);
+        if (count == null) {
+            openDriverCounts.putIfAbsent(driverClass, new AtomicInteger());
+            count = openDriverCounts.get(driverClass);
+        }
+        return count;
+    }
+
+    private static final class PooledDriver {
+        private final WebDriver driver;
+        private final Class<? extends WebDriver> driverClass;
+        private final WebDriverFactory webDriverFactory;
+        private int uses;
+
+        private PooledDriver(WebDriver driver, Class<? extends WebDriver> driverClass,
+                             WebDriverFactory webDriverFactory) {
+            this.driver = driver;
+            this.driverClass = driverClass;
+            this.webDriverFactory = webDriverFactory;
+        }
+    }
+}
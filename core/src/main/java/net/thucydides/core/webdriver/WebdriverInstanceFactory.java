@@ -7,13 +7,17 @@ import net.thucydides.core.guice.Injectors;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.htmlunit.HtmlUnitDriver;
 import org.openqa.selenium.ie.InternetExplorerDriver;
+import org.openqa.selenium.ie.InternetExplorerDriverLogLevel;
+import org.openqa.selenium.ie.InternetExplorerDriverService;
 import org.openqa.selenium.phantomjs.PhantomJSDriver;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.safari.SafariDriver;
 
+import java.io.File;
 import java.net.URL;
 
 /**
@@ -23,8 +27,15 @@ public class WebdriverInstanceFactory {
 
     private DriverCapabilityRecord driverProperties;
 
+    private final DriverPortAllocator portAllocator;
+
     public WebdriverInstanceFactory() {
+        this(DriverPortAllocator.forThisJVM());
+    }
+
+    public WebdriverInstanceFactory(DriverPortAllocator portAllocator) {
         this.driverProperties = Injectors.getInjector().getInstance(DriverCapabilityRecord.class);
+        this.portAllocator = portAllocator;
     }
 
     public WebDriver newInstanceOf(final Class<? extends WebDriver> webdriverClass) throws IllegalAccessException, InstantiationException {
@@ -43,10 +54,19 @@ public class WebdriverInstanceFactory {
         return driver;
     }
 
+    /**
+     * Starts chromedriver on a port reserved from the DriverPortAllocator, so that browsers can be launched in parallel.
+     */
     public WebDriver newChromeDriver(Capabilities capabilities) {
-        ChromeDriver driver = new ChromeDriver(capabilities);
-        driverProperties.registerCapabilities("chrome", driver.getCapabilities());
-        return driver;
+        int port = portAllocator.reservePort();
+        try {
+            ChromeDriverService service = new ChromeDriverService.Builder().usingPort(port).build();
+            ChromeDriver driver = new ChromeDriver(service, capabilities);
+            driverProperties.registerCapabilities("chrome", driver.getCapabilities());
+            return driver;
+        } finally {
+            portAllocator.releasePort(port);
+        }
     }
 
     public WebDriver newAppiumDriver(URL hub, Capabilities capabilities, MobilePlatform platform) {
@@ -69,10 +89,51 @@ public class WebdriverInstanceFactory {
         return driver;
     }
 
+    /**
+     * Starts IEDriverServer on a port reserved from the DriverPortAllocator, so that browsers can be launched in parallel.
+     */
     public WebDriver newInternetExplorerDriver(Capabilities capabilities) {
-        InternetExplorerDriver driver = new InternetExplorerDriver(capabilities);
-        driverProperties.registerCapabilities("iexplorer", driver.getCapabilities());
-        return driver;
+        int port = portAllocator.reservePort();
+        try {
+            InternetExplorerDriverService.Builder serviceBuilder = new InternetExplorerDriverService.Builder().usingPort(port);
+            InternetExplorerDriverService service = configureService(serviceBuilder, capabilities).build();
+            InternetExplorerDriver driver = new InternetExplorerDriver(service, capabilities);
+            driverProperties.registerCapabilities("iexplorer", driver.getCapabilities());
+            return driver;
+        } finally {
+            portAllocator.releasePort(port);
+        }
+    }
+
+    /**
+     * Copies the IEDriverServer settings that InternetExplorerDriver would read from the capabilities
+     * if it started the service itself.
+     */
+    InternetExplorerDriverService.Builder configureService(InternetExplorerDriverService.Builder serviceBuilder,
+                                                           Capabilities capabilities) {
+        if (capabilities == null) {
+            return serviceBuilder;
+        }
+        String logFile = (String) capabilities.getCapability(InternetExplorerDriver.LOG_FILE);
+        if (logFile != null) {
+            serviceBuilder.withLogFile(new File(logFile));
+        }
+        String logLevel = (String) capabilities.getCapability(InternetExplorerDriver.LOG_LEVEL);
+        if (logLevel != null) {
+            serviceBuilder.withLogLevel(InternetExplorerDriverLogLevel.valueOf(logLevel));
+        }
+        String host = (String) capabilities.getCapability(InternetExplorerDriver.HOST);
+        if (host != null) {
+            serviceBuilder.withHost(host);
+        }
+        String extractPath = (String) capabilities.getCapability(InternetExplorerDriver.EXTRACT_PATH);
+        if (extractPath != null) {
+            serviceBuilder.withExtractPath(new File(extractPath));
+        }
+        if (capabilities.getCapability(InternetExplorerDriver.SILENT) != null) {
+            serviceBuilder.withSilent(capabilities.is(InternetExplorerDriver.SILENT));
+        }
+        return serviceBuilder;
     }
 
     public WebDriver newHtmlUnitDriver(Capabilities capabilities) {
@@ -156,4 +156,26 @@ class WhenUsingTheSmartAnnotations extends Specification {
     }
 
 
+    def "should only build the locator for a field once for each platform"() {
+        given:
+        def field = AnnotatedPageSample.class.getField("byCss")
+        when:
+        def firstLocator = SmartAnnotations.locatorFor(field, MobilePlatform.NONE)
+        def secondLocator = SmartAnnotations.locatorFor(field, MobilePlatform.NONE)
+        then:
+        firstLocator.is(secondLocator)
+        firstLocator == new SmartAnnotations(field, MobilePlatform.NONE).buildBy()
+    }
+
+    def "should build separate locators for each platform"() {
+        given:
+        def field = AnnotatedPageSample.class.getField("byAccessibilityId")
+        when:
+        def iosLocator = SmartAnnotations.locatorFor(field, MobilePlatform.IOS)
+        def androidLocator = SmartAnnotations.locatorFor(field, MobilePlatform.ANDROID)
+        then:
+        !iosLocator.is(androidLocator)
+        iosLocator.class == MobileBy.ByAccessibilityId
+    }
+
 }
@@ -5,6 +5,8 @@ import net.thucydides.core.webdriver.Configuration
 import org.openqa.selenium.remote.DesiredCapabilities
 import spock.lang.Specification
 
+import java.util.concurrent.Executors
+
 /**
  * Created by john on 12/02/15.
  */
@@ -45,4 +47,21 @@ class WhenStoringAndRetrievingDriverCapabilities extends Specification {
             capabilities["htmlunit"].getProperty("browserName") == "htmlunit"
 
     }
+
+    def "capabilities registered from several threads at once should leave a complete property file"() {
+        given:
+            def driverCapabilityRecord = new PropertyBasedDriverCapabilityRecord(configuration)
+            driverCapabilityRecord.registerCapabilities("firefox", DesiredCapabilities.firefox())
+            def storedProperties = driverCapabilityRecord.driverCapabilities["firefox"]
+            def threads = Executors.newFixedThreadPool(8)
+        when:
+            def registrations = (1..200).collect {
+                threads.submit({ driverCapabilityRecord.registerCapabilities("firefox", DesiredCapabilities.firefox()) } as Runnable)
+            }
+            registrations*.get()
+            threads.shutdown()
+        then:
+            outputDirectory.list().toList() == ["browser-firefox.properties"]
+            driverCapabilityRecord.driverCapabilities["firefox"] == storedProperties
+    }
 }
@@ -0,0 +1,50 @@
+package net.thucydides.core.annotations.locators
+
+import spock.lang.Specification
+
+class WhenLookingUpElementsInQuickMethods extends Specification {
+
+    def "should not be in a quick method by default"() {
+        expect:
+            !MethodTiming.forThisThread().isInQuickMethod()
+    }
+
+    def "should be in a quick method until the method is exited"() {
+        given:
+            def methodTiming = MethodTiming.forThisThread()
+        when:
+            methodTiming.enterQuickMethod()
+        then:
+            MethodTiming.forThisThread().isInQuickMethod()
+        when:
+            methodTiming.exitQuickMethod()
+        then:
+            !MethodTiming.forThisThread().isInQuickMethod()
+    }
+
+    def "should stay in a quick method until the outermost quick method is exited"() {
+        given:
+            def methodTiming = MethodTiming.forThisThread()
+        when:
+            methodTiming.enterQuickMethod()
+            methodTiming.enterQuickMethod()
+            methodTiming.exitQuickMethod()
+        then:
+            methodTiming.isInQuickMethod()
+        cleanup:
+            methodTiming.exitQuickMethod()
+    }
+
+    def "should only apply to the current thread"() {
+        given:
+            MethodTiming.forThisThread().enterQuickMethod()
+        when:
+            def inQuickMethodInAnotherThread = true
+            def thread = Thread.start { inQuickMethodInAnotherThread = MethodTiming.forThisThread().isInQuickMethod() }
+            thread.join()
+        then:
+            !inQuickMethodInAnotherThread
+        cleanup:
+            MethodTiming.forThisThread().exitQuickMethod()
+    }
+}
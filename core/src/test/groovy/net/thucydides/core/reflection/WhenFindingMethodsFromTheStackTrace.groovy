@@ -0,0 +1,40 @@
+package net.thucydides.core.reflection
+
+import spock.lang.Specification
+
+class WhenFindingMethodsFromTheStackTrace extends Specification {
+
+    def "should find the public method corresponding to a stack frame"() {
+        given:
+            def frame = new StackTraceElement(SampleSteps.name, "someStep", "SampleSteps.groovy", 10)
+        when:
+            def method = StackTraceAnalyser.forStackTraceElement(frame).getMethod()
+        then:
+            method == SampleSteps.getMethod("someStep")
+    }
+
+    def "should resolve the same frame to the same method instance on later calls"() {
+        given:
+            def frame = new StackTraceElement(SampleSteps.name, "someStep", "SampleSteps.groovy", 10)
+            def sameMethodOnAnotherLine = new StackTraceElement(SampleSteps.name, "someStep", "SampleSteps.groovy", 20)
+        when:
+            def firstMethod = StackTraceAnalyser.forStackTraceElement(frame).getMethod()
+            def secondMethod = StackTraceAnalyser.forStackTraceElement(sameMethodOnAnotherLine).getMethod()
+        then:
+            firstMethod.is(secondMethod)
+    }
+
+    def "should not find methods for frames that do not match a public method"() {
+        expect:
+            StackTraceAnalyser.forStackTraceElement(new StackTraceElement(className, methodName, "Unknown.java", 1)).getMethod() == null
+        where:
+            className                  | methodName
+            SampleSteps.name           | "unknownStep"
+            "net.example.UnknownClass" | "someStep"
+            "java.lang.String"         | "length"
+    }
+
+    static class SampleSteps {
+        public void someStep() {}
+    }
+}
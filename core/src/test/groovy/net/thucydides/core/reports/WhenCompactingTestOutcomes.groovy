@@ -0,0 +1,101 @@
+package net.thucydides.core.reports
+
+import net.thucydides.core.model.CompactTestOutcome
+import net.thucydides.core.model.TestOutcome
+import net.thucydides.core.model.TestResult
+import net.thucydides.core.model.TestTag
+import net.thucydides.core.model.TestType
+import net.thucydides.core.util.MockEnvironmentVariables
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static net.thucydides.core.util.TestResources.directoryInClasspathCalled
+
+class WhenCompactingTestOutcomes extends Specification {
+
+    def environmentVariables = new MockEnvironmentVariables()
+
+    def setup() {
+        environmentVariables.setProperty("serenity.report.compact.outcomes", "true")
+    }
+
+    def fullLoader = new TestOutcomeLoader(new MockEnvironmentVariables()).forFormat(OutcomeFormat.XML)
+    def compactLoader = new TestOutcomeLoader(environmentVariables).forFormat(OutcomeFormat.XML)
+
+    @Unroll
+    def "compact test outcomes should report the same results and counts as the full test outcomes in #directory"() {
+        given:
+            def outcomeDirectory = directoryInClasspathCalled(directory)
+        when:
+            List<TestOutcome> fullOutcomes = fullLoader.loadFrom(outcomeDirectory)
+            List<TestOutcome> compactOutcomes = compactLoader.loadFrom(outcomeDirectory)
+        then:
+            compactOutcomes.every { it instanceof CompactTestOutcome }
+            compactOutcomes.size() == fullOutcomes.size()
+        and:
+            [fullOutcomes, compactOutcomes].transpose().every { TestOutcome full, TestOutcome compact ->
+                summaryOf(compact) == summaryOf(full)
+            }
+        where:
+            directory << ["/test-outcomes/all-successful", "/test-outcomes/containing-failure",
+                          "/test-outcomes/containing-nostep-errors", "/test-outcomes/containing-pending",
+                          "/test-outcomes/containing-skipped", "/test-outcomes/somedatadriven",
+                          "/test-outcomes/with-no-steps"]
+    }
+
+    def "compact test outcomes should read their test steps and example tables from the outcome files when needed"() {
+        given:
+            def outcomeDirectory = directoryInClasspathCalled("/test-outcomes/somedatadriven")
+        when:
+            List<TestOutcome> fullOutcomes = fullLoader.loadFrom(outcomeDirectory)
+            List<TestOutcome> compactOutcomes = compactLoader.loadFrom(outcomeDirectory)
+        then:
+            [fullOutcomes, compactOutcomes].transpose().every { TestOutcome full, TestOutcome compact ->
+                compact.testSteps*.description == full.testSteps*.description &&
+                compact.dataTable?.rows*.stringValues == full.dataTable?.rows*.stringValues
+            }
+    }
+
+    def "test outcomes should only be compacted when compact outcomes are requested"() {
+        when:
+            List<TestOutcome> outcomes = fullLoader.loadFrom(directoryInClasspathCalled("/test-outcomes/all-successful"))
+        then:
+            outcomes.every { !(it instanceof CompactTestOutcome) }
+    }
+
+    def "adding tags to a compact test outcome should keep it compact"() {
+        given:
+            TestOutcome compactOutcome = compactLoader.loadFrom(directoryInClasspathCalled("/test-outcomes/all-successful"))[0]
+            def requirementTag = TestTag.withName("Some feature").andType("feature")
+        when:
+            TestOutcome taggedOutcome = compactOutcome.withTags(compactOutcome.tags + requirementTag)
+        then:
+            taggedOutcome instanceof CompactTestOutcome
+            taggedOutcome.tags.contains(requirementTag)
+            taggedOutcome.result == compactOutcome.result
+        and: "the reloaded full outcome carries the new tags"
+            taggedOutcome.testSteps.size() == compactOutcome.stepCount
+            ((CompactTestOutcome) taggedOutcome).fullOutcome.tags.contains(requirementTag)
+    }
+
+    def summaryOf(TestOutcome outcome) {
+        [title             : outcome.title,
+         result            : outcome.result,
+         duration          : outcome.duration,
+         tags              : outcome.tags,
+         issues            : outcome.issues,
+         errorMessage      : outcome.errorMessage,
+         stepCount         : outcome.stepCount,
+         nestedStepCount   : outcome.nestedStepCount,
+         leafStepCount     : outcome.countTestSteps(),
+         stepResults       : [outcome.successCount, outcome.failureCount, outcome.errorCount,
+                              outcome.ignoredCount, outcome.skippedCount, outcome.pendingCount],
+         dataDriven        : outcome.dataDriven,
+         testCount         : outcome.testCount,
+         implementedTests  : outcome.implementedTestCount,
+         results           : TestResult.values().collect { result ->
+                                 TestType.values().collect { type -> outcome.countResults(result, type) } },
+         nestedStepResults : TestResult.values().collect { result ->
+                                 TestType.values().collect { type -> outcome.countNestedStepsWithResult(result, type) } }]
+    }
+}
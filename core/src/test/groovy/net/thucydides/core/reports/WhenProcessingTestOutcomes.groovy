@@ -3,9 +3,11 @@ package net.thucydides.core.reports
 import net.thucydides.core.model.TestOutcome
 import net.thucydides.core.model.TestResult
 import net.thucydides.core.model.TestTag
+import net.thucydides.core.model.TestType
 import net.thucydides.core.util.EnvironmentVariables
 import net.thucydides.core.util.MockEnvironmentVariables
 import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
 
 import static net.thucydides.core.reports.matchers.TestOutcomeMatchers.*
 import static net.thucydides.core.util.TestResources.directoryInClasspathCalled
@@ -34,6 +36,46 @@ class WhenProcessingTestOutcomes extends Specification {
             testOutcomes.size() == 11
     }
 
+    def "should load test outcomes in parallel when several report threads are configured"() {
+        given:
+            environmentVariables.setProperty("serenity.report.loader.threads","4");
+            def loader = new TestOutcomeLoader(environmentVariables)
+        when:
+            List<TestOutcome> testOutcomes = loader.forFormat(OutcomeFormat.JSON).loadFrom(directoryInClasspathCalled("/json-test-outcomes"));
+        then:
+            testOutcomes.size() == 11
+        and:
+            testOutcomes.collect { it.title } == testOutcomes.collect { it.title }.sort()
+    }
+
+    def "should notify a listener of each test outcome as it is loaded"() {
+        given:
+            def loadedOutcomes = []
+            def listener = { TestOutcome outcome -> loadedOutcomes << outcome } as TestOutcomeLoadListener
+        when:
+            loader.forFormat(OutcomeFormat.XML).loadFrom(directoryInClasspathCalled("/tagged-test-outcomes"), listener)
+        then:
+            loadedOutcomes.size() == 3
+    }
+
+    def "should stop loading test outcomes when a stream is closed before it has been read to the end"() {
+        given:
+            environmentVariables.setProperty("serenity.report.loader.threads","4");
+            def loader = new TestOutcomeLoader(environmentVariables).forFormat(OutcomeFormat.JSON)
+            def outcomeStream = loader.streamFrom(directoryInClasspathCalled("/json-test-outcomes"))
+        when:
+            outcomeStream.next()
+            outcomeStream.close()
+        then:
+            new PollingConditions(timeout: 5).eventually {
+                assert runningThreadNames().findAll { it.startsWith("outcome-loader") }.isEmpty()
+            }
+    }
+
+    def runningThreadNames() {
+        Thread.allStackTraces.keySet().collect { it.name }
+    }
+
     def "should not load test outcome from an invalid directory"() {
         when:
             loader.loadFrom(new File("/does-not-exist"))
@@ -226,6 +268,30 @@ class WhenProcessingTestOutcomes extends Specification {
             tests everyItem(havingTagName("a feature"))
     }
 
+    def "should only list the tags of the outcomes in a filtered view"() {
+        given:
+            TestOutcomes testOutcomes = TestOutcomeLoader.loadTestOutcomes().inFormat(OutcomeFormat.XML).from(directoryInClasspathCalled("/tagged-test-outcomes"));
+        when:
+            def storyOutcomes = testOutcomes.withTag("a story")
+        then:
+            storyOutcomes.getTagsOfType("story") as Set == storyOutcomes.getTests().collectMany { it.tags.findAll { it.type.equalsIgnoreCase("story") } } as Set
+            storyOutcomes.getTags() as Set == storyOutcomes.getTests().collectMany { it.tags } as Set
+            !storyOutcomes.containsTag(TestTag.withValue("story:another different story"))
+            testOutcomes.containsTag(TestTag.withValue("story:another different story"))
+    }
+
+    def "should give the same results when filters are combined in any order"() {
+        given:
+            TestOutcomes testOutcomes = TestOutcomeLoader.loadTestOutcomes().inFormat(OutcomeFormat.XML).from(directoryInClasspathCalled("/tagged-test-outcomes"));
+        when:
+            def byTypeThenTag = testOutcomes.withTagType("feature").withTag("a feature").passingTests
+            def byResultThenTag = testOutcomes.passingTests.withTag("a feature").withTagType("feature")
+        then:
+            byTypeThenTag.getTests() == byResultThenTag.getTests()
+            byTypeThenTag.getRootOutcomes() == testOutcomes
+            byResultThenTag.getRootOutcomes() == testOutcomes
+    }
+
     def "should provide total test duration for a set of tests"() {
         when:
             def testOutcomes = TestOutcomeLoader.loadTestOutcomes().inFormat(OutcomeFormat.XML).from(directoryInClasspathCalled("/tagged-test-outcomes"));
@@ -268,4 +334,33 @@ class WhenProcessingTestOutcomes extends Specification {
             testOutcomes.totalTests.withResult(TestResult.PENDING) == 19
     }
 
+    def "should count tests and steps in a single pass and keep the counts for each set of tests"() {
+        given:
+            def testOutcomes = TestOutcomeLoader.loadTestOutcomes().inFormat(OutcomeFormat.JSON).from(directoryInClasspathCalled("/sample-full-json-report"));
+        when:
+            def statistics = testOutcomes.statistics
+        then:
+            testOutcomes.statistics.is(statistics)
+        and:
+            TestResult.values().every { result ->
+                TestType.values().every { type ->
+                    statistics.countTestsWithResult(result, type) == testOutcomes.outcomes.sum { it.countResults(result, type) } &&
+                    statistics.countStepsWithResult(result, type) == testOutcomes.outcomes.sum { it.countNestedStepsWithResult(result, type) }
+                }
+            }
+        and:
+            statistics.stepCount == testOutcomes.outcomes.sum { it.nestedStepCount }
+            statistics.hasDataDrivenTests() == testOutcomes.outcomes.any { it.dataDriven }
+    }
+
+    def "should keep separate counts for each filtered set of tests"() {
+        given:
+            def testOutcomes = TestOutcomeLoader.loadTestOutcomes().inFormat(OutcomeFormat.XML).from(directoryInClasspathCalled("/tagged-test-outcomes"));
+        when:
+            def passingTests = testOutcomes.passingTests
+        then:
+            passingTests.totalTests.withResult(TestResult.SUCCESS) == passingTests.total
+            passingTests.totalTests.withResult(TestResult.FAILURE) == 0
+            testOutcomes.total == 3
+    }
 }
@@ -0,0 +1,129 @@
+package net.thucydides.core.reports.binary
+
+import com.github.goldin.spock.extensions.tempdir.TempDir
+import net.thucydides.core.model.CompactTestOutcome
+import net.thucydides.core.model.TestOutcome
+import net.thucydides.core.reports.OutcomeFormat
+import net.thucydides.core.reports.TestOutcomeLoader
+import net.thucydides.core.reports.TestOutcomes
+import net.thucydides.core.reports.json.JSONTestOutcomeReporter
+import net.thucydides.core.util.MockEnvironmentVariables
+import spock.lang.Specification
+
+import static net.thucydides.core.util.TestResources.directoryInClasspathCalled
+
+class WhenJournalingTestOutcomes extends Specification {
+
+    @TempDir
+    File outputDirectory
+
+    def reporter = new JournalTestOutcomeReporter(new MockEnvironmentVariables())
+    List<TestOutcome> outcomes = new JSONTestOutcomeReporter().loadReportsFrom(directoryInClasspathCalled("/json-test-outcomes"))
+
+    def setup() {
+        reporter.outputDirectory = outputDirectory
+    }
+
+    def cleanup() {
+        OutcomeJournal.closeJournalIn(outputDirectory)
+    }
+
+    def "test outcomes should be appended to a single journal segment"() {
+        when:
+            def segmentFiles = outcomes.collect { reporter.generateReportFor(it, TestOutcomes.of([it])) } as Set
+        then:
+            segmentFiles.size() == 1
+            outputDirectory.list().toList() == [segmentFiles[0].name]
+        and:
+            def segment = OutcomeJournalSegment.open(segmentFiles[0])
+            segment.size() == outcomes.size()
+            (0..<segment.size()).collect { segment.loadOutcome(it).get().title } == outcomes*.title
+    }
+
+    def "a torn record at the end of a journal segment should be ignored"() {
+        given:
+            outcomes.each { reporter.generateReportFor(it, TestOutcomes.of([it])) }
+            File segmentFile = OutcomeJournal.in(outputDirectory).segmentFile
+            OutcomeJournal.closeJournalIn(outputDirectory)
+        when:
+            def lastRecordStart = segmentFile.length() - OutcomeJournal.frameFor(outcomes.last().reportName.getBytes("UTF-8"),
+                                                                                   BinaryOutcomeFormat.storedRecordFor(outcomes.last(), reporter.jsonConverter, false),
+                                                                                   false).remaining()
+            new RandomAccessFile(segmentFile, "rw").withCloseable { it.setLength(lastRecordStart + 20) }
+        then:
+            OutcomeJournalSegment.open(segmentFile).size() == outcomes.size() - 1
+    }
+
+    def "a corrupted record should not be loaded"() {
+        given:
+            reporter.generateReportFor(outcomes[0], TestOutcomes.of([outcomes[0]]))
+            File segmentFile = OutcomeJournal.in(outputDirectory).segmentFile
+            OutcomeJournal.closeJournalIn(outputDirectory)
+        when:
+            new RandomAccessFile(segmentFile, "rw").withCloseable {
+                it.seek(segmentFile.length() - 1)
+                int lastByte = it.read()
+                it.seek(segmentFile.length() - 1)
+                it.write(lastByte ^ 0xFF)
+            }
+        then:
+            OutcomeJournalSegment.open(segmentFile).size() == 0
+    }
+
+    def "compaction should merge the segments and keep only the latest record of each test outcome"() {
+        given: "outcomes recorded by two separate runs"
+            outcomes.each { reporter.generateReportFor(it, TestOutcomes.of([it])) }
+            OutcomeJournal.closeJournalIn(outputDirectory)
+            outputDirectory.listFiles()[0].setLastModified(System.currentTimeMillis() - 10000)
+        and: "the first test outcome was run again"
+            def rerunOutcome = outcomes[0].copy()
+            rerunOutcome.duration = 123456
+            reporter.generateReportFor(rerunOutcome, TestOutcomes.of([rerunOutcome]))
+        when:
+            File journal = OutcomeJournalSegment.compactSegmentsIn(outputDirectory).get()
+        then:
+            outputDirectory.list().toList() == ["outcomes.journal"]
+        and:
+            def segment = OutcomeJournalSegment.open(journal)
+            def journaledOutcomes = (0..<segment.size()).collect { segment.loadOutcome(it).get() }
+            journaledOutcomes.size() == outcomes.size()
+            journaledOutcomes.find { it.reportName == rerunOutcome.reportName }.duration == 123456
+        and: "a compacted journal is left as it is"
+            OutcomeJournalSegment.compactSegmentsIn(outputDirectory).get().lastModified() == journal.lastModified()
+    }
+
+    def "a compacted journal that has been read should be compacted again with the outcomes of a later run"() {
+        given: "a compacted journal that has already been loaded"
+            outcomes.each { reporter.generateReportFor(it, TestOutcomes.of([it])) }
+            File journal = OutcomeJournalSegment.compactSegmentsIn(outputDirectory).get()
+            def compactedSegment = OutcomeJournalSegment.open(journal)
+            compactedSegment.loadOutcome(0)
+            journal.setLastModified(System.currentTimeMillis() - 10000)
+        and: "the first test outcome was run again"
+            def rerunOutcome = outcomes[0].copy()
+            rerunOutcome.duration = 123456
+            reporter.generateReportFor(rerunOutcome, TestOutcomes.of([rerunOutcome]))
+        when:
+            def segment = OutcomeJournalSegment.open(OutcomeJournalSegment.compactSegmentsIn(outputDirectory).get())
+        then:
+            outputDirectory.list().toList() == ["outcomes.journal"]
+            segment.size() == outcomes.size()
+            segment.loadOutcome(segment.size() - 1).get().duration == 123456
+            (0..<segment.size()).collect { segment.reportNameOf(it) } as Set == outcomes*.reportName as Set
+    }
+
+    def "the test outcome loader should load the journaled test outcomes when journal is the preferred format"() {
+        given:
+            outcomes.each { reporter.generateReportFor(it, TestOutcomes.of([it])) }
+            def environmentVariables = new MockEnvironmentVariables()
+            environmentVariables.setProperty("serenity.report.compact.outcomes", "true")
+        when:
+            def loader = new TestOutcomeLoader(environmentVariables).forFormat(OutcomeFormat.JOURNAL)
+            List<TestOutcome> loadedOutcomes = loader.loadFrom(outputDirectory)
+        then:
+            loader.outcomeReporter instanceof JournalTestOutcomeReporter
+            loadedOutcomes.every { it instanceof CompactTestOutcome }
+            loadedOutcomes*.title.sort() == outcomes*.title.sort()
+            loadedOutcomes.collect { it.testSteps.size() }.sum() == outcomes.collect { it.testSteps.size() }.sum()
+    }
+}
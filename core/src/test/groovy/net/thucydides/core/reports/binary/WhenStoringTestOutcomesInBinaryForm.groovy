@@ -0,0 +1,88 @@
+package net.thucydides.core.reports.binary
+
+import com.github.goldin.spock.extensions.tempdir.TempDir
+import net.thucydides.core.guice.Injectors
+import net.thucydides.core.model.TestOutcome
+import net.thucydides.core.reports.OutcomeFormat
+import net.thucydides.core.reports.TestOutcomeLoader
+import net.thucydides.core.reports.TestOutcomes
+import net.thucydides.core.reports.json.gson.GsonJSONConverter
+import net.thucydides.core.reports.json.JSONTestOutcomeReporter
+import net.thucydides.core.util.MockEnvironmentVariables
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static net.thucydides.core.util.TestResources.directoryInClasspathCalled
+
+class WhenStoringTestOutcomesInBinaryForm extends Specification {
+
+    @TempDir
+    File outputDirectory
+
+    def jsonConverter = Injectors.getInjector().getInstance(GsonJSONConverter)
+    def jsonLoader = new JSONTestOutcomeReporter()
+
+    @Unroll
+    def "binary test outcomes should hold exactly the same test outcome as the JSON test outcomes (compressed: #compressed)"() {
+        given:
+            def environmentVariables = new MockEnvironmentVariables()
+            environmentVariables.setProperty("binary.outcome.compression", "$compressed")
+            def reporter = new BinaryTestOutcomeReporter(environmentVariables)
+            reporter.outputDirectory = outputDirectory
+        and:
+            List<TestOutcome> jsonOutcomes = jsonLoader.loadReportsFrom(directoryInClasspathCalled("/json-test-outcomes"))
+        when:
+            List<TestOutcome> binaryOutcomes = jsonOutcomes.collect { outcome ->
+                reporter.loadReportFrom(reporter.generateReportFor(outcome, TestOutcomes.of([outcome]))).get()
+            }
+        then:
+            !jsonOutcomes.isEmpty()
+            binaryOutcomes.collect { asJson(it) } == jsonOutcomes.collect { asJson(it) }
+        where:
+            compressed << [false, true]
+    }
+
+    def "binary test outcomes should be smaller than JSON test outcomes"() {
+        given:
+            def reporter = new BinaryTestOutcomeReporter(new MockEnvironmentVariables())
+            reporter.outputDirectory = outputDirectory
+            def jsonReporter = new JSONTestOutcomeReporter()
+            jsonReporter.outputDirectory = outputDirectory
+        and:
+            List<TestOutcome> outcomes = jsonLoader.loadReportsFrom(directoryInClasspathCalled("/json-test-outcomes"))
+        when:
+            def binarySize = outcomes.sum { reporter.generateReportFor(it, TestOutcomes.of([it])).length() }
+            def jsonSize = outcomes.sum { jsonReporter.generateReportFor(it, TestOutcomes.of([it])).length() }
+        then:
+            binarySize < jsonSize
+    }
+
+    def "the test outcome loader should load binary test outcomes when binary is the preferred format"() {
+        given:
+            def reporter = new BinaryTestOutcomeReporter(new MockEnvironmentVariables())
+            reporter.outputDirectory = outputDirectory
+            List<TestOutcome> outcomes = jsonLoader.loadReportsFrom(directoryInClasspathCalled("/json-test-outcomes"))
+            outcomes.each { reporter.generateReportFor(it, TestOutcomes.of([it])) }
+        when:
+            def loader = new TestOutcomeLoader(new MockEnvironmentVariables()).forFormat(OutcomeFormat.BINARY)
+            List<TestOutcome> loadedOutcomes = loader.loadFrom(outputDirectory)
+        then:
+            loader.outcomeReporter instanceof BinaryTestOutcomeReporter
+            loadedOutcomes*.title.sort() == outcomes*.title.sort()
+    }
+
+    def "files that are not binary test outcomes should not be loaded"() {
+        given:
+            def reporter = new BinaryTestOutcomeReporter(new MockEnvironmentVariables())
+            def notAnOutcome = new File(outputDirectory, "not-an-outcome.outcome")
+            notAnOutcome.text = "{}"
+        expect:
+            !reporter.loadReportFrom(notAnOutcome).isPresent()
+    }
+
+    def asJson(TestOutcome outcome) {
+        def json = new ByteArrayOutputStream()
+        jsonConverter.toJson(outcome, json)
+        return json.toString("UTF-8")
+    }
+}
@@ -71,6 +71,45 @@ class WhenSavingTestOutcomesInCSVForm extends Specification {
             linesIn(csvResults)[1][1] == "Другой приемлемый" || linesIn(csvResults)[1][1] == "Применимый тестовый запуск" || linesIn(csvResults)[1][1] == "Третий приемлемый"
     }
 
+    def "should write the CSV reports of an export with the same rows as individual CSV reports"() {
+        given: "a set of test results"
+            def testOutcomes = TestOutcomes.of(loader.loadFrom(directoryInClasspathCalled("/tagged-test-outcomes")))
+            def individualReportDirectory = new File(temporaryDirectory, "individual")
+            individualReportDirectory.mkdirs()
+        when: "we export the results and some of the results as CSV files"
+            def csvExport = new CSVExport(temporaryDirectory, environmentVariables)
+            csvExport.add(testOutcomes, "results.csv")
+            csvExport.add(TestOutcomes.of(testOutcomes.outcomes.take(2)), "some-results.csv")
+            csvExport.writeAll()
+        and: "we store the same results as individual CSV files"
+            def csvReporter = new CSVReporter(individualReportDirectory, environmentVariables)
+            csvReporter.generateReportFor(testOutcomes, "results.csv")
+            csvReporter.generateReportFor(TestOutcomes.of(testOutcomes.outcomes.take(2)), "some-results.csv")
+        then:
+            ["results.csv", "some-results.csv"].every {
+                new File(temporaryDirectory, it).bytes == new File(individualReportDirectory, it).bytes
+            }
+            csvExport.fileCount == 2
+    }
+
+    def "should write a single CSV file and an index of the rows of each report when requested"() {
+        given: "a set of test results"
+            def testOutcomes = TestOutcomes.of(loader.loadFrom(directoryInClasspathCalled("/tagged-test-outcomes")))
+        and: "we want a single CSV file"
+            environmentVariables.setProperty("serenity.csv.single.file", "true")
+        when: "we export the results and some of the results"
+            def csvExport = new CSVExport(temporaryDirectory, environmentVariables)
+            def aggregateReport = csvExport.add(testOutcomes, "results.csv")
+            def tagReport = csvExport.add(TestOutcomes.of(testOutcomes.tests.reverse().take(2)), "some-results.csv")
+            csvExport.writeAll()
+        then: "the pages link to the single CSV file"
+            aggregateReport == "results.csv" && tagReport == "results.csv"
+            temporaryDirectory.list().toList().sort() == ["results-index.csv", "results.csv"]
+        and: "the index lists the rows of each report"
+            linesIn(new File(temporaryDirectory, "results.csv")).size() == 4
+            linesIn(new File(temporaryDirectory, "results-index.csv")) == [["Report", "Rows"], ["some-results.csv", "2 3"]]
+    }
+
     def linesIn(File csvResults) {
         def reader = new CSVReader(new java.io.InputStreamReader(new java.io.FileInputStream(csvResults), "windows-1251"))
         reader.readAll()
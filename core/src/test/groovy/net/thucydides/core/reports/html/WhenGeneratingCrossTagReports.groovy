@@ -0,0 +1,182 @@
+package net.thucydides.core.reports.html
+
+import com.github.goldin.spock.extensions.tempdir.TempDir
+import net.thucydides.core.guice.Injectors
+import net.thucydides.core.issues.IssueTracking
+import net.thucydides.core.model.TestTag
+import net.thucydides.core.reports.OutcomeFormat
+import net.thucydides.core.reports.TestOutcomeLoader
+import net.thucydides.core.requirements.RequirementsService
+import net.thucydides.core.util.MockEnvironmentVariables
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static net.thucydides.core.util.TestResources.directoryInClasspathCalled
+
+class WhenGeneratingCrossTagReports extends Specification {
+
+    @TempDir File outputDirectory
+
+    def environmentVariables = new MockEnvironmentVariables()
+
+    def setup() {
+        environmentVariables.setProperty("output.formats", "xml")
+    }
+
+    def generateReports() {
+        def reporter = new HtmlAggregateStoryReporter("project", "", Mock(IssueTracking), Injectors.getInjector().getInstance(RequirementsService),
+                                                      environmentVariables)
+        reporter.outputDirectory = outputDirectory
+        reporter.generateReportsForTestResultsFrom(directoryInClasspathCalled("/tagged-test-outcomes"))
+        return reporter
+    }
+
+    def generatedFiles(String suffix) {
+        outputDirectory.listFiles().findAll { it.name.endsWith(suffix) }
+    }
+
+    def crossTagPage(String sourceTag, String tag) {
+        new File(outputDirectory, new ReportNameProvider(sourceTag).forTag(TestTag.withValue(tag)))
+    }
+
+    /**
+     * Links from the generated pages to other report pages that were not generated.
+     * Links to the pages of individual tests are left out, as these are written when the tests run.
+     */
+    def danglingLinks() {
+        def testReportNames = new TestOutcomeLoader(environmentVariables).forFormat(OutcomeFormat.XML)
+                                      .loadFrom(directoryInClasspathCalled("/tagged-test-outcomes"))
+                                      .collect { it.reportName + ".html" }
+        generatedFiles(".html").collectMany { page ->
+            def links = (page.text =~ /href="([^"#?:$]+\.(html|csv))"/).collect { it[1] }
+            links.findAll { link ->
+                !testReportNames.contains(link) && !new File(outputDirectory, URLDecoder.decode(link, "UTF-8")).exists()
+            }.collect { link -> "${page.name} -> ${link}" }
+        }
+    }
+
+    def pageCountWith(Map<String, String> properties) {
+        def environmentVariables = new MockEnvironmentVariables()
+        environmentVariables.setProperty("output.formats", "xml")
+        environmentVariables.setProperty("serenity.report.dry.run", "true")
+        properties.each { name, value -> environmentVariables.setProperty(name, value) }
+        def reporter = new HtmlAggregateStoryReporter("project", "", Mock(IssueTracking),
+                                                      Injectors.getInjector().getInstance(RequirementsService),
+                                                      environmentVariables)
+        reporter.outputDirectory = outputDirectory
+        reporter.generateReportsForTestResultsFrom(directoryInClasspathCalled("/tagged-test-outcomes"))
+        return reporter.getHtmlPageCount()
+    }
+
+    def "should generate pages for co-occurring tags by default"() {
+        when:
+            generateReports()
+        then:
+            crossTagPage("a story", "feature:a feature").exists()
+            !new File(outputDirectory, "cross-tags.html").exists()
+    }
+
+    def "should not generate pages for co-occurring tags if the depth is limited to a single tag"() {
+        given:
+            environmentVariables.setProperty("serenity.report.cross.tag.depth", "1")
+        when:
+            generateReports()
+        then:
+            !crossTagPage("a story", "feature:a feature").exists()
+        and:
+            !generatedFiles(".html").isEmpty()
+    }
+
+    def "should only generate pages for co-occurring tags of the configured tag types"() {
+        given:
+            environmentVariables.setProperty("serenity.report.cross.tag.types", "feature")
+        when:
+            generateReports()
+        then:
+            crossTagPage("a feature", "story:a story").exists()
+            !crossTagPage("a story", "feature:a feature").exists()
+    }
+
+    def "should generate fewer pages when cross-tag pages are limited"() {
+        when:
+            def allPages = pageCountWith([:])
+            def pagesForFeatures = pageCountWith(["serenity.report.cross.tag.types": "feature"])
+            def singleTagPages = pageCountWith(["serenity.report.cross.tag.depth": "1"])
+            def onDemandPages = pageCountWith(["serenity.report.cross.tags": "on-demand"])
+        then:
+            singleTagPages < pagesForFeatures
+            pagesForFeatures < allPages
+            onDemandPages == singleTagPages + 1
+    }
+
+    def "should write an index of the tags of each test instead of cross-tag pages in on-demand mode"() {
+        given:
+            environmentVariables.setProperty("serenity.report.cross.tags", "on-demand")
+        when:
+            generateReports()
+        then:
+            !crossTagPage("a story", "feature:a feature").exists()
+            new File(outputDirectory, "cross-tags.html").exists()
+        and:
+            def index = new File(outputDirectory, CrossTagIndex.INDEX_FILE).text
+            index.startsWith("var crossTagIndex = {")
+            index.contains('"name":"a story"')
+    }
+
+    @Unroll
+    def "every link between the report pages should lead to a generated page (#crossTagOptions)"() {
+        given:
+            crossTagOptions.each { name, value -> environmentVariables.setProperty(name, value) }
+        when:
+            generateReports()
+        then:
+            danglingLinks() == []
+        where:
+            crossTagOptions << [[:],
+                                ["serenity.report.cross.tag.depth": "1"],
+                                ["serenity.report.cross.tag.types": "feature"],
+                                ["serenity.report.cross.tags": "on-demand"]]
+    }
+
+    def "should only count the pages that would be generated in a dry run"() {
+        given:
+            def generatedPages = generateReports().getHtmlPageCount()
+            def generatedCsvFiles = generatedFiles(".csv").size()
+        and:
+            outputDirectory.eachFile { it.isDirectory() ? it.deleteDir() : it.delete() }
+            environmentVariables.setProperty("serenity.report.dry.run", "true")
+        when:
+            def reporter = generateReports()
+        then:
+            outputDirectory.list().length == 0
+            reporter.getHtmlPageCount() == generatedPages
+            reporter.getCsvReportCount() == generatedCsvFiles
+    }
+
+    def "should fall back to cross-tag pages when the cross-tag mode is not recognised"() {
+        given:
+            environmentVariables.setProperty("serenity.report.cross.tags", "on-demnad")
+        when:
+            def options = new CrossTagReportOptions(environmentVariables)
+        then:
+            options.mode == CrossTagReportOptions.Mode.PAGES
+        and:
+            generateReports()
+            crossTagPage("a story", "feature:a feature").exists()
+    }
+
+    @Unroll
+    def "a cross-tag depth of #requestedDepth should be treated as #depth"() {
+        given:
+            environmentVariables.setProperty("serenity.report.cross.tag.depth", requestedDepth)
+        expect:
+            new CrossTagReportOptions(environmentVariables).depth == depth
+        where:
+            requestedDepth | depth
+            "0"            | 1
+            "1"            | 1
+            "2"            | 2
+            "3"            | 2
+            "10"           | 2
+    }
+}
@@ -0,0 +1,110 @@
+package net.thucydides.core.reports.html
+
+import com.github.goldin.spock.extensions.tempdir.TempDir
+import net.thucydides.core.guice.Injectors
+import net.thucydides.core.issues.IssueTracking
+import net.thucydides.core.model.TestTag
+import net.thucydides.core.requirements.RequirementsService
+import net.thucydides.core.util.MockEnvironmentVariables
+import org.apache.commons.io.FileUtils
+import spock.lang.Specification
+
+import static net.thucydides.core.util.TestResources.directoryInClasspathCalled
+
+class WhenGeneratingIncrementalReports extends Specification {
+
+    private static final long EARLIER = System.currentTimeMillis() - 100000
+
+    @TempDir File outcomeDirectory
+    @TempDir File outputDirectory
+    @TempDir File fullReportDirectory
+
+    def environmentVariables = new MockEnvironmentVariables()
+
+    def setup() {
+        environmentVariables.setProperty("output.formats", "xml")
+        environmentVariables.setProperty("serenity.report.incremental", "true")
+        FileUtils.copyDirectory(directoryInClasspathCalled("/tagged-test-outcomes"), outcomeDirectory)
+    }
+
+    def generateReports() {
+        generateReportsIn(outputDirectory, environmentVariables)
+    }
+
+    def generateReportsIn(File directory, MockEnvironmentVariables environmentVariables) {
+        def reporter = new HtmlAggregateStoryReporter("project", "", Mock(IssueTracking), Injectors.getInjector().getInstance(RequirementsService),
+                                                      environmentVariables)
+        reporter.outputDirectory = directory
+        reporter.generateReportsForTestResultsFrom(outcomeDirectory)
+    }
+
+    /**
+     * The pages a non-incremental run generates from the current test outcomes.
+     */
+    def pagesOfAFullReport() {
+        def environmentVariables = new MockEnvironmentVariables()
+        environmentVariables.setProperty("output.formats", "xml")
+        generateReportsIn(fullReportDirectory, environmentVariables)
+        fullReportDirectory.listFiles().findAll { it.name.endsWith(".html") }*.name as Set
+    }
+
+    /**
+     * Date every generated page back, so that the pages written by the next run can be told apart.
+     */
+    def markPagesAsOld() {
+        htmlPages().each { it.setLastModified(EARLIER) }
+    }
+
+    def htmlPages() {
+        outputDirectory.listFiles().findAll { it.name.endsWith(".html") }
+    }
+
+    def rewrittenPages() {
+        htmlPages().findAll { it.lastModified() != EARLIER }*.name as Set
+    }
+
+    def tagPage(String tag) {
+        new ReportNameProvider().forTag(TestTag.withValue(tag))
+    }
+
+    def updateOutcome(String outcomeFile, String originalText, String updatedText) {
+        def outcome = new File(outcomeDirectory, outcomeFile)
+        outcome.text = outcome.text.replace(originalText, updatedText)
+    }
+
+    def "should not rewrite any pages if no test outcomes have changed"() {
+        given:
+            generateReports()
+            markPagesAsOld()
+        when:
+            generateReports()
+        then:
+            rewrittenPages().isEmpty()
+    }
+
+    def "should only rewrite the pages of the tags of a changed test outcome"() {
+        given:
+            generateReports()
+            def pagesBefore = htmlPages()*.name as Set
+            markPagesAsOld()
+        when:
+            updateOutcome("sample-report-3.xml", 'name="an epic"', 'name="a new epic"')
+            generateReports()
+        then:
+            rewrittenPages().containsAll(["index.html", tagPage("epic:a new epic"), tagPage("story:another different story")])
+            !rewrittenPages().contains(tagPage("feature:a feature"))
+            rewrittenPages().size() < pagesBefore.size()
+    }
+
+    def "should rewrite every page when a new tag type appears"() {
+        given:
+            generateReports()
+            markPagesAsOld()
+        when:
+            updateOutcome("sample-report-3.xml", 'type="epic"', 'type="capability"')
+            generateReports()
+        then:
+            rewrittenPages() == pagesOfAFullReport()
+            rewrittenPages().contains(tagPage("capability:an epic"))
+    }
+}
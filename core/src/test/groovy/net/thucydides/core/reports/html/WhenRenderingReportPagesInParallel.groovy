@@ -0,0 +1,89 @@
+package net.thucydides.core.reports.html
+
+import com.github.goldin.spock.extensions.tempdir.TempDir
+import net.thucydides.core.guice.Injectors
+import net.thucydides.core.issues.IssueTracking
+import net.thucydides.core.requirements.RequirementsService
+import net.thucydides.core.util.MockEnvironmentVariables
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+
+import static net.thucydides.core.util.TestResources.directoryInClasspathCalled
+
+class WhenRenderingReportPagesInParallel extends Specification {
+
+    @TempDir File outputDirectory
+
+    def generateReportsWith(int threads, File directory) {
+        def environmentVariables = new MockEnvironmentVariables()
+        environmentVariables.setProperty("output.formats", "xml")
+        environmentVariables.setProperty("serenity.report.renderer.threads", "$threads")
+        def reporter = new HtmlAggregateStoryReporter("project", "", Mock(IssueTracking),
+                                                      Injectors.getInjector().getInstance(RequirementsService),
+                                                      environmentVariables)
+        reporter.outputDirectory = directory
+        reporter.generateReportsForTestResultsFrom(directoryInClasspathCalled("/tagged-test-outcomes"))
+        return directory.list().findAll { it.endsWith(".html") || it.endsWith(".csv") } as Set
+    }
+
+    def "should generate the same pages whether they are rendered on one thread or several"() {
+        given:
+            def serialDirectory = new File(outputDirectory, "serial")
+            def parallelDirectory = new File(outputDirectory, "parallel")
+        when:
+            def serialPages = generateReportsWith(1, serialDirectory)
+            def parallelPages = generateReportsWith(4, parallelDirectory)
+        then:
+            !serialPages.isEmpty()
+            parallelPages == serialPages
+        and:
+            serialPages.findAll { it.endsWith(".csv") }.every {
+                csvRowsIn(new File(parallelDirectory, it)) == csvRowsIn(new File(serialDirectory, it))
+            }
+    }
+
+    def "should only report the template render times of the latest report run"() {
+        given:
+            def environmentVariables = new MockEnvironmentVariables()
+            environmentVariables.setProperty("output.formats", "xml")
+            def reporter = new HtmlAggregateStoryReporter("project", "", Mock(IssueTracking),
+                                                          Injectors.getInjector().getInstance(RequirementsService),
+                                                          environmentVariables)
+            reporter.outputDirectory = outputDirectory
+        when:
+            reporter.generateReportsForTestResultsFrom(directoryInClasspathCalled("/tagged-test-outcomes"))
+            def firstRunPages = reporter.templateRenderTimes.getRenderCount("freemarker/home.ftl")
+            reporter.generateReportsForTestResultsFrom(directoryInClasspathCalled("/tagged-test-outcomes"))
+        then:
+            firstRunPages > 0
+            reporter.templateRenderTimes.getRenderCount("freemarker/home.ftl") == firstRunPages
+    }
+
+    // The sample outcomes have no start time, so they are given the time at which they were loaded
+    def csvRowsIn(File csvFile) {
+        csvFile.readLines().collect { it.replaceAll(/"\d{4}-\d{2}-\d{2}T[^"]*"/, '"<start time>"') }
+    }
+
+    def "should report the first page that could not be rendered"() {
+        given:
+            def renderer = new ReportPageRenderer(4)
+        when:
+            renderer.render({ throw new IOException("Could not write page") } as Callable)
+            renderer.waitUntilAllPagesAreRendered()
+        then:
+            IOException e = thrown()
+            e.message == "Could not write page"
+    }
+
+    def "should render every page that is submitted"() {
+        given:
+            def renderer = new ReportPageRenderer(4)
+            def renderedPages = Collections.synchronizedList([])
+        when:
+            (1..100).each { page -> renderer.render({ renderedPages << page } as Callable) }
+            renderer.waitUntilAllPagesAreRendered()
+        then:
+            renderedPages.sort() == (1..100).toList()
+    }
+}
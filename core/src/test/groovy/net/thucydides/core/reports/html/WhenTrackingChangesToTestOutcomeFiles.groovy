@@ -0,0 +1,113 @@
+package net.thucydides.core.reports.html
+
+import com.github.goldin.spock.extensions.tempdir.TempDir
+import net.thucydides.core.model.TestTag
+import net.thucydides.core.reports.OutcomeFormat
+import net.thucydides.core.reports.TestOutcomeLoader
+import net.thucydides.core.reports.TestOutcomes
+import net.thucydides.core.reports.binary.JournalTestOutcomeReporter
+import net.thucydides.core.reports.binary.OutcomeJournal
+import net.thucydides.core.util.MockEnvironmentVariables
+import org.apache.commons.io.FileUtils
+import spock.lang.Specification
+
+import static net.thucydides.core.util.TestResources.directoryInClasspathCalled
+
+class WhenTrackingChangesToTestOutcomeFiles extends Specification {
+
+    @TempDir File outcomeDirectory
+
+    def loader = new TestOutcomeLoader().forFormat(OutcomeFormat.XML)
+
+    def setup() {
+        FileUtils.copyDirectory(directoryInClasspathCalled("/tagged-test-outcomes"), outcomeDirectory)
+    }
+
+    def currentManifest(OutcomeManifest previousManifest) {
+        OutcomeManifest.forOutcomeFiles(loader.getAllOutcomeFilesFrom(outcomeDirectory),
+                                        previousManifest,
+                                        loader.getOutcomeReporter(),
+                                        loader.loadTestOutcomes().inFormat(OutcomeFormat.XML).from(outcomeDirectory))
+    }
+
+    def "should not report any changes if the outcome files are untouched"() {
+        given:
+            def previousManifest = currentManifest(OutcomeManifest.emptyManifest())
+        when:
+            def manifest = currentManifest(previousManifest)
+        then:
+            !manifest.hasChangedSince(previousManifest)
+            manifest.tagsAffectedSince(previousManifest).isEmpty()
+    }
+
+    def "should report the tags of a removed test outcome as affected"() {
+        given:
+            def previousManifest = currentManifest(OutcomeManifest.emptyManifest())
+        when:
+            new File(outcomeDirectory, "sample-report-3.xml").delete()
+            def manifest = currentManifest(previousManifest)
+        then:
+            manifest.hasChangedSince(previousManifest)
+            manifest.tagsAffectedSince(previousManifest) == [TestTag.withName("an epic").andType("epic"),
+                                                             TestTag.withName("another different story").andType("story")] as Set
+    }
+
+    def "should report the old and new tags of a modified test outcome as affected"() {
+        given:
+            def previousManifest = currentManifest(OutcomeManifest.emptyManifest())
+        when:
+            def modifiedReport = new File(outcomeDirectory, "sample-report-3.xml")
+            modifiedReport.text = modifiedReport.text.replace('name="an epic"', 'name="a new epic"')
+            def manifest = currentManifest(previousManifest)
+        then:
+            manifest.tagsAffectedSince(previousManifest) == [TestTag.withName("an epic").andType("epic"),
+                                                             TestTag.withName("a new epic").andType("epic"),
+                                                             TestTag.withName("another different story").andType("story")] as Set
+    }
+
+    def "should be able to read a manifest back from the report directory"() {
+        given:
+            def manifest = currentManifest(OutcomeManifest.emptyManifest())
+        when:
+            manifest.writeTo(outcomeDirectory)
+            def savedManifest = OutcomeManifest.readFrom(outcomeDirectory)
+        then:
+            savedManifest.isPresent()
+            !manifest.hasChangedSince(savedManifest.get())
+    }
+
+    def "should not find a manifest in a directory that has never been reported on"() {
+        expect:
+            !OutcomeManifest.readFrom(outcomeDirectory).isPresent()
+    }
+
+    def "should report only the tags of the changed test outcome in a test outcome journal"() {
+        given: "the tagged test outcomes in a journal"
+            File journalDirectory = new File(outcomeDirectory, "journal")
+            def journalReporter = new JournalTestOutcomeReporter(new MockEnvironmentVariables())
+            journalReporter.outputDirectory = journalDirectory
+            def outcomes = loader.loadFrom(outcomeDirectory)
+            outcomes.each { journalReporter.generateReportFor(it, TestOutcomes.of([it])) }
+            OutcomeJournal.closeJournalIn(journalDirectory)
+            def journalLoader = new TestOutcomeLoader().forFormat(OutcomeFormat.JOURNAL)
+            def previousManifest = journalManifest(journalLoader, journalDirectory, OutcomeManifest.emptyManifest())
+        when: "one of the outcomes is run again with a new tag"
+            def changedOutcome = outcomes.find { it.tags.contains(TestTag.withName("an epic").andType("epic")) }.copy()
+            changedOutcome.addTags([TestTag.withName("a new epic").andType("epic")])
+            journalReporter.generateReportFor(changedOutcome, TestOutcomes.of([changedOutcome]))
+            def manifest = journalManifest(journalLoader, journalDirectory, previousManifest)
+        then:
+            manifest.hasChangedSince(previousManifest)
+            manifest.tagsAffectedSince(previousManifest) == (changedOutcome.tags + outcomes.find { it.reportName == changedOutcome.reportName }.tags) as Set
+        cleanup:
+            OutcomeJournal.closeJournalIn(journalDirectory)
+    }
+
+    def journalManifest(TestOutcomeLoader journalLoader, File journalDirectory, OutcomeManifest previousManifest) {
+        def journaledOutcomes = TestOutcomes.of(journalLoader.loadFrom(journalDirectory))
+        OutcomeManifest.forOutcomeFiles(journalLoader.getAllOutcomeFilesFrom(journalDirectory),
+                                        previousManifest,
+                                        journalLoader.getOutcomeReporter(),
+                                        journaledOutcomes)
+    }
+}
@@ -0,0 +1,87 @@
+package net.thucydides.core.reports.html
+
+import com.github.goldin.spock.extensions.tempdir.TempDir
+import net.thucydides.core.guice.Injectors
+import net.thucydides.core.issues.IssueTracking
+import net.thucydides.core.requirements.RequirementsService
+import net.thucydides.core.util.MockEnvironmentVariables
+import org.apache.commons.io.IOUtils
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.zip.GZIPInputStream
+
+import static net.thucydides.core.util.TestResources.directoryInClasspathCalled
+
+class WhenWritingReportFiles extends Specification {
+
+    @TempDir File outputDirectory
+
+    static final String NL = System.lineSeparator()
+
+    def normalized(String text, int chunkSize) {
+        def result = new StringWriter()
+        def writer = new NewlineNormalizingWriter(result)
+        text.toList().collate(chunkSize).each { writer.write(it.join()) }
+        writer.close()
+        return result.toString()
+    }
+
+    @Unroll
+    def "should write each line of '#text' with the platform line separator"() {
+        expect:
+            normalized(text, chunkSize) == lines.collect { it + NL }.join()
+        where:
+            text               | chunkSize | lines
+            "one"              | 10        | ["one"]
+            "one\ntwo"         | 10        | ["one", "two"]
+            "one\r\ntwo\r\n"   | 10        | ["one", "two"]
+            "one\r\ntwo\r\n"   | 1         | ["one", "two"]
+            "one\n\n\ntwo"     | 2         | ["one", "", "", "two"]
+            "one\ntwo\n\n\n"   | 3         | ["one", "two"]
+            "one\rtwo\r\n"     | 4         | ["one\rtwo"]
+            ""                 | 1         | [""]
+    }
+
+    def "should write the same lines as splitting the whole report into lines"() {
+        given:
+            def text = "<html>\r\n  <body>\n\n<p>a\rb</p>\r\n\r\n</body>\n</html>\n\n"
+        expect:
+            normalized(text, 5) == text.split("\\r?\\n").collect { it + NL }.join()
+    }
+
+    def "should write compressed reports when requested"() {
+        given:
+            def environmentVariables = new MockEnvironmentVariables()
+            environmentVariables.setProperty("output.formats", "xml")
+            environmentVariables.setProperty("serenity.report.gzip", "true")
+            def reporter = new HtmlAggregateStoryReporter("project", "", Mock(IssueTracking),
+                                                          Injectors.getInjector().getInstance(RequirementsService),
+                                                          environmentVariables)
+            reporter.outputDirectory = outputDirectory
+        when:
+            reporter.generateReportsForTestResultsFrom(directoryInClasspathCalled("/tagged-test-outcomes"))
+        then:
+            !new File(outputDirectory, "index.html").exists()
+            def index = new File(outputDirectory, "index.html.gz")
+            IOUtils.toString(new GZIPInputStream(new FileInputStream(index)), "UTF-8").contains("<html")
+    }
+
+    def "should not regenerate compressed reports when no test outcomes have changed"() {
+        given:
+            def environmentVariables = new MockEnvironmentVariables()
+            environmentVariables.setProperty("output.formats", "xml")
+            environmentVariables.setProperty("serenity.report.gzip", "true")
+            environmentVariables.setProperty("serenity.report.incremental", "true")
+            def reporter = new HtmlAggregateStoryReporter("project", "", Mock(IssueTracking),
+                                                          Injectors.getInjector().getInstance(RequirementsService),
+                                                          environmentVariables)
+            reporter.outputDirectory = outputDirectory
+            reporter.generateReportsForTestResultsFrom(directoryInClasspathCalled("/tagged-test-outcomes"))
+            new File(outputDirectory, "build-info.html.gz").delete()
+        when:
+            reporter.generateReportsForTestResultsFrom(directoryInClasspathCalled("/tagged-test-outcomes"))
+        then:
+            !new File(outputDirectory, "build-info.html.gz").exists()
+    }
+}
@@ -383,6 +383,36 @@ class WhenStoringTestOutcomesAsJSON extends Specification {
         reloadedDataSets[1].description == "another description"
     }
 
+    def "should load a summary of a test outcome without its steps or data table"() {
+        given:
+        def testOutcome = TestOutcome.forTest("should_do_this", SomeTestScenarioWithTags.class);
+        testOutcome.startTime = FIRST_OF_JANUARY
+        testOutcome.useExamplesFrom(DataTable.withHeaders(["a","b","c"]).build())
+        testOutcome.addRow(["a":"1", "b":"2", "c":"3"]);
+        testOutcome.recordStep(TestStepFactory.successfulTestStepCalled("step 1").startingAt(FIRST_OF_JANUARY))
+        testOutcome.recordStep(TestStepFactory.failingTestStepCalled("step 2").startingAt(FIRST_OF_JANUARY))
+        testOutcome.duration = 1500
+        when:
+        def jsonReport = reporter.generateReportFor(testOutcome, allTestOutcomes)
+        TestOutcome summary = loader.loadSummaryFrom(jsonReport).get()
+        then:
+        summary.testSteps.isEmpty()
+        summary.dataTable == null
+        and:
+        summary.title == testOutcome.title
+        summary.result == TestResult.FAILURE
+        summary.duration == 1500
+        summary.tags == testOutcome.tags
+    }
+
+    def "should not load a summary from an invalid JSON report"() {
+        given:
+        def invalidReport = new File(outputDirectory, "invalid.json")
+        invalidReport.text = "<not-json/>"
+        expect:
+        !loader.loadSummaryFrom(invalidReport).isPresent()
+    }
+
     def "should contain the feature if provided"() {
         given:
         def testOutcome = TestOutcome.forTest("should_do_this", SomeTestScenarioInAFeature.class);
@@ -44,4 +44,24 @@ class WhenStoringDataTablesAsJSON extends Specification {
         table.rows[1].stringValues == ["4.0","five","6.0"]
     }
 
-}
\ No newline at end of file
+    def "should restore the predefined rows flag and the current row of a data table"() {
+        given:
+        def predefinedTable = new DataTable(["a","b","c"],[new DataTableRow([1,"two",3.0]), new DataTableRow([4,"five",6.0])])
+        predefinedTable.nextRow()
+        and:
+        def recordedTable = DataTable.withHeaders(["a","b","c"]).build()
+        recordedTable.addRow(new DataTableRow([1,"two",3.0]))
+        recordedTable.addRow(new DataTableRow([4,"five",6.0]))
+        when:
+        def restoredPredefinedTable = converter.gson.fromJson(converter.gson.toJson(predefinedTable), DataTable)
+        def restoredRecordedTable = converter.gson.fromJson(converter.gson.toJson(recordedTable), DataTable)
+        then:
+        restoredPredefinedTable.hasPredefinedRows()
+        restoredPredefinedTable.currentRowNumber == 1
+        and:
+        !restoredRecordedTable.hasPredefinedRows()
+        restoredRecordedTable.currentRowNumber == 1
+        restoredRecordedTable.rows*.stringValues == [["1.0","two","3.0"],["4.0","five","6.0"]]
+    }
+
+}
@@ -1,6 +1,7 @@
 package net.thucydides.core.screenshots.integration
 
 import com.google.common.io.Files
+import net.thucydides.core.screenshots.MultithreadScreenshotProcessor
 import net.thucydides.core.screenshots.QueuedScreenshot
 import net.thucydides.core.screenshots.SingleThreadScreenshotProcessor
 import net.thucydides.core.util.EnvironmentVariables
@@ -8,6 +9,9 @@ import net.thucydides.core.util.FileSystemUtils
 import net.thucydides.core.util.MockEnvironmentVariables
 import spock.lang.Specification
 
+import javax.imageio.ImageIO
+import java.util.concurrent.CountDownLatch
+
 class WhenProcessingScreenshots extends Specification {
 
     File targetDirectory
@@ -52,4 +56,117 @@ class WhenProcessingScreenshots extends Specification {
             assert (screenshotProcessor.isEmpty())
             assert targetDirectory.list().size() == 10
     }
+
+    def "should process queued screenshots on several threads"() {
+        given:
+            environmentVariables.setProperty("serenity.screenshot.processor.threads", "4")
+            def screenshotProcessor = new MultithreadScreenshotProcessor(environmentVariables)
+        when:
+            (1..10).each {
+                def screenshotFile = copySourceScreenshot(sourceDirectory)
+                def targetFile = new File(targetDirectory,"screenshot-${it}.png")
+                screenshotProcessor.queueScreenshot(new QueuedScreenshot(screenshotFile,targetFile))
+            }
+            screenshotProcessor.waitUntilDone()
+            screenshotProcessor.terminate();
+        then:
+            screenshotProcessor.isEmpty()
+            screenshotProcessor.inFlightCount == 0
+            screenshotProcessor.processedCount == 10
+            targetDirectory.list().size() == 10
+    }
+
+    def "should process screenshots in the calling thread when the queue is full"() {
+        given:
+            environmentVariables.setProperty("serenity.screenshot.processor.threads", "1")
+            environmentVariables.setProperty("serenity.screenshot.queue.size", "1")
+            def screenshotProcessor = new MultithreadScreenshotProcessor(environmentVariables)
+        when:
+            (1..5).each {
+                def screenshotFile = copySourceScreenshot(sourceDirectory)
+                def targetFile = new File(targetDirectory,"screenshot-${it}.png")
+                screenshotProcessor.queueScreenshot(new QueuedScreenshot(screenshotFile,targetFile))
+            }
+            screenshotProcessor.waitUntilDone()
+            screenshotProcessor.terminate();
+        then:
+            screenshotProcessor.processedCount == 5
+            screenshotProcessor.queueDepth == 0
+            targetDirectory.list().size() == 5
+    }
+
+    def "should still process screenshots queued after the processor has been terminated"() {
+        given:
+            def screenshotProcessor = new MultithreadScreenshotProcessor(environmentVariables)
+            screenshotProcessor.terminate()
+        when:
+            def screenshotFile = copySourceScreenshot(sourceDirectory)
+            screenshotProcessor.queueScreenshot(new QueuedScreenshot(screenshotFile, new File(targetDirectory,"screenshot.png")))
+            screenshotProcessor.waitUntilDone()
+        then:
+            screenshotProcessor.isEmpty()
+            targetDirectory.list().size() == 1
+    }
+
+    def "should process every screenshot queued while the processor is being terminated"() {
+        given:
+            environmentVariables.setProperty("serenity.screenshot.processor.threads", "1")
+            environmentVariables.setProperty("serenity.screenshot.queue.size", "1")
+            def screenshotData = [1, 2, 3] as byte[]
+        when:
+            def screenshotProcessors = (1..100).collect { round ->
+                def screenshotProcessor = new MultithreadScreenshotProcessor(environmentVariables)
+                def startingGun = new CountDownLatch(1)
+                def browserThreads = (1..4).collect { thread ->
+                    Thread.start {
+                        startingGun.await()
+                        (1..5).each {
+                            def targetFile = new File(targetDirectory, "screenshot-${round}-${thread}-${it}.png")
+                            screenshotProcessor.queueScreenshot(new QueuedScreenshot(screenshotData, targetFile))
+                        }
+                    }
+                }
+                startingGun.countDown()
+                screenshotProcessor.terminate()
+                browserThreads*.join()
+                return screenshotProcessor
+            }
+        and:
+            def finished = Thread.start { screenshotProcessors*.waitUntilDone() }
+            finished.join(10000)
+        then:
+            !finished.alive
+            screenshotProcessors.every { it.processedCount == 20 }
+            targetDirectory.list().size() == 2000
+    }
+
+    def "should store screenshots held in memory"() {
+        given:
+            def screenshotProcessor = new MultithreadScreenshotProcessor(environmentVariables)
+            def screenshotData = copySourceScreenshot(sourceDirectory).bytes
+        when:
+            (1..3).each {
+                def targetFile = new File(targetDirectory,"screenshot-${it}.png")
+                screenshotProcessor.queueScreenshot(new QueuedScreenshot(screenshotData, targetFile))
+            }
+            screenshotProcessor.waitUntilDone()
+            screenshotProcessor.terminate();
+        then:
+            targetDirectory.list().size() == 3
+            new File(targetDirectory,"screenshot-1.png").bytes == screenshotData
+    }
+
+    def "should resize screenshots held in memory if required"() {
+        given:
+            environmentVariables.setProperty("serenity.resized.image.width", "200")
+            def screenshotProcessor = new MultithreadScreenshotProcessor(environmentVariables)
+            def screenshotData = copySourceScreenshot(sourceDirectory).bytes
+            def targetFile = new File(targetDirectory,"screenshot.png")
+        when:
+            screenshotProcessor.queueScreenshot(new QueuedScreenshot(screenshotData, targetFile))
+            screenshotProcessor.waitUntilDone()
+            screenshotProcessor.terminate();
+        then:
+            ImageIO.read(targetFile).width == 200
+    }
 }
@@ -0,0 +1,81 @@
+package net.serenitybdd.core.annotations.locators;
+
+import net.serenitybdd.core.annotations.findby.FindBy;
+import net.thucydides.core.webdriver.MobilePlatform;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class WhenCachingPageObjectLocators {
+
+    public static class SamplePage {
+        @FindBy(css = "#search")
+        public WebElement searchField;
+    }
+
+    @Test
+    public void cached_locators_should_not_keep_the_class_loader_of_a_page_object_alive() throws Exception {
+        WeakReference<ClassLoader> pageClassLoader = classLoaderOfAPageObjectWithCachedLocators();
+
+        for (int i = 0; i < 50 && pageClassLoader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertThat(pageClassLoader.get(), is(nullValue()));
+    }
+
+    private WeakReference<ClassLoader> classLoaderOfAPageObjectWithCachedLocators() throws Exception {
+        ClassLoader classLoader = new IsolatedClassLoader(SamplePage.class.getName());
+        Class<?> pageClass = classLoader.loadClass(SamplePage.class.getName());
+        assertThat(pageClass.getClassLoader(), is(sameInstance(classLoader)));
+
+        SmartAnnotations.locatorFor(pageClass.getField("searchField"), MobilePlatform.NONE);
+
+        return new WeakReference<>(classLoader);
+    }
+
+    /**
+     * Loads its own copy of a given class, as a test runner or build daemon would when it reloads page objects.
+     */
+    private static class IsolatedClassLoader extends ClassLoader {
+        private final String isolatedClassName;
+
+        IsolatedClassLoader(String isolatedClassName) {
+            super(WhenCachingPageObjectLocators.class.getClassLoader());
+            this.isolatedClassName = isolatedClassName;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(isolatedClassName)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loadedClass = findLoadedClass(name);
+                if (loadedClass == null) {
+                    byte[] classFile = classFileOf(name);
+                    loadedClass = defineClass(name, classFile, 0, classFile.length);
+                }
+                return loadedClass;
+            }
+        }
+
+        private byte[] classFileOf(String name) throws ClassNotFoundException {
+            try (InputStream classFile = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                return IOUtils.toByteArray(classFile);
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -114,6 +115,71 @@ public class WhenAddingJQuerySupportToPageObjects {
     }
 
 
+    static class ScriptRecordingHtmlUnitDriver extends HtmlUnitDriver {
+
+        public List<String> executedScripts = new ArrayList<String>();
+
+        ScriptRecordingHtmlUnitDriver() {
+            super(true);
+        }
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            executedScripts.add(script);
+            return super.executeScript(script, args);
+        }
+
+        int timesExecuted(String scriptContent) {
+            return filter(containsString(scriptContent), executedScripts).size();
+        }
+    }
+
+    @Test
+    public void should_only_inject_jquery_once_in_each_page() {
+        ScriptRecordingHtmlUnitDriver browser = new ScriptRecordingHtmlUnitDriver();
+        try {
+            browser.get("about:blank");
+
+            new JQueryEnabledPage(browser, environmentVariables).injectJQuery();
+            new JQueryEnabledPage(browser, environmentVariables).injectJQuery();
+
+            assertThat(browser.timesExecuted("jQuery v"), is(1));
+        } finally {
+            browser.quit();
+        }
+    }
+
+    @Test
+    public void should_inject_jquery_again_when_a_new_page_is_loaded() {
+        ScriptRecordingHtmlUnitDriver browser = new ScriptRecordingHtmlUnitDriver();
+        try {
+            browser.get("about:blank");
+            new JQueryEnabledPage(browser, environmentVariables).injectJQuery();
+
+            browser.navigate().refresh();
+            JQueryEnabledPage reloadedPage = new JQueryEnabledPage(browser, environmentVariables);
+
+            assertThat(reloadedPage.isJQueryAvailable(), is(false));
+            reloadedPage.injectJQuery();
+            assertThat(browser.timesExecuted("jQuery v"), is(2));
+        } finally {
+            browser.quit();
+        }
+    }
+
+    @Test
+    public void should_know_that_jquery_is_available_once_it_has_been_injected() {
+        ScriptRecordingHtmlUnitDriver browser = new ScriptRecordingHtmlUnitDriver();
+        try {
+            browser.get("about:blank");
+            new JQueryEnabledPage(browser, environmentVariables).injectJQuery();
+
+            assertThat(new JQueryEnabledPage(browser, environmentVariables).isJQueryAvailable(), is(true));
+        } finally {
+            browser.quit();
+        }
+    }
+
     @Test
     public void should_not_add_the_jquery_library_to_a_page_if_jquery_integration_is_deactivated() {
         environmentVariables.setProperty("thucydides.jquery.integration", "false");
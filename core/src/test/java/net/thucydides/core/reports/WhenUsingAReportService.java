@@ -1,5 +1,6 @@
 package net.thucydides.core.reports;
 
+import com.google.common.base.Optional;
 import net.thucydides.core.model.Story;
 import net.thucydides.core.model.TestOutcome;
 import org.hamcrest.Matcher;
@@ -10,14 +11,18 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class WhenUsingAReportService {
 
@@ -68,6 +73,20 @@ public class WhenUsingAReportService {
     }
 
 
+    @Test(expected = ReportGenerationFailedError.class)
+    public void a_report_service_should_fail_if_a_report_cannot_be_written() throws Exception {
+        List<TestOutcome> testOutcomeResults = new ArrayList<TestOutcome>();
+        testOutcomeResults.add(testOutcome);
+
+        when(reporter.generateReportFor(eq(testOutcome), Matchers.any(TestOutcomes.class))).thenThrow(new IOException("disk full"));
+
+        ReportService reportService = new ReportService(outputDirectory, new ArrayList<AcceptanceTestReporter>());
+
+        reportService.subscribe(reporter);
+
+        reportService.generateReportsFor(testOutcomeResults);
+    }
+
     @Test
     public void a_report_service_uses_the_provided_output_directory_for_all_reports() throws Exception {
         List<TestOutcome> testOutcomeResults = new ArrayList<TestOutcome>();
@@ -100,4 +119,77 @@ public class WhenUsingAReportService {
         assertThat(reporters, is(not(reporters2)));
     }
 
+    @Test
+    public void a_reporter_that_is_not_thread_safe_should_get_the_test_outcomes_one_at_a_time_in_order() throws Exception {
+        List<TestOutcome> testOutcomeResults = new ArrayList<>();
+        for(int i = 0; i < 200; i++) {
+            testOutcomeResults.add(TestOutcome.forTestInStory("test" + i, Story.withId("s1", "Story 1")));
+        }
+        RecordingReporter singleThreadedReporter = new RecordingReporter();
+
+        ReportService reportService = new ReportService(outputDirectory, new ArrayList<AcceptanceTestReporter>());
+        reportService.subscribe(singleThreadedReporter);
+        reportService.generateReportsFor(testOutcomeResults);
+
+        assertThat(singleThreadedReporter.mostConcurrentCalls.get(), is(1));
+        assertThat(singleThreadedReporter.reportedOutcomes, is(testOutcomeResults));
+    }
+
+    @Test
+    public void a_thread_safe_reporter_should_get_every_test_outcome() throws Exception {
+        List<TestOutcome> testOutcomeResults = new ArrayList<>();
+        for(int i = 0; i < 200; i++) {
+            testOutcomeResults.add(TestOutcome.forTestInStory("test" + i, Story.withId("s1", "Story 1")));
+        }
+        RecordingReporter threadSafeReporter = new ThreadSafeRecordingReporter();
+
+        ReportService reportService = new ReportService(outputDirectory, new ArrayList<AcceptanceTestReporter>());
+        reportService.subscribe(threadSafeReporter);
+        reportService.generateReportsFor(testOutcomeResults);
+
+        assertThat(threadSafeReporter.reportedOutcomes, containsInAnyOrder(testOutcomeResults.toArray()));
+    }
+
+    static class RecordingReporter implements AcceptanceTestReporter {
+        final List<TestOutcome> reportedOutcomes = new CopyOnWriteArrayList<>();
+        final AtomicInteger runningCalls = new AtomicInteger();
+        final AtomicInteger mostConcurrentCalls = new AtomicInteger();
+
+        @Override
+        public File generateReportFor(TestOutcome testOutcome, TestOutcomes allTestOutcomes) throws IOException {
+            int running = runningCalls.incrementAndGet();
+            synchronized (mostConcurrentCalls) {
+                mostConcurrentCalls.set(Math.max(mostConcurrentCalls.get(), running));
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            reportedOutcomes.add(testOutcome);
+            runningCalls.decrementAndGet();
+            return new File(testOutcome.getReportName());
+        }
+
+        @Override
+        public String getName() {
+            return "recording";
+        }
+
+        @Override
+        public Optional<OutcomeFormat> getFormat() {
+            return Optional.absent();
+        }
+
+        @Override
+        public void setOutputDirectory(File outputDirectory) {}
+
+        @Override
+        public void setResourceDirectory(String resourceDirectoryPath) {}
+
+        @Override
+        public void setQualifier(String qualifier) {}
+    }
+
+    static class ThreadSafeRecordingReporter extends RecordingReporter implements ThreadSafeReporter {}
 }
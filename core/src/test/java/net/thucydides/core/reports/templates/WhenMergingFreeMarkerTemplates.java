@@ -3,6 +3,7 @@ package net.thucydides.core.reports.templates;
 
 import org.junit.Test;
 
+import java.io.CharArrayWriter;
 import java.io.FileNotFoundException;
 import java.io.StringWriter;
 import java.util.HashMap;
@@ -10,6 +11,7 @@ import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class WhenMergingFreeMarkerTemplates {
 
@@ -28,6 +30,20 @@ public class WhenMergingFreeMarkerTemplates {
 
     }
 
+    @Test
+    public void should_merge_freemarker_templates_straight_into_any_writer() throws Exception {
+        FreeMarkerTemplateManager templateManager = new FreeMarkerTemplateManager();
+        StreamingReportTemplate template = (StreamingReportTemplate) templateManager.getTemplateFrom("templates/test.ftl");
+
+        Map<String, Object> context = new HashMap<String, Object>();
+        context.put("name","Joe");
+        context.put("age",20);
+        CharArrayWriter writer = new CharArrayWriter();
+        template.merge(context, writer);
+
+        assertThat(writer.toString(), is("Hi Joe, aged 20. Next year you will be 21"));
+    }
+
     @Test(expected = TemplateMergeException.class)
     public void should_handle_data_errors_in_template() throws Exception {
         FreeMarkerTemplateManager templateManager = new FreeMarkerTemplateManager();
@@ -63,4 +79,12 @@ public class WhenMergingFreeMarkerTemplates {
 
     }
 
+    @Test
+    public void should_reuse_templates_that_have_already_been_loaded() throws Exception {
+        FreeMarkerTemplateManager templateManager = new FreeMarkerTemplateManager();
+        templateManager.preloadTemplates("templates/test.ftl");
+
+        assertThat(templateManager.getTemplateFrom("templates/test.ftl"),
+                   is(sameInstance(templateManager.getTemplateFrom("templates/test.ftl"))));
+    }
 }
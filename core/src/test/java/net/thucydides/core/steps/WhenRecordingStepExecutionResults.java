@@ -1358,6 +1358,44 @@ public class WhenRecordingStepExecutionResults {
         verify(driver, times(3)).getScreenshotAs((OutputType<?>) anyObject());
     }
 
+    @Test
+    public void unchanged_screens_should_not_be_photographed_again_if_requested() {
+
+        environmentVariables.setProperty("serenity.reuse.unchanged.screenshots", "true");
+        environmentVariables.setProperty("serenity.take.screenshots", "FOR_EACH_ACTION");
+        when(driver.getPageSource()).thenReturn("<html/>");
+
+        StepEventBus.getEventBus().testSuiteStarted(MyTestCase.class);
+        StepEventBus.getEventBus().testStarted("app_should_work");
+
+        FlatScenarioSteps steps = stepFactory.getStepLibraryFor(FlatScenarioSteps.class);
+        steps.step_with_screen_changes();
+        steps.step_with_screen_changes();
+        StepEventBus.getEventBus().testFinished(testOutcome);
+
+        verify(driver, times(1)).getScreenshotAs((OutputType<?>) anyObject());
+        assertThat(stepListener.getCurrentTestOutcome().getTestSteps().get(0).getScreenshotCount(), is(1));
+        assertThat(stepListener.getCurrentTestOutcome().getTestSteps().get(1).getScreenshotCount(), is(1));
+    }
+
+    @Test
+    public void changed_screens_should_be_photographed_again_when_reusing_unchanged_screenshots() {
+
+        environmentVariables.setProperty("serenity.reuse.unchanged.screenshots", "true");
+        environmentVariables.setProperty("serenity.take.screenshots", "FOR_EACH_ACTION");
+        when(driver.getPageSource()).thenReturn("<html/>").thenReturn("<html><p/></html>");
+
+        StepEventBus.getEventBus().testSuiteStarted(MyTestCase.class);
+        StepEventBus.getEventBus().testStarted("app_should_work");
+
+        FlatScenarioSteps steps = stepFactory.getStepLibraryFor(FlatScenarioSteps.class);
+        steps.step_with_screen_changes();
+        steps.step_with_screen_changes();
+        StepEventBus.getEventBus().testFinished(testOutcome);
+
+        verify(driver, times(2)).getScreenshotAs((OutputType<?>) anyObject());
+    }
+
     @Test
     public void screenshots_should_not_be_taken_on_screen_changes_if_not_in_verbose_mode() {
 
@@ -0,0 +1,195 @@
+package net.thucydides.core.webdriver;
+
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.ie.InternetExplorerDriver;
+import org.openqa.selenium.ie.InternetExplorerDriverLogLevel;
+import org.openqa.selenium.ie.InternetExplorerDriverService;
+import org.openqa.selenium.remote.DesiredCapabilities;
+
+import java.io.File;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class WhenCoordinatingBrowserLaunches {
+
+    MockEnvironmentVariables environmentVariables;
+
+    ExecutorService testThreads;
+
+    AtomicInteger runningLaunches = new AtomicInteger();
+    AtomicInteger mostConcurrentLaunches = new AtomicInteger();
+
+    @Before
+    public void setupTestThreads() {
+        environmentVariables = new MockEnvironmentVariables();
+        testThreads = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void shutdownTestThreads() {
+        testThreads.shutdownNow();
+    }
+
+    private Callable<WebDriver> slowLaunch() {
+        return new Callable<WebDriver>() {
+            @Override
+            public WebDriver call() throws Exception {
+                int running = runningLaunches.incrementAndGet();
+                synchronized (mostConcurrentLaunches) {
+                    mostConcurrentLaunches.set(Math.max(mostConcurrentLaunches.get(), running));
+                }
+                Thread.sleep(200);
+                runningLaunches.decrementAndGet();
+                return mock(WebDriver.class);
+            }
+        };
+    }
+
+    private void launchInParallel(final DriverCreationMonitor monitor, final String driverType,
+                                  final boolean exclusive, int launches) throws Exception {
+        final CountDownLatch startingGun = new CountDownLatch(1);
+        List<Future<WebDriver>> drivers = new ArrayList<>();
+        for (int i = 0; i < launches; i++) {
+            drivers.add(testThreads.submit(new Callable<WebDriver>() {
+                @Override
+                public WebDriver call() throws Exception {
+                    startingGun.await();
+                    return monitor.create(driverType, exclusive, slowLaunch());
+                }
+            }));
+        }
+        startingGun.countDown();
+        for (Future<WebDriver> driver : drivers) {
+            driver.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void drivers_that_do_not_share_local_resources_should_be_launched_in_parallel() throws Exception {
+        DriverCreationMonitor monitor = new DriverCreationMonitor(environmentVariables);
+
+        launchInParallel(monitor, "remote", false, 4);
+
+        assertThat(mostConcurrentLaunches.get(), is(greaterThan(1)));
+    }
+
+    @Test
+    public void drivers_that_share_local_resources_should_be_launched_one_at_a_time() throws Exception {
+        DriverCreationMonitor monitor = new DriverCreationMonitor(environmentVariables);
+
+        launchInParallel(monitor, "SafariDriver", true, 4);
+
+        assertThat(mostConcurrentLaunches.get(), is(1));
+    }
+
+    @Test
+    public void the_number_of_parallel_launches_can_be_limited() throws Exception {
+        environmentVariables.setProperty("webdriver.creation.max.concurrent", "2");
+        DriverCreationMonitor monitor = new DriverCreationMonitor(environmentVariables);
+
+        launchInParallel(monitor, "remote", false, 4);
+
+        assertThat(mostConcurrentLaunches.get(), is(2));
+    }
+
+    @Test
+    public void launch_times_and_waits_should_be_recorded_for_each_driver_type() throws Exception {
+        DriverCreationMonitor monitor = new DriverCreationMonitor(environmentVariables);
+
+        launchInParallel(monitor, "SafariDriver", true, 3);
+
+        DriverCreationStatistics statistics = monitor.getStatistics().get(0);
+        assertThat(statistics.getDriverType(), is("SafariDriver"));
+        assertThat(statistics.getCreations(), is(3));
+        assertThat(statistics.getContendedCreations(), is(greaterThan(0)));
+        assertThat(statistics.getTotalWaitTimeInMilliseconds(), is(greaterThan(0L)));
+        assertThat(statistics.getLongestCreationTimeInMilliseconds(), is(greaterThan(0L)));
+    }
+
+    @Test
+    public void failed_launches_should_be_recorded() throws Exception {
+        DriverCreationMonitor monitor = new DriverCreationMonitor(environmentVariables);
+
+        try {
+            monitor.create("remote", false, new Callable<WebDriver>() {
+                @Override
+                public WebDriver call() throws Exception {
+                    throw new WebDriverException("Could not start a new session");
+                }
+            });
+        } catch (WebDriverException expected) {
+        }
+
+        assertThat(monitor.getStatistics().get(0).getFailures(), is(1));
+        assertThat(monitor.getStatistics().get(0).getCreations(), is(0));
+    }
+
+    @Test
+    public void a_reserved_port_should_not_be_handed_out_again_until_it_is_released() {
+        DriverPortAllocator portAllocator = new DriverPortAllocator() {
+            int[] freePorts = {9515, 9515, 9516, 9515};
+            int nextPort = 0;
+
+            @Override
+            protected int findFreePort() {
+                return freePorts[nextPort++];
+            }
+        };
+
+        int firstPort = portAllocator.reservePort();
+        int secondPort = portAllocator.reservePort();
+        portAllocator.releasePort(firstPort);
+
+        assertThat(firstPort, is(9515));
+        assertThat(secondPort, is(9516));
+        assertThat(portAllocator.reservePort(), is(9515));
+    }
+
+    @Test
+    public void internet_explorer_driver_service_settings_should_be_taken_from_the_capabilities() {
+        DesiredCapabilities capabilities = DesiredCapabilities.internetExplorer();
+        capabilities.setCapability(InternetExplorerDriver.LOG_FILE, "target/iedriver.log");
+        capabilities.setCapability(InternetExplorerDriver.LOG_LEVEL, "DEBUG");
+        capabilities.setCapability(InternetExplorerDriver.HOST, "127.0.0.1");
+        capabilities.setCapability(InternetExplorerDriver.EXTRACT_PATH, "target/iedriver");
+        capabilities.setCapability(InternetExplorerDriver.SILENT, true);
+        InternetExplorerDriverService.Builder serviceBuilder = mock(InternetExplorerDriverService.Builder.class);
+
+        new WebdriverInstanceFactory().configureService(serviceBuilder, capabilities);
+
+        verify(serviceBuilder).withLogFile(new File("target/iedriver.log"));
+        verify(serviceBuilder).withLogLevel(InternetExplorerDriverLogLevel.DEBUG);
+        verify(serviceBuilder).withHost("127.0.0.1");
+        verify(serviceBuilder).withExtractPath(new File("target/iedriver"));
+        verify(serviceBuilder).withSilent(true);
+    }
+
+    @Test
+    public void internet_explorer_driver_service_defaults_should_be_kept_when_no_settings_are_given() {
+        InternetExplorerDriverService.Builder serviceBuilder = mock(InternetExplorerDriverService.Builder.class);
+
+        new WebdriverInstanceFactory().configureService(serviceBuilder, DesiredCapabilities.internetExplorer());
+
+        verifyZeroInteractions(serviceBuilder);
+    }
+}
@@ -0,0 +1,159 @@
+package net.thucydides.core.webdriver;
+
+import com.google.common.collect.ImmutableSet;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.*;
+
+public class WhenPoolingWebdriverInstances {
+
+    MockEnvironmentVariables environmentVariables;
+
+    List<WebDriver> launchedDrivers = new CopyOnWriteArrayList<>();
+    List<String> fixtureSetupThreads = new CopyOnWriteArrayList<>();
+
+    WebDriverFactory factory;
+
+    WebDriverPool pool;
+
+    @Before
+    public void createAFactoryThatLaunchesMockBrowsers() {
+        environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("webdriver.pool.size", "1");
+        environmentVariables.setProperty("webdriver.pool.max.uses", "3");
+        factory = new WebDriverFactory(environmentVariables) {
+            @Override
+            protected WebDriver newWebdriverInstance(Class<? extends WebDriver> driverClass) {
+                WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+                when(driver.getWindowHandles()).thenReturn(ImmutableSet.of("main"));
+                when(driver.manage()).thenReturn(mock(WebDriver.Options.class));
+                launchedDrivers.add(driver);
+                return driver;
+            }
+
+            @Override
+            public void setupFixtureServices() {
+                fixtureSetupThreads.add(Thread.currentThread().getName());
+            }
+        };
+        pool = new WebDriverPool(environmentVariables);
+    }
+
+    @After
+    public void shutdownThePool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void a_released_browser_should_be_cleaned_and_handed_to_the_next_test() {
+        WebDriver driver = pool.acquire(factory, HtmlUnitDriver.class);
+        pool.release(driver);
+
+        assertThat(pool.acquire(factory, HtmlUnitDriver.class), is(sameInstance(driver)));
+        assertThat(launchedDrivers.size(), is(1));
+        verify(driver, never()).quit();
+        verify((JavascriptExecutor) driver).executeScript(anyString());
+        verify(driver.manage()).deleteAllCookies();
+        verify(driver).get("about:blank");
+    }
+
+    @Test
+    public void a_browser_should_be_retired_and_replaced_after_the_maximum_number_of_uses() {
+        WebDriver driver = pool.acquire(factory, HtmlUnitDriver.class);
+        pool.release(driver);
+        pool.acquire(factory, HtmlUnitDriver.class);
+        pool.release(driver);
+        pool.acquire(factory, HtmlUnitDriver.class);
+        pool.release(driver);
+
+        verify(driver, timeout(5000)).quit();
+        assertThat(pool.acquire(factory, HtmlUnitDriver.class), is(not(sameInstance(driver))));
+    }
+
+    @Test
+    public void a_browser_that_stops_responding_should_not_be_handed_out_again() {
+        WebDriver driver = pool.acquire(factory, HtmlUnitDriver.class);
+        pool.release(driver);
+        when(driver.getWindowHandles()).thenThrow(new WebDriverException("Browser has gone away"));
+
+        assertThat(pool.acquire(factory, HtmlUnitDriver.class), is(not(sameInstance(driver))));
+        verify(driver, timeout(5000)).quit();
+    }
+
+    @Test
+    public void extra_windows_should_be_closed_when_a_browser_is_released() {
+        WebDriver driver = pool.acquire(factory, HtmlUnitDriver.class);
+        WebDriver.TargetLocator targetLocator = mock(WebDriver.TargetLocator.class);
+        when(driver.switchTo()).thenReturn(targetLocator);
+        when(driver.getWindowHandles()).thenReturn(ImmutableSet.of("main", "popup"));
+
+        pool.release(driver);
+
+        verify(targetLocator).window("popup");
+        verify(driver).close();
+        verify(targetLocator).window("main");
+    }
+
+    @Test
+    public void the_pool_should_launch_browsers_in_the_background_up_to_the_pool_size() throws InterruptedException {
+        environmentVariables.setProperty("webdriver.pool.size", "3");
+        pool = new WebDriverPool(environmentVariables);
+
+        pool.acquire(factory, HtmlUnitDriver.class);
+
+        for (int i = 0; i < 50 && launchedDrivers.size() < 3; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(launchedDrivers.size(), is(3));
+        assertThat(pool.getOpenDriverCount(HtmlUnitDriver.class), is(3));
+    }
+
+    @Test
+    public void browsers_that_did_not_come_from_the_pool_should_be_quit() {
+        WebDriver driver = mock(WebDriver.class);
+
+        pool.release(driver);
+
+        verify(driver).quit();
+    }
+
+    @Test
+    public void browsers_launched_in_the_background_should_have_their_fixture_services_set_up() throws InterruptedException {
+        environmentVariables.setProperty("webdriver.pool.size", "2");
+        pool = new WebDriverPool(environmentVariables);
+
+        pool.acquire(factory, HtmlUnitDriver.class);
+
+        for (int i = 0; i < 50 && launchedDrivers.size() < 2; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(fixtureSetupThreads.size(), is(1));
+        assertThat(fixtureSetupThreads.get(0), startsWith("webdriver-pool-"));
+    }
+
+    @Test
+    public void remote_sessions_should_not_be_pooled() {
+        WebDriver session = factory.acquireWebdriverInstance(RemoteWebDriver.class);
+        factory.releaseWebdriverInstance(session);
+
+        verify(session).quit();
+        assertThat(factory.acquireWebdriverInstance(RemoteWebDriver.class), is(not(sameInstance(session))));
+        assertThat(launchedDrivers.size(), is(2));
+    }
+}
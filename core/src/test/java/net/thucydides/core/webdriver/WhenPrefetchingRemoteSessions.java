@@ -0,0 +1,204 @@
+package net.thucydides.core.webdriver;
+
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.*;
+
+public class WhenPrefetchingRemoteSessions {
+
+    MockEnvironmentVariables environmentVariables;
+
+    List<WebDriver> openedSessions = new CopyOnWriteArrayList<>();
+    List<Thread> sessionThreads = new CopyOnWriteArrayList<>();
+
+    CountDownLatch sessionRequested;
+    CountDownLatch gridHandsOutSession;
+
+    WebDriverFactory factory;
+
+    @Before
+    public void createAFactoryThatOpensMockSessions() {
+        environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("webdriver.remote.url", "http://grid.example.org:4444/wd/hub");
+        environmentVariables.setProperty("webdriver.remote.prefetch", "true");
+        sessionRequested = new CountDownLatch(1);
+        gridHandsOutSession = new CountDownLatch(1);
+        factory = new WebDriverFactory(environmentVariables) {
+            @Override
+            protected WebDriver newWebdriverInstance(Class<? extends WebDriver> driverClass, Callable<WebDriver> launch) {
+                sessionRequested.countDown();
+                try {
+                    gridHandsOutSession.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new UnsupportedDriverException("Interrupted", e);
+                }
+                WebDriver driver = mock(WebDriver.class);
+                openedSessions.add(driver);
+                sessionThreads.add(Thread.currentThread());
+                return driver;
+            }
+        };
+    }
+
+    @Test
+    public void the_session_should_be_requested_before_the_test_first_uses_the_browser() throws InterruptedException {
+        WebDriverFacade facade = new WebDriverFacade(RemoteWebDriver.class, factory, environmentVariables);
+
+        facade.prefetchDriver();
+
+        assertThat(sessionRequested.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(facade.isInstantiated(), is(false));
+    }
+
+    @Test
+    public void the_test_should_use_the_prefetched_session_when_it_first_uses_the_browser() {
+        WebDriverFacade facade = new WebDriverFacade(RemoteWebDriver.class, factory, environmentVariables);
+        facade.prefetchDriver();
+
+        gridHandsOutSession.countDown();
+        WebDriver driver = facade.getProxiedDriver();
+
+        assertThat(driver, is(sameInstance(openedSessions.get(0))));
+        assertThat(openedSessions.size(), is(1));
+        assertThat(sessionThreads.get(0), is(not(sameInstance(Thread.currentThread()))));
+    }
+
+    @Test
+    public void a_prefetched_session_should_be_closed_if_the_test_no_longer_needs_it() {
+        WebDriverFacade facade = new WebDriverFacade(RemoteWebDriver.class, factory, environmentVariables);
+        facade.prefetchDriver();
+
+        facade.quit();
+        gridHandsOutSession.countDown();
+
+        verify(waitForTheFirstSession(), timeout(5000)).quit();
+    }
+
+    @Test
+    public void the_next_session_should_be_requested_when_the_browser_is_reset() {
+        gridHandsOutSession.countDown();
+        WebDriverFacade facade = new WebDriverFacade(RemoteWebDriver.class, factory, environmentVariables);
+        facade.prefetchDriver();
+        WebDriver firstSession = facade.getProxiedDriver();
+
+        facade.reset();
+
+        verify(firstSession).quit();
+        assertThat(facade.getProxiedDriver(), is(sameInstance(openedSessions.get(1))));
+    }
+
+    @Test
+    public void local_browsers_should_not_be_prefetched() {
+        environmentVariables.clearProperty("webdriver.remote.url");
+        WebDriverFacade facade = new WebDriverFacade(FirefoxDriver.class, factory, environmentVariables);
+
+        facade.prefetchDriver();
+
+        assertThat(sessionRequestedWithin(200), is(false));
+    }
+
+    @Test
+    public void sessions_should_not_be_prefetched_unless_requested() {
+        environmentVariables.setProperty("webdriver.remote.prefetch", "false");
+        WebDriverFacade facade = new WebDriverFacade(RemoteWebDriver.class, factory, environmentVariables);
+
+        facade.prefetchDriver();
+
+        assertThat(sessionRequestedWithin(200), is(false));
+    }
+
+    private boolean sessionRequestedWithin(int milliseconds) {
+        try {
+            return sessionRequested.await(milliseconds, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    private WebDriver waitForTheFirstSession() {
+        for (int i = 0; i < 50 && openedSessions.isEmpty(); i++) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        return openedSessions.get(0);
+    }
+
+    @Test
+    public void a_sauce_labs_session_should_be_opened_by_the_test_when_it_has_no_configured_name() throws Exception {
+        environmentVariables.setProperty("saucelabs.url", "http://ondemand.saucelabs.com:80/wd/hub");
+        environmentVariables.setProperty("webdriver.driver", "firefox");
+        WebdriverInstanceFactory instanceFactory = sauceLabsInstanceFactory();
+        WebDriverFacade facade = new WebDriverFacade(RemoteWebDriver.class,
+                                                     new WebDriverFactory(instanceFactory, environmentVariables),
+                                                     environmentVariables);
+
+        resetTheBrowserBetweenTests(facade);
+        verify(instanceFactory, never()).newRemoteDriver(any(URL.class), any(Capabilities.class));
+        facade.getProxiedDriver();
+
+        assertThat(sauceLabsSessionNameFrom(instanceFactory),
+                   is("A sauce labs session should be opened by the test when it has no configured name"));
+    }
+
+    @Test
+    public void a_sauce_labs_session_should_be_prefetched_when_the_browser_is_reset_if_it_has_a_configured_name() throws Exception {
+        environmentVariables.setProperty("saucelabs.url", "http://ondemand.saucelabs.com:80/wd/hub");
+        environmentVariables.setProperty("saucelabs.test.name", "Checkout tests");
+        environmentVariables.setProperty("webdriver.driver", "firefox");
+        WebdriverInstanceFactory instanceFactory = sauceLabsInstanceFactory();
+        WebDriverFacade facade = new WebDriverFacade(RemoteWebDriver.class,
+                                                     new WebDriverFactory(instanceFactory, environmentVariables),
+                                                     environmentVariables);
+
+        resetTheBrowserBetweenTests(facade);
+
+        assertThat(sauceLabsSessionNameFrom(instanceFactory), is("Checkout tests"));
+    }
+
+    private WebdriverInstanceFactory sauceLabsInstanceFactory() {
+        WebdriverInstanceFactory instanceFactory = mock(WebdriverInstanceFactory.class);
+        when(instanceFactory.newRemoteDriver(any(URL.class), any(Capabilities.class))).thenReturn(mock(WebDriver.class));
+        return instanceFactory;
+    }
+
+    private String sauceLabsSessionNameFrom(WebdriverInstanceFactory instanceFactory) {
+        ArgumentCaptor<Capabilities> capabilities = ArgumentCaptor.forClass(Capabilities.class);
+        verify(instanceFactory, timeout(5000)).newRemoteDriver(any(URL.class), capabilities.capture());
+        return (String) capabilities.getValue().getCapability("name");
+    }
+
+    /**
+     * The test runner resets the browser before each test starts, so no test method is running on this thread yet.
+     */
+    private void resetTheBrowserBetweenTests(final WebDriverFacade facade) throws InterruptedException {
+        Thread testRunner = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                WebdriverProxyFactory.resetDriver(facade);
+            }
+        });
+        testRunner.start();
+        testRunner.join();
+    }
+}
@@ -0,0 +1,155 @@
+<!DOCTYPE html>
+<html>
+<head>
+    <meta charset="UTF-8"/>
+
+    <meta http-equiv="X-UA-Compatible" content="IE=edge">
+    <meta name="viewport" content="width=device-width, initial-scale=1">
+
+    <title>Serenity Reports</title>
+
+    <link rel="shortcut icon" href="favicon.ico">
+
+<#include "libraries/common.ftl">
+<#include "libraries/jquery-ui.ftl">
+<#include "libraries/datatables.ftl">
+
+    <script type="text/javascript" src="cross-tags.js"></script>
+    <script class="code" type="text/javascript">$(document).ready(function () {
+
+        function tagKey(tag) {
+            return (tag.type + ':' + tag.name).toLowerCase();
+        }
+
+        function parameter(name) {
+            var match = new RegExp('[?&]' + name + '=([^&]*)').exec(window.location.search);
+            return match ? decodeURIComponent(match[1].replace(/\+/g, ' ')).toLowerCase() : '';
+        }
+
+        function intersection(outcomes, otherOutcomes) {
+            var common = [], i = 0, j = 0;
+            while (i < outcomes.length && j < otherOutcomes.length) {
+                if (outcomes[i] < otherOutcomes[j]) {
+                    i++;
+                } else if (outcomes[i] > otherOutcomes[j]) {
+                    j++;
+                } else {
+                    common.push(outcomes[i]);
+                    i++;
+                    j++;
+                }
+            }
+            return common;
+        }
+
+        var tagsByKey = {};
+        $.each(crossTagIndex.tags, function (index, tag) {
+            tagsByKey[tagKey(tag)] = tag;
+        });
+
+        function showOutcomes(tag, withinTag) {
+            var outcomes = tag ? tag.outcomes : [];
+            if (tag && withinTag) {
+                outcomes = intersection(tag.outcomes, withinTag.outcomes);
+            }
+            var rows = $.map(outcomes, function (position) {
+                var outcome = crossTagIndex.outcomes[position];
+                return [[$('<a/>').attr('href', outcome.report).text(outcome.title).prop('outerHTML'),
+                         '<span class="' + outcome.result + '-text">' + outcome.result.toLowerCase() + '</span>']];
+            });
+            $('#cross-tag-results').DataTable({
+                "destroy": true,
+                "data": rows,
+                "order": [[ 0, "asc" ]],
+                "pageLength": 25
+            });
+        }
+
+        function fillTagOptions(select, tags, selectedKey) {
+            select.empty().append($('<option/>').val('').text('Any tag'));
+            $.each(tags, function (index, tag) {
+                select.append($('<option/>').val(tagKey(tag)).text(tag.type + ': ' + tag.name)
+                                            .prop('selected', tagKey(tag) == selectedKey));
+            });
+        }
+
+        function coOccurringTags(tag) {
+            return $.grep(crossTagIndex.tags, function (otherTag) {
+                return tagKey(otherTag) != tagKey(tag) && intersection(tag.outcomes, otherTag.outcomes).length > 0;
+            });
+        }
+
+        function refresh(tagKeyValue, withinKeyValue) {
+            var tag = tagsByKey[tagKeyValue];
+            var withinTag = tagsByKey[withinKeyValue];
+            fillTagOptions($('#cross-tag-within'), tag ? coOccurringTags(tag) : [], withinKeyValue);
+            showOutcomes(tag, withinTag);
+        }
+
+        fillTagOptions($('#cross-tag'), crossTagIndex.tags, parameter('tag'));
+        refresh(parameter('tag'), parameter('within'));
+
+        $('#cross-tag').change(function () {
+            refresh($(this).val(), '');
+        });
+        $('#cross-tag-within').change(function () {
+            refresh($('#cross-tag').val(), $(this).val());
+        });
+    });
+    </script>
+</head>
+
+<body class="results-page">
+<div id="topheader">
+    <div id="topbanner">
+        <div id="logo"><a href="index.html"><img src="images/serenity-bdd-logo.png" border="0"/></a></div>
+        <div id="projectname-banner" style="float:right">
+            <span class="projectname">${reportOptions.projectName}</span>
+        </div>
+    </div>
+</div>
+
+<div class="middlecontent">
+
+    <div id="contenttop">
+    <#--<div class="leftbg"></div>-->
+        <div class="middlebg">
+            <span class="bluetext"><a href="index.html" class="bluetext">Home</a> > Combined Tags</span>
+        </div>
+        <div class="rightbg"></div>
+    </div>
+
+    <div class="clr"></div>
+
+<#include "menu.ftl">
+<@main_menu selected="home" />
+    <div class="clr"></div>
+    <div id="beforetable"></div>
+    <div id="results-dashboard">
+        <div class="middlb">
+            <div class="table">
+                <h2>Tests with tag
+                    <select id="cross-tag"></select>
+                    and
+                    <select id="cross-tag-within"></select>
+                </h2>
+                <table id="cross-tag-results" class="test-results-table">
+                    <thead>
+                    <tr>
+                        <th class="test-results-heading">Tests</th>
+                        <th width="100" class="test-results-heading">Result</th>
+                    </tr>
+                    </thead>
+                    <tbody></tbody>
+                </table>
+            </div>
+        </div>
+    </div>
+</div>
+<div id="beforefooter"></div>
+<div id="bottomfooter">
+    <span class="version">Serenity version ${serenityVersionNumber}</span>
+</div>
+
+</body>
+</html>
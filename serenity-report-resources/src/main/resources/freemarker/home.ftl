@@ -507,6 +507,10 @@
                             <#else>
                                 <a href="${tagReport}" title="${tagTitle}">${tagTitle}</a>
                             </#if>
+                            <#if (crossTagsOnDemand!false) && (currentTag.name != '') && (testOutcomes.label != tag.name)>
+                                <a href="cross-tags.html?tag=${(tag.type + ':' + tag.name)?url('UTF-8')}&within=${(currentTag.type + ':' + currentTag.name)?url('UTF-8')}"
+                                   title="${tagTitle} tests tagged with ${formatter.htmlAttributeCompatible(currentTag.name)}"><i class="fa fa-filter"></i></a>
+                            </#if>
                         </span>
                     </td>
                     <td width="220px" class="table-figure">